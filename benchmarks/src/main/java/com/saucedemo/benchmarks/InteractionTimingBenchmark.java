@@ -0,0 +1,77 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.model.User;
+import com.saucedemo.tasks.Login;
+import com.saucedemo.timing.InteractionTimer;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.actions.Click;
+import net.serenitybdd.screenplay.events.ActorBeginsPerformanceEvent;
+import net.serenitybdd.screenplay.events.ActorEndsPerformanceEvent;
+import net.serenitybdd.screenplay.events.ActorPerforms;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+  Coste del InteractionTimer (objetivo: < 1 µs por evento).
+  - recordOneInteraction: los tres eventos de un attemptsTo con una Interaction (begin, performs, end),
+    llamando al suscriptor directamente: es el coste que añade el timer por evento.
+  - attemptsToLogin: Login completo con (timed=true) y sin el timer suscrito al EventBus de Serenity.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractionTimingBenchmark {
+
+    private final InteractionTimer timer = InteractionTimer.subscriber();
+    private final ActorBeginsPerformanceEvent begin = new ActorBeginsPerformanceEvent("usuario");
+    private final ActorEndsPerformanceEvent end = new ActorEndsPerformanceEvent("usuario");
+    private final ActorPerforms performs = new ActorPerforms(
+            Click.on(Target.the("login button").located(By.id("login-button"))), "usuario");
+
+    @Benchmark
+    public void recordOneInteraction() {
+        timer.beginPerformance(begin);
+        timer.performs(performs);
+        timer.endPerformance(end);
+    }
+
+    @Benchmark
+    public void attemptsToLogin(LoginState state) {
+        state.actor.attemptsTo(state.login);
+    }
+
+    @State(Scope.Thread)
+    public static class LoginState {
+
+        @Param({"true", "false"})
+        public boolean timed;
+
+        private Actor actor;
+        private Login login;
+
+        @Setup
+        public void setUp() {
+            actor = ScreenplayState.actorOn(StubWebDriver.Page.LOGIN);
+            login = Login.with(User.standardUser());
+            if (timed) {
+                InteractionTimer.startScenario();
+            }
+        }
+    }
+}
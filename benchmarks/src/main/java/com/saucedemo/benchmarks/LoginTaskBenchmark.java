@@ -0,0 +1,63 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.model.User;
+import com.saucedemo.tasks.Login;
+import net.serenitybdd.screenplay.Actor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+  Coste de framework de la Task Login (2 x Enter + Click) sin latencia de navegador.
+  - performAs: la Task invocada directamente.
+  - attemptsTo: el camino real de los Steps (instrumentación y eventos de Serenity incluidos).
+  - attemptsToInOneRoundTrip: Login batched (FillForm), un solo executeScript en vez de tres comandos.
+  - Qué mide de verdad: las esperas están a 0 (ScreenplayState) y el stub responde al instante, así que los
+    milisegundos por operación son CPU de Serenity en cada interacción: el proxy de StepInterceptor
+    (comprobar @Ignore recorre clases del paquete), un PageObject nuevo por cada Target.resolveFor que copia
+    y vuelve a leer la configuración (SystemEnvironmentVariables.copy), y el recorrido de la pila de
+    CleanupMethodLocator. Comparar variantes entre sí, no con el tiempo de un navegador real.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginTaskBenchmark {
+
+    private Actor actor;
+    private Login login;
+    private Login batchedLogin;
+
+    @Setup
+    public void setUp() {
+        actor = ScreenplayState.actorOn(StubWebDriver.Page.LOGIN);
+        login = Login.with(User.standardUser());
+        batchedLogin = Login.inOneRoundTrip(User.standardUser());
+    }
+
+    @Benchmark
+    public void performAs() {
+        login.performAs(actor);
+    }
+
+    @Benchmark
+    public void attemptsTo() {
+        actor.attemptsTo(login);
+    }
+
+    @Benchmark
+    public void attemptsToInOneRoundTrip() {
+        actor.attemptsTo(batchedLogin);
+    }
+}
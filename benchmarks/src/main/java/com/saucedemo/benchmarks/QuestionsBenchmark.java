@@ -0,0 +1,62 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.questions.InventoryPageIsVisible;
+import com.saucedemo.questions.LoginErrorIsVisible;
+import com.saucedemo.questions.ProductsListIsVisible;
+import net.serenitybdd.screenplay.Actor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+  Coste de answeredBy de las Questions.
+  - Camino positivo: el elemento existe y es visible (un solo sondeo).
+  - inventoryPageIsVisibleAfterLoginError: camino negativo; sale al ver el error dos veces seguidas
+    (un intervalo de sondeo, saucedemo.questions.polling.ms) en lugar de agotar el plazo.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionsBenchmark {
+
+    private Actor onInventory;
+    private Actor onLoginError;
+
+    @Setup
+    public void setUp() {
+        onInventory = ScreenplayState.actorOn(StubWebDriver.Page.INVENTORY);
+        onLoginError = ScreenplayState.actorOn(StubWebDriver.Page.LOGIN_WITH_ERROR);
+    }
+
+    @Benchmark
+    public Boolean inventoryPageIsVisible() {
+        return InventoryPageIsVisible.isVisible().answeredBy(onInventory);
+    }
+
+    @Benchmark
+    public Boolean productsListIsVisible() {
+        return ProductsListIsVisible.areVisible().answeredBy(onInventory);
+    }
+
+    @Benchmark
+    public Boolean inventoryPageIsVisibleAfterLoginError() {
+        return InventoryPageIsVisible.isVisible().answeredBy(onLoginError);
+    }
+
+    @Benchmark
+    public Boolean loginErrorIsVisible() {
+        return LoginErrorIsVisible.isVisible().answeredBy(onLoginError);
+    }
+}
@@ -0,0 +1,37 @@
+package com.saucedemo.benchmarks;
+
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+
+import java.time.Duration;
+
+/*
+  Actor con BrowseTheWeb sobre un StubWebDriver en la pantalla indicada.
+  Se crea una vez por estado JMH (fuera de la medición).
+
+  - Esperas de Serenity a 0 (espera implícita, waitFor y timeout de WebElementFacade), y también la espera
+    implícita del propio driver: en ningún caso un benchmark puede medir un sondeo o un timeout en lugar de
+    trabajo del framework. Se fijan antes de que Serenity lea su configuración (primer Actor del fork).
+*/
+final class ScreenplayState {
+
+    private static final String[] ZERO_WAITS = {
+            "webdriver.timeouts.implicitlywait", "webdriver.wait.for.timeout", "serenity.timeout"};
+
+    static {
+        for (String property : ZERO_WAITS) {
+            System.setProperty(property, "0");
+        }
+    }
+
+    private ScreenplayState() {
+    }
+
+    static Actor actorOn(StubWebDriver.Page page) {
+        StubWebDriver driver = new StubWebDriver(page);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        Actor actor = Actor.named("usuario");
+        actor.can(BrowseTheWeb.with(driver));
+        return actor;
+    }
+}
@@ -0,0 +1,206 @@
+package com.saucedemo.benchmarks;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+  StubWebDriver: WebDriver en proceso para los benchmarks JMH.
+
+  - Responde a los mismos localizadores que usan Login, LoginStepDefinitions y las Questions
+    (por id, css y xpath) con StubWebElement, sin navegador ni HTTP.
+  - executeScript entiende la sonda de visibilidad de ElementVisibility (mismos localizadores).
+  - Page: qué "pantalla" simula (login, login con error o inventario), para medir cada Question
+    tanto en su camino positivo como en el negativo.
+  - switchTo, navigate, manage().window() y manage().logs() devuelven objetos que no hacen nada (no lanzan):
+    si Serenity los usa durante una interacción, el benchmark mide su coste y no el de una excepción.
+*/
+public final class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    public enum Page { LOGIN, LOGIN_WITH_ERROR, INVENTORY }
+
+    private final Map<String, List<WebElement>> elements = new HashMap<>();
+    private final Options options = new StubOptions();
+    private final TargetLocator targetLocator = new StubTargetLocator();
+    private final Navigation navigation = new StubNavigation();
+
+    public StubWebDriver(Page page) {
+        StubWebElement input = new StubWebElement("input", "");
+        register(input, "By.id: user-name", "By.id: password", "By.id: login-button",
+                "By.xpath: //input[@id='user-name']", "By.xpath: //input[@id='password']",
+                "By.xpath: //input[@id='login-button']", "By.cssSelector: #user-name",
+                "By.cssSelector: #password", "By.cssSelector: #login-button");
+        if (page == Page.LOGIN_WITH_ERROR) {
+            register(new StubWebElement("h3", "Epic sadface: Sorry, this user has been locked out."),
+                    "By.cssSelector: [data-test='error'], .error-message-container.error",
+                    "By.cssSelector: [data-test='error']");
+        }
+        if (page == Page.INVENTORY) {
+            StubWebElement container = new StubWebElement("div", "");
+            register(container, "By.id: inventory_container", "By.cssSelector: #inventory_container",
+                    "By.xpath: //div[@class='inventory_list']", "By.cssSelector: .inventory_list");
+            List<WebElement> items = List.of(
+                    new StubWebElement("div", "Sauce Labs Backpack"), new StubWebElement("div", "Sauce Labs Bike Light"),
+                    new StubWebElement("div", "Sauce Labs Bolt T-Shirt"), new StubWebElement("div", "Sauce Labs Fleece Jacket"),
+                    new StubWebElement("div", "Sauce Labs Onesie"), new StubWebElement("div", "Test.allTheThings() T-Shirt (Red)"));
+            elements.put("By.cssSelector: .inventory_item", items);
+            elements.put("By.xpath: //div[@class='inventory_item']", items);
+        }
+    }
+
+    private void register(WebElement element, String... locators) {
+        for (String locator : locators) {
+            elements.put(locator, List.of(element));
+        }
+    }
+
+    @Override public void get(String url) { }
+    @Override public String getCurrentUrl() { return "http://stub/"; }
+    @Override public String getTitle() { return "Swag Labs"; }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return elements.getOrDefault(by.toString(), List.of());
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Stub sin elemento para " + by);
+        }
+        return found.get(0);
+    }
+
+    @Override public String getPageSource() { return ""; }
+    @Override public void close() { }
+    @Override public void quit() { }
+    @Override public Set<String> getWindowHandles() { return Set.of("stub"); }
+    @Override public String getWindowHandle() { return "stub"; }
+    @Override public TargetLocator switchTo() { return targetLocator; }
+    @Override public Navigation navigate() { return navigation; }
+    @Override public Options manage() { return options; }
+    /* Scripts que entiende el stub (por la forma de sus argumentos; cualquier otro devuelve null):
+       - FillForm: [nº de campos, (estrategia, selector, texto)..., estrategia, selector del botón];
+         devuelve el índice del primer elemento que falta o null.
+       - Sonda de ElementVisibility: [estrategia, selector] del esperado y opcionalmente del contrario;
+         devuelve 1 / -1 / 0. */
+    @Override
+    public Object executeScript(String script, Object... args) {
+        if (args.length > 0 && args[0] instanceof Number) {
+            return fillForm(((Number) args[0]).intValue(), args);
+        }
+        if (args.length < 2) {
+            return null;
+        }
+        if (!findElements(locator(args[0], args[1])).isEmpty()) {
+            return 1L;
+        }
+        if (args.length >= 4 && !findElements(locator(args[2], args[3])).isEmpty()) {
+            return -1L;
+        }
+        return 0L;
+    }
+
+    private Object fillForm(int fields, Object[] args) {
+        int a = 1;
+        for (int i = 0; i < fields; i++, a += 3) {
+            if (findElements(locator(args[a], args[a + 1])).isEmpty()) {
+                return (long) i;
+            }
+        }
+        if (a < args.length && findElements(locator(args[a], args[a + 1])).isEmpty()) {
+            return (long) fields;
+        }
+        return null;
+    }
+
+    private static By locator(Object using, Object value) {
+        return "xpath".equals(using) ? By.xpath(String.valueOf(value)) : By.cssSelector(String.valueOf(value));
+    }
+
+    @Override public Object executeAsyncScript(String script, Object... args) { return null; }
+    @Override public <X> X getScreenshotAs(OutputType<X> target) { return target.convertFromPngBytes(new byte[0]); }
+
+    private static final class StubOptions implements Options {
+        private final Timeouts timeouts = new StubTimeouts();
+        private final Window window = new StubWindow();
+        private final Logs logs = new StubLogs();
+
+        @Override public void addCookie(Cookie cookie) { }
+        @Override public void deleteCookieNamed(String name) { }
+        @Override public void deleteCookie(Cookie cookie) { }
+        @Override public void deleteAllCookies() { }
+        @Override public Set<Cookie> getCookies() { return Set.of(); }
+        @Override public Cookie getCookieNamed(String name) { return null; }
+        @Override public Timeouts timeouts() { return timeouts; }
+        @Override public Window window() { return window; }
+        @Override public Logs logs() { return logs; }
+    }
+
+    // Una sola ventana y ningún frame: cambiar de contexto siempre vuelve a este mismo driver.
+    private final class StubTargetLocator implements TargetLocator {
+        @Override public WebDriver frame(int index) { return StubWebDriver.this; }
+        @Override public WebDriver frame(String nameOrId) { return StubWebDriver.this; }
+        @Override public WebDriver frame(WebElement frameElement) { return StubWebDriver.this; }
+        @Override public WebDriver parentFrame() { return StubWebDriver.this; }
+        @Override public WebDriver window(String nameOrHandle) { return StubWebDriver.this; }
+        @Override public WebDriver newWindow(WindowType typeHint) { return StubWebDriver.this; }
+        @Override public WebDriver defaultContent() { return StubWebDriver.this; }
+        @Override public WebElement activeElement() { return new StubWebElement("body", ""); }
+        @Override public Alert alert() { throw new NoAlertPresentException("Stub sin alertas"); }
+    }
+
+    private static final class StubNavigation implements Navigation {
+        @Override public void back() { }
+        @Override public void forward() { }
+        @Override public void to(String url) { }
+        @Override public void to(URL url) { }
+        @Override public void refresh() { }
+    }
+
+    private static final class StubWindow implements Window {
+        private static final Dimension SIZE = new Dimension(1280, 800);
+
+        @Override public Dimension getSize() { return SIZE; }
+        @Override public void setSize(Dimension targetSize) { }
+        @Override public Point getPosition() { return new Point(0, 0); }
+        @Override public void setPosition(Point targetPosition) { }
+        @Override public void maximize() { }
+        @Override public void minimize() { }
+        @Override public void fullscreen() { }
+    }
+
+    private static final class StubLogs implements Logs {
+        @Override public LogEntries get(String logType) { return new LogEntries(List.of()); }
+        @Override public Set<String> getAvailableLogTypes() { return Set.of(); }
+    }
+
+    private static final class StubTimeouts implements Timeouts {
+        private Duration implicitWait = Duration.ZERO;
+
+        @Override public Timeouts implicitlyWait(Duration duration) { implicitWait = duration; return this; }
+        @Override public Duration getImplicitWaitTimeout() { return implicitWait; }
+        @Override public Timeouts scriptTimeout(Duration duration) { return this; }
+        @Override public Timeouts pageLoadTimeout(Duration duration) { return this; }
+    }
+}
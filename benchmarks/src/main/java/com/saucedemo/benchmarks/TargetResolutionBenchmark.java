@@ -0,0 +1,79 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.userinterfaces.InventoryPage;
+import com.saucedemo.userinterfaces.LoginPage;
+import com.saucedemo.userinterfaces.ResolvedElementCache;
+import net.serenitybdd.core.pages.ListOfWebElementFacades;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+  Coste de Target.resolveFor / resolveAllFor y de la estrategia de localizador (id vs xpath).
+  - resolveFor devuelve un WebElementFacade perezoso: *AndCheckVisibility incluye la búsqueda real.
+  - *FromRegistry usa el Target de LoginPage (Locators): con la caché de página activa, la segunda
+    resolución y siguientes devuelven el elemento ya encontrado.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetResolutionBenchmark {
+
+    private static final Target USERNAME_BY_ID = Target.the("username field").located(By.id("user-name"));
+    private static final Target USERNAME_BY_XPATH =
+            Target.the("username field").located(By.xpath("//input[@id='user-name']"));
+
+    private Actor actor;
+
+    @Setup
+    public void setUp() {
+        actor = ScreenplayState.actorOn(StubWebDriver.Page.INVENTORY);
+        ResolvedElementCache.startScenario();
+    }
+
+    @Benchmark
+    public WebElementFacade resolveForById() {
+        return USERNAME_BY_ID.resolveFor(actor);
+    }
+
+    @Benchmark
+    public WebElementFacade resolveForByXPath() {
+        return USERNAME_BY_XPATH.resolveFor(actor);
+    }
+
+    @Benchmark
+    public boolean resolveForByIdAndCheckVisibility() {
+        return USERNAME_BY_ID.resolveFor(actor).isVisible();
+    }
+
+    @Benchmark
+    public boolean resolveForByXPathAndCheckVisibility() {
+        return USERNAME_BY_XPATH.resolveFor(actor).isVisible();
+    }
+
+    @Benchmark
+    public boolean resolveForFromRegistryAndCheckVisibility() {
+        return LoginPage.USERNAME_FIELD.resolveFor(actor).isVisible();
+    }
+
+    @Benchmark
+    public ListOfWebElementFacades resolveAllForInventoryItems() {
+        return InventoryPage.INVENTORY_ITEMS.resolveAllFor(actor);
+    }
+}
@@ -1,6 +1,6 @@
 package com.saucedemo;
 
-import net.serenitybdd.cucumber.CucumberWithSerenity;
+import com.saucedemo.runner.ParallelCucumberWithSerenity;
 import org.junit.runner.RunWith;
 import io.cucumber.junit.CucumberOptions;
 
@@ -9,11 +9,13 @@ import io.cucumber.junit.CucumberOptions;
 /
 
 /* -------------------------------------------------------------
-   @RunWith(CucumberWithSerenity.class)
+   @RunWith(ParallelCucumberWithSerenity.class)
    -------------------------------------------------------------
    - Indica a JUnit que ejecute las pruebas usando el runner de Serenity para Cucumber.
    - CucumberWithSerenity integra el reporting de Serenity con la ejecución de Cucumber,
      permitiendo generar los informes HTML automáticamente al terminar.
+   - ParallelCucumberWithSerenity es CucumberWithSerenity + ejecución concurrente de escenarios
+     cuando saucedemo.parallel.threads > 1 (perfil Maven "parallel"); con 1 hilo es idéntico.
 */
 
 /* -------------------------------------------------------------
@@ -24,12 +26,21 @@ import io.cucumber.junit.CucumberOptions;
    - glue: paquete(s) donde están las Step Definitions; debe coincidir con el package de tus stepdefs.
    - plugin: configuraciones de salida de Cucumber; "pretty" mejora la lectura en consola.
    - Puedes añadir otros plugins (por ejemplo json, html) si necesitas outputs adicionales.
+   - InteractionLatencyPlugin: exporta p50/p95/p99 por interacción a interaction-latencies.json
+     junto al informe de Serenity al terminar la ejecución.
+   - ImpactIndexPlugin: en cada ejecución completa graba qué código y qué Targets usa cada escenario
+     (target/impact/impact-index.json) para poder ejecutar después solo los afectados por un cambio.
+   - ScenarioDurationPlugin: añade la duración de cada escenario al historial (.saucedemo/scenario-durations.tsv)
+     con el que ParallelCucumberWithSerenity ordena y reparte los escenarios.
+   - ScenarioTelemetryPlugin: añade las métricas de recursos de cada escenario (.saucedemo/telemetry.tsv)
+     que PerfGate compara con la línea base (perfil Maven "perf-gate").
 */
-@RunWith(CucumberWithSerenity.class)
+@RunWith(ParallelCucumberWithSerenity.class)
 @CucumberOptions(
     features = "src/test/resources/features",
     glue = "com.saucedemo.stepdefinitions",
-    plugin = { "pretty" }
+    plugin = { "pretty", "com.saucedemo.timing.InteractionLatencyPlugin", "com.saucedemo.impact.ImpactIndexPlugin",
+               "com.saucedemo.runner.ScenarioDurationPlugin", "com.saucedemo.telemetry.ScenarioTelemetryPlugin" }
 )
 /* -------------------------------------------------------------
    Clase vacía: ¿por qué no tiene contenido?
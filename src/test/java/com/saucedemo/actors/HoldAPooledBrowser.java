@@ -0,0 +1,42 @@
+package com.saucedemo.actors;
+
+import com.saucedemo.drivers.DriverPool;
+import com.saucedemo.telemetry.ScenarioTelemetry;
+import net.serenitybdd.screenplay.Ability;
+import net.serenitybdd.screenplay.HasTeardown;
+import org.openqa.selenium.WebDriver;
+
+/*
+  Ability HoldAPooledBrowser: recuerda qué navegador del DriverPool tiene prestado el Actor.
+
+  - BrowseTheWeb sabe usar el navegador, pero no sabe devolverlo al pool.
+  - Al implementar HasTeardown, Serenity llama a tearDown() cuando el Cast despide a los actores
+    (OnStage.drawTheCurtain()), y el navegador vuelve al pool del que salió para el siguiente escenario.
+  - La espera en acquire() (arranque de Chrome incluido si el pool no tenía uno libre) va a ScenarioTelemetry.
+*/
+public class HoldAPooledBrowser implements Ability, HasTeardown {
+
+    private final DriverPool pool;
+    private final WebDriver driver;
+
+    private HoldAPooledBrowser(DriverPool pool, WebDriver driver) {
+        this.pool = pool;
+        this.driver = driver;
+    }
+
+    public static HoldAPooledBrowser from(DriverPool pool) {
+        long start = System.nanoTime();
+        WebDriver driver = pool.acquire();
+        ScenarioTelemetry.recordDriverAcquire(System.nanoTime() - start);
+        return new HoldAPooledBrowser(pool, driver);
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    @Override
+    public void tearDown() {
+        pool.release(driver);
+    }
+}
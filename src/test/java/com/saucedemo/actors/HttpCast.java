@@ -0,0 +1,17 @@
+package com.saucedemo.actors;
+
+import com.saucedemo.http.BrowseOverHttp;
+import net.serenitybdd.screenplay.actors.Cast;
+
+/*
+  HttpCast: reparto (Cast) cuyos actores navegan sin navegador, con peticiones HTTP (ver BrowseOverHttp).
+
+  - Alternativa a PooledBrowserCast para escenarios etiquetados con @http (ver LoginStepDefinitions).
+  - Cada actor tiene su propia sesión (cookies); no hay nada que devolver a ningún pool al terminar.
+*/
+public class HttpCast extends Cast {
+
+    public HttpCast() {
+        super(actor -> actor.can(BrowseOverHttp.withANewSession()));
+    }
+}
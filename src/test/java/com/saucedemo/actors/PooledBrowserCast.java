@@ -0,0 +1,29 @@
+package com.saucedemo.actors;
+
+import com.saucedemo.drivers.DriverPool;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.actors.Cast;
+
+/*
+  PooledBrowserCast: reparto (Cast) de Screenplay cuyos actores navegan con un navegador del DriverPool.
+
+  - Uso (en un @Before):
+      OnStage.setTheStage(new PooledBrowserCast());
+      Actor actor = OnStage.theActorCalled("usuario");
+  - OnStage guarda el Stage en un ThreadLocal: con ejecución paralela cada hilo tiene sus propios
+    actores y navegadores, sin compartir estado entre escenarios simultáneos.
+  - OnStage.drawTheCurtain() en el @After despide a los actores y devuelve los navegadores al pool.
+*/
+public class PooledBrowserCast extends Cast {
+
+    public PooledBrowserCast() {
+        super(PooledBrowserCast::giveAPooledBrowserTo);
+    }
+
+    private static void giveAPooledBrowserTo(Actor actor) {
+        HoldAPooledBrowser browser = HoldAPooledBrowser.from(DriverPool.shared());
+        actor.can(browser);
+        actor.can(BrowseTheWeb.with(browser.getDriver()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.saucedemo.config;
+
+import com.saucedemo.standin.SauceDemoStandIn;
+
+/*
+  TargetApplication: a qué SauceDemo apuntan las pruebas.
+
+  - saucedemo.base.url (serenity.properties, -D o SAUCEDEMO_BASE_URL):
+    * sin valor            -> https://www.saucedemo.com/ (web pública, necesita red)
+    * "standin"            -> stand-in local embebido (SauceDemoStandIn), sin red y con latencia de milisegundos
+    * cualquier otra URL   -> se usa tal cual (ej: un despliegue propio)
+  - saucedemo.http.base.url: lo mismo para los actores sin navegador (BrowseOverHttp, escenarios @http).
+    Por defecto "standin": la web pública es una SPA y su login solo funciona ejecutando JavaScript.
+*/
+public final class TargetApplication {
+
+    public static final String PUBLIC_URL = "https://www.saucedemo.com/";
+    public static final String STAND_IN = "standin";
+
+    private TargetApplication() {
+    }
+
+    public static String baseUrl() {
+        return resolve(TestSettings.stringValue("saucedemo.base.url", PUBLIC_URL));
+    }
+
+    public static String httpBaseUrl() {
+        return resolve(TestSettings.stringValue("saucedemo.http.base.url", STAND_IN));
+    }
+
+    private static String resolve(String configured) {
+        if (STAND_IN.equalsIgnoreCase(configured)) {
+            return SauceDemoStandIn.url();
+        }
+        return configured.endsWith("/") ? configured : configured + "/";
+    }
+
+    public static String pageUrl(String page) {
+        return baseUrl() + page;
+    }
+}
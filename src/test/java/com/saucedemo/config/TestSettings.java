@@ -0,0 +1,62 @@
+package com.saucedemo.config;
+
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+
+import java.time.Duration;
+
+/*
+  TestSettings: lectura centralizada de la configuración propia del proyecto.
+
+  - Orden de resolución de cada clave (la primera que tenga valor gana):
+      1. Propiedad de sistema: -Dsaucedemo.driver.pool.size=4
+      2. Variable de entorno equivalente: SAUCEDEMO_DRIVER_POOL_SIZE=4
+      3. serenity.properties / serenity.conf (leídos por Serenity)
+      4. Valor por defecto indicado en el código.
+  - Por qué una clase propia y no leer System.getProperty en cada sitio:
+    * Una sola forma de configurar (CLI, CI o fichero) para todas las piezas de infraestructura.
+    * Los valores por defecto quedan junto a quien los usa, no repartidos por el pom.
+*/
+public final class TestSettings {
+
+    private static final EnvironmentVariables SERENITY_PROPERTIES =
+            SystemEnvironmentVariables.currentEnvironmentVariables();
+
+    private TestSettings() {
+    }
+
+    public static String stringValue(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (isBlank(value)) {
+            value = System.getenv(key.toUpperCase().replace('.', '_').replace('-', '_'));
+        }
+        if (isBlank(value)) {
+            value = SERENITY_PROPERTIES.getProperty(key);
+        }
+        return isBlank(value) ? defaultValue : value.trim();
+    }
+
+    public static int intValue(String key, int defaultValue) {
+        String value = stringValue(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long longValue(String key, long defaultValue) {
+        String value = stringValue(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public static boolean booleanValue(String key, boolean defaultValue) {
+        String value = stringValue(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    // Duraciones expresadas en milisegundos en la configuración (ej: saucedemo.driver.pool.max.age.ms=600000).
+    public static Duration millisValue(String key, long defaultMillis) {
+        return Duration.ofMillis(longValue(key, defaultMillis));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,60 @@
+package com.saucedemo.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+  DaemonClient: pide una ejecución al SuiteDaemon y muestra su salida.
+
+  - java -cp target/test-classes com.saucedemo.daemon.DaemonClient [--tags <expr>] [--name <regex>] [-Dclave=valor] [rutas]
+    java -cp target/test-classes com.saucedemo.daemon.DaemonClient status | stop
+  - Sale con el código de la ejecución (0 todo en verde, 1 algún fallo, 2 petición no válida o sin daemon,
+    3 daemon detenido por clases recompiladas), así sirve igual en scripts que mvn test.
+  - Solo usa clases del JDK: arranca en milisegundos con target/test-classes como único classpath.
+    Por eso lee saucedemo.daemon.file con System.getProperty y no con TestSettings (que necesita Serenity).
+*/
+public final class DaemonClient {
+
+    private DaemonClient() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(System.getProperty("saucedemo.daemon.file", ".saucedemo/daemon"));
+        if (!Files.exists(file)) {
+            System.out.println("[Daemon] no hay daemon arrancado (" + file + "): mvn -Pdaemon test-compile exec:java");
+            System.exit(2);
+        }
+        String[] published = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+        List<String> arguments = Arrays.asList(args);
+        String command = arguments.size() == 1 && List.of("status", "stop").contains(arguments.get(0))
+                ? arguments.get(0)
+                : String.join("\t", List.of("run", String.join("\t", arguments))).stripTrailing();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(published[0]));
+             PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.println(published[1] + "\t" + command);
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith(SuiteDaemon.EXIT_MARKER)) {
+                    System.exit(Integer.parseInt(line.substring(SuiteDaemon.EXIT_MARKER.length()).trim()));
+                }
+                System.out.println(line);
+            }
+            System.out.println("[Daemon] la conexión se cerró sin terminar la ejecución");
+            System.exit(2);
+        } catch (ConnectException e) {
+            System.out.println("[Daemon] " + file + " apunta a un daemon que ya no existe: mvn -Pdaemon test-compile exec:java");
+            System.exit(2);
+        }
+    }
+}
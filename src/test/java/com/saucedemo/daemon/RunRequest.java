@@ -0,0 +1,56 @@
+package com.saucedemo.daemon;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+  RunRequest: qué ejecutar, tal como lo pide DaemonClient (argumentos al estilo de la CLI de Cucumber).
+
+  - --tags <expresión>       -> cucumber.filter.tags   ("@login and not @slow")
+  - --name <regex>           -> cucumber.filter.name
+  - -Dclave=valor            -> propiedad de sistema solo para esta ejecución
+  - resto de argumentos      -> cucumber.features (ficheros, directorios o fichero.feature:línea)
+  - Sin argumentos: la suite completa, como mvn test.
+  - Viaja en una línea con los argumentos separados por tabuladores: una expresión de tags puede llevar espacios.
+*/
+final class RunRequest {
+
+    private final Map<String, String> properties;
+
+    private RunRequest(Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    static RunRequest parse(List<String> args) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        List<String> features = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            if ((arg.equals("--tags") || arg.equals("--name")) && i + 1 < args.size()) {
+                properties.put(arg.equals("--tags") ? "cucumber.filter.tags" : "cucumber.filter.name", args.get(++i));
+            } else if (arg.startsWith("-D") && arg.contains("=")) {
+                properties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (arg.startsWith("-")) {
+                throw new IllegalArgumentException("Argumento desconocido: " + arg
+                        + " (válidos: --tags <expresión>, --name <regex>, -Dclave=valor, rutas de features)");
+            } else if (!arg.isBlank()) {
+                features.add(arg);
+            }
+        }
+        if (!features.isEmpty()) {
+            properties.put("cucumber.features", String.join(",", features));
+        }
+        return new RunRequest(properties);
+    }
+
+    Map<String, String> properties() {
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return properties.isEmpty() ? "suite completa" : properties.toString();
+    }
+}
@@ -0,0 +1,319 @@
+package com.saucedemo.daemon;
+
+import com.saucedemo.RunCucumberTest;
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.drivers.DriverPool;
+import com.saucedemo.runner.ParallelCucumberWithSerenity;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.openqa.selenium.WebDriver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+  SuiteDaemon: una JVM que se queda arrancada y ejecuta la suite cada vez que se le pide.
+
+  - Cada mvn test paga lo mismo antes del primer paso: JVM y fork de Surefire, carga de clases de Serenity
+    y Cucumber, escaneo del glue, resolución de chromedriver y arranque de Chrome. El daemon lo paga una vez:
+    * Al arrancar construye el runner de RunCucumberTest (carga de clases y glue) y deja un navegador
+      caliente en el DriverPool (saucedemo.daemon.warm.browser=false para no hacerlo, p. ej. solo con @http).
+    * Cada ejecución es un JUnitCore.run(RunCucumberTest) en la misma JVM, con el mismo pool de navegadores.
+  - Peticiones por un socket local (127.0.0.1, saucedemo.daemon.port; 0 = libre), con DaemonClient.
+    El puerto y un token aleatorio se escriben en .saucedemo/daemon (saucedemo.daemon.file), legible solo por el usuario:
+    sin el token no se ejecuta nada. Una línea por petición: token, comando y argumentos separados por tabuladores.
+    * run [args]: ver RunRequest. La salida de la ejecución se envía al cliente y la última línea es el código de salida.
+    * status / stop.
+  - Qué se vuelve a leer en cada ejecución: los .feature (editar y relanzar) y las propiedades de Cucumber.
+    Lo que las clases guardan en constantes (TestSettings leído en static final) es el del arranque del daemon.
+    Código Java recompilado (target/test-classes): el daemon no puede recargarlo con un navegador vivo;
+    lo detecta, se lo dice al cliente y se detiene para que se arranque de nuevo.
+  - Las ejecuciones van de una en una: con el daemon ocupado, la siguiente espera.
+  - Uso: mvn -Pdaemon test-compile exec:java   y luego   java -cp target/test-classes com.saucedemo.daemon.DaemonClient --tags @login
+*/
+public final class SuiteDaemon {
+
+    static final String EXIT_MARKER = "#daemon-exit ";
+
+    private final ServerSocket server;
+    private final String token;
+    private final Path file;
+    private final Path testClasses;
+    private final long compiledAt;
+    private final ReentrantLock running = new ReentrantLock();
+    private final long startedAt = System.nanoTime();
+    private int runs;
+    private volatile boolean stopRequested;
+    private volatile boolean stopping;
+
+    private SuiteDaemon(int port, Path file) throws IOException {
+        this.server = new ServerSocket();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        byte[] secret = new byte[16];
+        new SecureRandom().nextBytes(secret);
+        this.token = HexFormat.of().formatHex(secret);
+        this.file = file;
+        this.testClasses = testClasses();
+        this.compiledAt = newestClass(testClasses);
+    }
+
+    public static void main(String[] args) throws IOException {
+        SuiteDaemon daemon = new SuiteDaemon(TestSettings.intValue("saucedemo.daemon.port", 0),
+                Paths.get(TestSettings.stringValue("saucedemo.daemon.file", ".saucedemo/daemon")));
+        daemon.warmUp();
+        daemon.publish();
+        System.out.printf(Locale.ROOT, "[Daemon] listo en 127.0.0.1:%d en %.1fs (%s). Ejemplo: java -cp %s %s --tags @login%n",
+                daemon.server.getLocalPort(), (System.nanoTime() - daemon.startedAt) / 1e9, daemon.file,
+                daemon.testClasses, DaemonClient.class.getName());
+        daemon.serve();
+        // Los hilos de Serenity/Selenium no son daemon: como en LoginLoad, sin exit la JVM de exec:java no termina.
+        System.exit(0);
+    }
+
+    /* Lo caro del arranque, una sola vez: runner (clases de Serenity y Cucumber, glue, features) y navegador. */
+    private void warmUp() {
+        long started = System.nanoTime();
+        try {
+            Request.aClass(RunCucumberTest.class).getRunner();
+        } catch (RuntimeException e) {
+            System.out.println("[Daemon] no se pudo precargar el runner: " + e);
+        }
+        if (TestSettings.booleanValue("saucedemo.daemon.warm.browser", true)) {
+            try {
+                DriverPool pool = DriverPool.shared();
+                WebDriver driver = pool.acquire();
+                pool.release(driver);
+            } catch (RuntimeException e) {
+                System.out.println("[Daemon] sin navegador caliente (se arrancará en la primera ejecución): " + e.getMessage());
+            }
+        }
+        System.out.printf(Locale.ROOT, "[Daemon] precalentado en %.1fs%n", (System.nanoTime() - started) / 1e9);
+    }
+
+    private void publish() throws IOException {
+        // El token no llega a estar en un fichero legible por otros: temporal rw------- desde su creación y move.
+        Path directory = Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary;
+        try {
+            temporary = Files.createTempFile(directory, "daemon", ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            // Windows: el fichero queda con los permisos del directorio del proyecto.
+            temporary = Files.createTempFile(directory, "daemon", ".tmp");
+        }
+        Files.writeString(temporary, server.getLocalPort() + " " + token + "\n", StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // DaemonClient detecta el fichero huérfano al no poder conectar.
+            }
+        }, "suite-daemon-cleanup"));
+    }
+
+    private void serve() {
+        while (!stopping) {
+            try {
+                Socket client = server.accept();
+                Thread connection = new Thread(() -> handle(client), "suite-daemon-client");
+                connection.setDaemon(true);
+                connection.start();
+            } catch (IOException e) {
+                if (!stopping) {
+                    System.out.println("[Daemon] error aceptando conexiones: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             PrintStream out = new PrintStream(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            List<String> parts = line == null ? List.of() : Arrays.asList(line.split("\t", -1));
+            // Comparación en tiempo constante: el tiempo de respuesta no dice cuántos caracteres acertó.
+            if (parts.size() < 2 || !MessageDigest.isEqual(parts.get(0).getBytes(StandardCharsets.UTF_8),
+                    token.getBytes(StandardCharsets.UTF_8))) {
+                out.println(EXIT_MARKER + 2);
+                return;
+            }
+            String command = parts.get(1);
+            int exitCode;
+            if (command.equals("run")) {
+                exitCode = run(parts.subList(2, parts.size()), out);
+            } else if (command.equals("status")) {
+                out.printf(Locale.ROOT, "[Daemon] activo desde hace %.0fs, %d ejecuciones%s%n",
+                        (System.nanoTime() - startedAt) / 1e9, runs, running.isLocked() ? ", una en curso" : "");
+                exitCode = 0;
+            } else if (command.equals("stop")) {
+                out.println("[Daemon] deteniendo");
+                exitCode = 0;
+                stopRequested = true;
+            } else {
+                out.println("[Daemon] comando desconocido: " + command + " (run, status, stop)");
+                exitCode = 2;
+            }
+            out.println(EXIT_MARKER + exitCode);
+            // Después de responder: al cerrar el socket del servidor, main termina la JVM.
+            if (stopRequested) {
+                stop();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[Daemon] petición fallida: " + e);
+        }
+    }
+
+    private int run(List<String> args, PrintStream client) {
+        RunRequest request;
+        try {
+            request = RunRequest.parse(args);
+        } catch (IllegalArgumentException e) {
+            client.println("[Daemon] " + e.getMessage());
+            return 2;
+        }
+        if (running.isLocked()) {
+            client.println("[Daemon] hay otra ejecución en curso: esperando a que termine");
+        }
+        running.lock();
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        Map<String, String> properties = systemProperties();
+        try {
+            if (newestClass(testClasses) > compiledAt) {
+                client.println("[Daemon] hay clases recompiladas en " + testClasses
+                        + " desde el arranque; el daemon se detiene: arráncalo de nuevo para usarlas");
+                stopRequested = true;
+                return 3;
+            }
+            System.setOut(new PrintStream(new Tee(originalOut, client), true, StandardCharsets.UTF_8));
+            System.setErr(new PrintStream(new Tee(originalErr, client), true, StandardCharsets.UTF_8));
+            request.properties().forEach(System::setProperty);
+            ParallelCucumberWithSerenity.resetBetweenRuns();
+            int number = ++runs;
+            long started = System.nanoTime();
+            Result result = new JUnitCore().run(RunCucumberTest.class);
+            for (Failure failure : result.getFailures()) {
+                System.out.println("[Daemon] FALLO " + failure.getDescription().getDisplayName() + ": " + failure.getMessage());
+            }
+            System.out.printf(Locale.ROOT, "[Daemon] ejecución #%d (%s): %d escenarios, %d fallidos, %d ignorados en %.1fs%n",
+                    number, request, result.getRunCount(), result.getFailureCount(), result.getIgnoreCount(),
+                    (System.nanoTime() - started) / 1e9);
+            return result.wasSuccessful() ? 0 : 1;
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            restore(properties);
+            running.unlock();
+        }
+    }
+
+    private void stop() {
+        stopping = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Ya cerrado.
+        }
+    }
+
+    private static Map<String, String> systemProperties() {
+        Map<String, String> snapshot = new HashMap<>();
+        System.getProperties().stringPropertyNames().forEach(key -> snapshot.put(key, System.getProperty(key)));
+        return snapshot;
+    }
+
+    // La siguiente ejecución parte de las mismas propiedades: las de la petición y las que fije el runner (ImpactSelection).
+    private static void restore(Map<String, String> snapshot) {
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (!snapshot.containsKey(key)) {
+                System.clearProperty(key);
+            }
+        }
+        snapshot.forEach((key, value) -> {
+            if (!value.equals(System.getProperty(key))) {
+                System.setProperty(key, value);
+            }
+        });
+    }
+
+    private static Path testClasses() {
+        try {
+            return Paths.get(RunCucumberTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Solo .class: process-test-resources también copia los .feature, y editarlos no obliga a reiniciar.
+    private static long newestClass(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.toString().endsWith(".class"))
+                    .mapToLong(path -> path.toFile().lastModified())
+                    .max().orElse(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* La salida de la ejecución va a la consola del daemon y al cliente.
+       Si el cliente se desconecta (Ctrl+C) la ejecución sigue y solo se pierde su copia. */
+    private static final class Tee extends OutputStream {
+        private final OutputStream console;
+        private final PrintStream client;
+
+        private Tee(OutputStream console, PrintStream client) {
+            this.console = console;
+            this.client = client;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            console.write(b);
+            client.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            console.write(bytes, offset, length);
+            client.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            console.flush();
+            client.flush();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.saucedemo.drivers;
+
+import com.saucedemo.config.TestSettings;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Locale;
+import java.util.Map;
+
+/*
+  BrowserProfile: cómo se arranca Chrome, elegido por configuración.
+
+  - saucedemo.browser.profile (serenity.properties, -D o SAUCEDEMO_BROWSER_PROFILE, ver TestSettings):
+    * desktop (por defecto): Chrome con ventana maximizada, como hasta ahora. Para ver la ejecución en local.
+    * headless: sin ventana y con viewport fijo; la página se pinta igual que en desktop (imágenes incluidas).
+    * ci: headless y además sin imágenes, extensiones, GPU ni tráfico de fondo (sync, actualizaciones...).
+      Menos memoria y CPU por navegador = más navegadores en paralelo por nodo de CI.
+  - saucedemo.browser.window.size: viewport de los perfiles headless (por defecto 1280,800).
+    Fijo para que el layout (y las capturas) no dependan de la pantalla de la máquina.
+  - Los argumentos no se eligen por rendimiento "a ciegas": BrowserResources mide memoria y CPU
+    de cada escenario para comparar perfiles.
+*/
+public enum BrowserProfile {
+
+    DESKTOP {
+        @Override
+        ChromeOptions chromeOptions() {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--start-maximized");
+            return options;
+        }
+    },
+
+    HEADLESS {
+        @Override
+        ChromeOptions chromeOptions() {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new", "--window-size=" + WINDOW_SIZE, "--hide-scrollbars", "--mute-audio");
+            return options;
+        }
+    },
+
+    CI {
+        @Override
+        ChromeOptions chromeOptions() {
+            ChromeOptions options = HEADLESS.chromeOptions();
+            options.addArguments(
+                    // Render: sin GPU (no la hay en CI) y sin descargar ni decodificar imágenes.
+                    "--disable-gpu",
+                    "--blink-settings=imagesEnabled=false",
+                    // Procesos y tráfico que no aportan nada a un test.
+                    "--disable-extensions",
+                    "--disable-component-extensions-with-background-pages",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--metrics-recording-only",
+                    "--no-first-run",
+                    "--no-default-browser-check",
+                    // /dev/shm de los contenedores suele ser de 64 MB: Chrome usa /tmp en su lugar.
+                    "--disable-dev-shm-usage");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+            return options;
+        }
+    };
+
+    private static final String WINDOW_SIZE = TestSettings.stringValue("saucedemo.browser.window.size", "1280,800");
+    private static final BrowserProfile CURRENT = named(TestSettings.stringValue("saucedemo.browser.profile", "desktop"));
+
+    abstract ChromeOptions chromeOptions();
+
+    public static BrowserProfile current() {
+        return CURRENT;
+    }
+
+    public static BrowserProfile named(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "saucedemo.browser.profile desconocido: '" + name + "' (valores: desktop, headless, ci)", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
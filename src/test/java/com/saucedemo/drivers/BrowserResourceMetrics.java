@@ -0,0 +1,63 @@
+package com.saucedemo.drivers;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  BrowserResourceMetrics: consumo de los navegadores por escenario, acumulado para toda la ejecución.
+
+  - cpu: CPU que el navegador gastó durante el escenario (entre el @Before y el @After).
+  - memory: memoria del navegador al terminar el escenario; la máxima indica cuántos navegadores caben por nodo.
+  - LongAdder/LongAccumulator: baratos con varios hilos escribiendo a la vez (ejecución paralela).
+*/
+public class BrowserResourceMetrics {
+
+    private final LongAdder scenarios = new LongAdder();
+    private final LongAdder totalCpuNanos = new LongAdder();
+    private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder memorySamples = new LongAdder();
+    private final LongAdder totalMemoryBytes = new LongAdder();
+    private final LongAccumulator maxMemoryBytes = new LongAccumulator(Math::max, 0);
+
+    public void recordScenario(long cpuNanos, long memoryBytes) {
+        scenarios.increment();
+        totalCpuNanos.add(cpuNanos);
+        maxCpuNanos.accumulate(cpuNanos);
+        if (memoryBytes >= 0) {
+            memorySamples.increment();
+            totalMemoryBytes.add(memoryBytes);
+            maxMemoryBytes.accumulate(memoryBytes);
+        }
+    }
+
+    public long scenarios() {
+        return scenarios.sum();
+    }
+
+    public double averageCpuMillis() {
+        long total = scenarios();
+        return total == 0 ? 0.0 : totalCpuNanos.sum() / 1_000_000.0 / total;
+    }
+
+    public double maxCpuMillis() {
+        return maxCpuNanos.get() / 1_000_000.0;
+    }
+
+    public double averageMemoryMegabytes() {
+        long total = memorySamples.sum();
+        return total == 0 ? 0.0 : totalMemoryBytes.sum() / (1024.0 * 1024.0) / total;
+    }
+
+    public double maxMemoryMegabytes() {
+        return maxMemoryBytes.get() / (1024.0 * 1024.0);
+    }
+
+    @Override
+    public String toString() {
+        String memory = memorySamples.sum() == 0
+                ? "memory=n/a"
+                : String.format("avgMemory=%.1fMB maxMemory=%.1fMB", averageMemoryMegabytes(), maxMemoryMegabytes());
+        return String.format("scenarios=%d avgCpu=%.1fms maxCpu=%.1fms %s",
+                scenarios(), averageCpuMillis(), maxCpuMillis(), memory);
+    }
+}
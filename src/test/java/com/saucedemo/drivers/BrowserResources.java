@@ -0,0 +1,141 @@
+package com.saucedemo.drivers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/*
+  BrowserResources: memoria y CPU que consume un navegador (chromedriver + todos los procesos de Chrome).
+
+  - Cómo se encuentra el navegador de un WebDriver:
+    * chromedriver es hijo de la JVM y se arranca con --port=N; N es el puerto al que habla el WebDriver.
+    * Los procesos de Chrome (browser, GPU, renderers...) son descendientes de ese chromedriver.
+  - CPU: suma del tiempo de CPU de esos procesos (ProcessHandle, cualquier SO).
+    Un renderer que se cierra durante el escenario se lleva su CPU: la medida es una cota inferior.
+  - Memoria (solo Linux, que es lo que corre en CI): PSS de /proc/<pid>/smaps_rollup,
+    que reparte la memoria compartida entre procesos y por tanto se puede sumar sin contarla dos veces.
+    Sin smaps_rollup se usa VmRSS; en otros SO la memoria no está disponible (-1).
+  - sample(driver) tarda unos pocos ms (lee /proc): se llama al principio y al final de cada escenario, no por paso.
+*/
+public final class BrowserResources {
+
+    private static final Path PROC = Path.of("/proc");
+    private static final boolean MEMORY_AVAILABLE = Files.isDirectory(PROC);
+    private static final BrowserResourceMetrics RUN = new BrowserResourceMetrics();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (RUN.scenarios() > 0) {
+                System.out.println("[BrowserResources] profile=" + BrowserProfile.current() + " " + RUN);
+            }
+        }, "browser-resources-report"));
+    }
+
+    private BrowserResources() {
+    }
+
+    public static BrowserResourceMetrics runMetrics() {
+        return RUN;
+    }
+
+    public static Optional<Sample> sample(WebDriver driver) {
+        return driverProcess(driver).map(BrowserResources::sampleTree);
+    }
+
+    private static Optional<ProcessHandle> driverProcess(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) {
+            return Optional.empty();
+        }
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return Optional.empty();
+        }
+        String portArgument = "--port=" + ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort();
+        return ProcessHandle.current().children()
+                .filter(process -> process.info().arguments()
+                        .map(arguments -> List.of(arguments).contains(portArgument))
+                        .orElse(false))
+                .findFirst();
+    }
+
+    private static Sample sampleTree(ProcessHandle driverProcess) {
+        long cpuNanos = 0;
+        long memoryBytes = 0;
+        int processes = 0;
+        List<ProcessHandle> tree = Stream.concat(Stream.of(driverProcess), driverProcess.descendants()).toList();
+        for (ProcessHandle process : tree) {
+            if (!process.isAlive()) {
+                continue;
+            }
+            processes++;
+            cpuNanos += process.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+            memoryBytes += Math.max(0, memoryOf(process.pid()));
+        }
+        return new Sample(cpuNanos, MEMORY_AVAILABLE ? memoryBytes : -1, processes);
+    }
+
+    private static long memoryOf(long pid) {
+        Path dir = PROC.resolve(Long.toString(pid));
+        long pss = kilobytesField(dir.resolve("smaps_rollup"), "Pss:");
+        long kilobytes = pss >= 0 ? pss : kilobytesField(dir.resolve("status"), "VmRSS:");
+        return kilobytes >= 0 ? kilobytes * 1024 : -1;
+    }
+
+    // Líneas del estilo "Pss:     123456 kB".
+    private static long kilobytesField(Path file, String field) {
+        if (!Files.isReadable(file)) {
+            return -1;
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.filter(line -> line.startsWith(field))
+                    .findFirst()
+                    .map(line -> Long.parseLong(line.substring(field.length()).replace("kB", "").trim()))
+                    .orElse(-1L);
+        } catch (IOException | RuntimeException e) {
+            // El proceso terminó mientras se leía: no cuenta.
+            return -1;
+        }
+    }
+
+    /* Sample: foto del consumo de un navegador en un instante.
+       - cpuNanos: CPU acumulada desde que arrancó cada proceso vivo (para un escenario se resta el inicio).
+       - memoryBytes: memoria actual (PSS), -1 si el SO no la expone.
+    */
+    public static final class Sample {
+        private final long cpuNanos;
+        private final long memoryBytes;
+        private final int processes;
+
+        Sample(long cpuNanos, long memoryBytes, int processes) {
+            this.cpuNanos = cpuNanos;
+            this.memoryBytes = memoryBytes;
+            this.processes = processes;
+        }
+
+        public long cpuNanos() {
+            return cpuNanos;
+        }
+
+        public long memoryBytes() {
+            return memoryBytes;
+        }
+
+        public int processes() {
+            return processes;
+        }
+
+        // CPU consumida entre 'start' y esta muestra; nunca negativa (ver nota sobre renderers cerrados).
+        public long cpuNanosSince(Sample start) {
+            return Math.max(0, cpuNanos - start.cpuNanos);
+        }
+    }
+}
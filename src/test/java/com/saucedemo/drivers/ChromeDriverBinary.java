@@ -0,0 +1,181 @@
+package com.saucedemo.drivers;
+
+import com.saucedemo.config.TestSettings;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/*
+  ChromeDriverBinary: el ejecutable de chromedriver, resuelto UNA vez por JVM y fijado en disco entre ejecuciones.
+
+  - Problema: WebDriverManager.chromedriver().setup() en cada navegador nuevo consulta versiones
+    (red) y, sin red, falla aunque el binario ya esté descargado.
+  - Solución:
+    * La primera ejecución resuelve con WebDriverManager y "fija" el resultado en
+      <saucedemo.driver.cache.dir>/chromedriver.properties: ruta, versión, tamaño, fecha y SHA-256 del binario.
+    * Las siguientes leen ese fichero y reutilizan el binario sin red. El SHA-256 se recalcula solo
+      si cambian tamaño o fecha del fichero; si no coincide, el binario no se usa y se resuelve de nuevo.
+    * Dentro de la JVM el resultado se guarda en memoria: el DriverPool puede arrancar N navegadores sin repetir nada.
+  - Cuándo se vuelve a resolver:
+    * -Dsaucedemo.driver.refresh=true (por ejemplo, tras actualizar Chrome).
+    * Automáticamente si Chrome rechaza el binario fijado (versión incompatible): ver ChromeDriverFactory.
+  - resolutionMillis(): lo que tardó la resolución; cerca de 0 ms cuando se reutiliza el binario fijado.
+*/
+public final class ChromeDriverBinary {
+
+    private static final Path CACHE_DIR = Path.of(TestSettings.stringValue("saucedemo.driver.cache.dir",
+            Path.of(System.getProperty("user.home"), ".cache", "saucedemo", "drivers").toString()));
+    private static final Path PIN_FILE = CACHE_DIR.resolve("chromedriver.properties");
+    private static final boolean REFRESH = TestSettings.booleanValue("saucedemo.driver.refresh", false);
+
+    public enum Source { PINNED, WEBDRIVERMANAGER }
+
+    private static ChromeDriverBinary resolved;
+
+    private final Path path;
+    private final String version;
+    private final Source source;
+    private final double resolutionMillis;
+
+    private ChromeDriverBinary(Path path, String version, Source source, double resolutionMillis) {
+        this.path = path;
+        this.version = version;
+        this.source = source;
+        this.resolutionMillis = resolutionMillis;
+    }
+
+    // synchronized: con ejecución paralela varios hilos piden navegador a la vez; solo uno resuelve.
+    public static synchronized ChromeDriverBinary resolve() {
+        if (resolved == null) {
+            resolved = resolve(REFRESH);
+        }
+        return resolved;
+    }
+
+    /* resolveAgain()
+       - Descarta el binario fijado y vuelve a preguntar a WebDriverManager.
+       - Lo usa ChromeDriverFactory cuando Chrome no acepta el chromedriver fijado.
+       - Si otro hilo ya lo resolvió de nuevo (resolved != rejected), se reutiliza su resultado.
+    */
+    public static synchronized ChromeDriverBinary resolveAgain(ChromeDriverBinary rejected) {
+        if (resolved == null || resolved == rejected) {
+            resolved = resolve(true);
+        }
+        return resolved;
+    }
+
+    private static ChromeDriverBinary resolve(boolean refresh) {
+        long start = System.nanoTime();
+        ChromeDriverBinary binary = refresh ? null : readPin(start);
+        if (binary == null) {
+            WebDriverManager manager = WebDriverManager.chromedriver().cachePath(CACHE_DIR.toString());
+            manager.setup();
+            Path path = Path.of(manager.getDownloadedDriverPath());
+            writePin(path, manager.getDownloadedDriverVersion());
+            binary = new ChromeDriverBinary(path, manager.getDownloadedDriverVersion(),
+                    Source.WEBDRIVERMANAGER, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        System.out.println("[ChromeDriverBinary] " + binary);
+        return binary;
+    }
+
+    private static ChromeDriverBinary readPin(long start) {
+        Properties pin = load();
+        if (pin == null) {
+            return null;
+        }
+        Path path = Path.of(pin.getProperty("path", ""));
+        try {
+            if (!Files.isExecutable(path)) {
+                return null;
+            }
+            boolean unchanged = String.valueOf(Files.size(path)).equals(pin.getProperty("size"))
+                    && String.valueOf(Files.getLastModifiedTime(path).toMillis()).equals(pin.getProperty("modified"));
+            if (!unchanged && !sha256(path).equals(pin.getProperty("sha256"))) {
+                System.out.println("[ChromeDriverBinary] SHA-256 de " + path + " no coincide con el fijado: se resuelve de nuevo");
+                return null;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+        return new ChromeDriverBinary(path, pin.getProperty("version"), Source.PINNED,
+                (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private static Properties load() {
+        if (!Files.isReadable(PIN_FILE)) {
+            return null;
+        }
+        Properties pin = new Properties();
+        try (InputStream in = Files.newInputStream(PIN_FILE)) {
+            pin.load(in);
+            return pin;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writePin(Path path, String version) {
+        Properties pin = new Properties();
+        try {
+            pin.setProperty("path", path.toAbsolutePath().toString());
+            pin.setProperty("version", String.valueOf(version));
+            pin.setProperty("size", String.valueOf(Files.size(path)));
+            pin.setProperty("modified", String.valueOf(Files.getLastModifiedTime(path).toMillis()));
+            pin.setProperty("sha256", sha256(path));
+            Files.createDirectories(CACHE_DIR);
+            // Fichero temporal + move: otra JVM en paralelo nunca lee un fichero a medio escribir.
+            Path tmp = Files.createTempFile(CACHE_DIR, "chromedriver", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                pin.store(out, "chromedriver fijado por ChromeDriverBinary");
+            }
+            Files.move(tmp, PIN_FILE, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Sin caché en disco la ejecución sigue: la próxima vez se resolverá con WebDriverManager otra vez.
+            System.out.println("[ChromeDriverBinary] no se pudo fijar el binario en " + PIN_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible en esta JVM", e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public Source source() {
+        return source;
+    }
+
+    public double resolutionMillis() {
+        return resolutionMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("source=%s version=%s resolution=%.1fms path=%s",
+                source.name().toLowerCase(), version, resolutionMillis, path);
+    }
+}
@@ -0,0 +1,48 @@
+package com.saucedemo.drivers;
+
+import com.saucedemo.proxy.CachingProxy;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/*
+  ChromeDriverFactory: única pieza que sabe cómo arrancar un navegador nuevo.
+
+  - Antes esta lógica vivía en el @Before de LoginStepDefinitions y se ejecutaba en cada escenario.
+  - Ahora la invoca el DriverPool solo cuando no tiene un navegador "caliente" que reutilizar.
+  - Las opciones de Chrome salen del BrowserProfile configurado (desktop, headless o ci).
+  - El ejecutable de chromedriver lo resuelve ChromeDriverBinary una vez por JVM (sin red si ya está fijado en disco).
+  - Con saucedemo.proxy=true todos los navegadores salen a la red por el CachingProxy de la JVM (caché compartido).
+  - El driver es un CountingChromeDriver: cuenta comandos y navegaciones para ScenarioTelemetry.
+*/
+public final class ChromeDriverFactory {
+
+    private ChromeDriverFactory() {
+    }
+
+    public static WebDriver newDriver() {
+        ChromeDriverBinary binary = ChromeDriverBinary.resolve();
+        try {
+            return start(binary);
+        } catch (SessionNotCreatedException e) {
+            if (binary.source() != ChromeDriverBinary.Source.PINNED) {
+                throw e;
+            }
+            // Chrome se actualizó y ya no acepta el chromedriver fijado: se resuelve de nuevo y se reintenta una vez.
+            return start(ChromeDriverBinary.resolveAgain(binary));
+        }
+    }
+
+    private static WebDriver start(ChromeDriverBinary binary) {
+        ChromeDriverService service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(binary.path().toFile())
+                .usingAnyFreePort()
+                .build();
+        ChromeOptions options = BrowserProfile.current().chromeOptions();
+        if (CachingProxy.isEnabled()) {
+            CachingProxy.shared().routeThrough(options);
+        }
+        return new CountingChromeDriver(service, options);
+    }
+}
@@ -0,0 +1,60 @@
+package com.saucedemo.drivers;
+
+import com.saucedemo.telemetry.ScenarioTelemetry;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.util.List;
+
+/*
+  CountingChromeDriver: ChromeDriver que informa a ScenarioTelemetry de cada comando y cada navegación.
+
+  - Todos los comandos (también los de los WebElement) pasan por execute(CommandPayload): contarlos ahí
+    no añade ninguna llamada a chromedriver.
+  - Tras un driver.get a una página http(s) lee la Navigation Timing del navegador (un executeScript):
+    responseStart = tiempo hasta el primer byte, loadEventEnd = carga completa, ambos desde el inicio de la navegación.
+    Ese executeScript va por super.execute y no cuenta como comando del escenario.
+  - Con saucedemo.telemetry=false solo queda el contador (que no hace nada sin muestra abierta).
+*/
+final class CountingChromeDriver extends ChromeDriver {
+
+    private static final String NAVIGATION_TIMING =
+            "var entry = performance.getEntriesByType('navigation')[0];"
+                    + "return entry ? [entry.responseStart, entry.loadEventEnd] : null;";
+
+    CountingChromeDriver(ChromeDriverService service, ChromeOptions options) {
+        super(service, options);
+    }
+
+    @Override
+    protected Response execute(CommandPayload payload) {
+        ScenarioTelemetry.recordCommand();
+        Response response = super.execute(payload);
+        if (DriverCommand.GET.equals(payload.getName()) && ScenarioTelemetry.isEnabled()
+                && String.valueOf(payload.getParameters().get("url")).startsWith("http")) {
+            recordNavigationTiming();
+        }
+        return response;
+    }
+
+    private void recordNavigationTiming() {
+        try {
+            Object value = super.execute(DriverCommand.EXECUTE_SCRIPT(NAVIGATION_TIMING, List.of())).getValue();
+            if (value instanceof List && ((List<?>) value).size() == 2) {
+                List<?> timing = (List<?>) value;
+                ScenarioTelemetry.recordNavigation(millis(timing.get(0)), millis(timing.get(1)));
+            }
+        } catch (WebDriverException e) {
+            // Sin timing para esta navegación (página de error, alerta abierta...).
+        }
+    }
+
+    private static long millis(Object value) {
+        return value instanceof Number ? Math.round(((Number) value).doubleValue()) : 0;
+    }
+}
@@ -0,0 +1,224 @@
+package com.saucedemo.drivers;
+
+import com.saucedemo.config.TestSettings;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+  DriverPool: navegadores reutilizables entre escenarios.
+
+  - Problema: arrancar Chrome en cada @Before es la mayor parte del tiempo de cada escenario.
+  - Solución: un pool de WebDriver "calientes":
+    * acquire(): devuelve un navegador libre o arranca uno nuevo si aún hay capacidad.
+    * release(): limpia el estado (cookies, localStorage, sessionStorage, about:blank) y lo devuelve al pool.
+    * Expulsión (evict): el navegador se cierra si se cuelga, si falla la limpieza,
+      si alcanza el máximo de usos o si supera la edad máxima.
+  - Configuración (serenity.properties, -D o variables de entorno, ver TestSettings):
+    * saucedemo.driver.pool.size: máximo de navegadores vivos a la vez (por defecto: nº de cores).
+    * saucedemo.driver.pool.max.reuse: escenarios que puede servir un navegador antes de reciclarse.
+    * saucedemo.driver.pool.max.age.ms: edad máxima de un navegador.
+    * saucedemo.driver.pool.acquire.timeout.ms: espera máxima en acquire() con el pool lleno.
+  - Métricas: DriverPoolMetrics (tiempo de espera en acquire y tasa de acierto), se imprimen al cerrar la JVM.
+*/
+public class DriverPool {
+
+    private static final DriverPool SHARED = new DriverPool(
+            TestSettings.intValue("saucedemo.driver.pool.size", Runtime.getRuntime().availableProcessors()),
+            TestSettings.intValue("saucedemo.driver.pool.max.reuse", 25),
+            TestSettings.millisValue("saucedemo.driver.pool.max.age.ms", 10 * 60 * 1000),
+            TestSettings.millisValue("saucedemo.driver.pool.acquire.timeout.ms", 2 * 60 * 1000),
+            ChromeDriverFactory::newDriver);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::shutdown, "driver-pool-shutdown"));
+    }
+
+    private final int maxReuse;
+    private final Duration maxAge;
+    private final Duration acquireTimeout;
+    private final Supplier<WebDriver> driverFactory;
+
+    // Semáforo = plazas para navegadores vivos (libres + prestados).
+    private final Semaphore capacity;
+    // LIFO: se reutiliza primero el navegador usado más recientemente (el más "caliente").
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private final DriverPoolMetrics metrics = new DriverPoolMetrics();
+
+    public DriverPool(int size, int maxReuse, Duration maxAge, Duration acquireTimeout, Supplier<WebDriver> driverFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("saucedemo.driver.pool.size debe ser >= 1 (valor: " + size + ")");
+        }
+        this.capacity = new Semaphore(size);
+        this.maxReuse = maxReuse;
+        this.maxAge = maxAge;
+        this.acquireTimeout = acquireTimeout;
+        this.driverFactory = driverFactory;
+    }
+
+    public static DriverPool shared() {
+        return SHARED;
+    }
+
+    public DriverPoolMetrics metrics() {
+        return metrics;
+    }
+
+    /* acquire()
+       - 1º intenta reutilizar un navegador libre (hit).
+       - 2º si queda capacidad, arranca uno nuevo (miss).
+       - 3º si el pool está lleno, espera a que otro escenario libere uno (o a que se expulse y quede plaza).
+    */
+    public WebDriver acquire() {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeout.toNanos();
+        try {
+            while (true) {
+                PooledDriver pooled = idle.pollFirst();
+                if (pooled != null) {
+                    if (pooled.isOlderThan(maxAge)) {
+                        evict(pooled);
+                        continue;
+                    }
+                    leased.put(pooled.driver, pooled);
+                    metrics.recordHit(System.nanoTime() - start);
+                    return pooled.driver;
+                }
+                if (capacity.tryAcquire()) {
+                    pooled = startNewDriver();
+                    leased.put(pooled.driver, pooled);
+                    metrics.recordMiss(System.nanoTime() - start);
+                    return pooled.driver;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No hay navegadores libres en el DriverPool tras " + acquireTimeout);
+                }
+                // Espera corta: una expulsión libera plaza en el semáforo, no en la cola.
+                pooled = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+                if (pooled != null) {
+                    idle.offerFirst(pooled);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando un navegador del DriverPool", e);
+        }
+    }
+
+    /* release(driver)
+       - Llamar siempre en el @After, haya pasado o fallado el escenario.
+       - Si la limpieza falla es que el navegador se ha colgado o cerrado: se expulsa.
+    */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            // No pertenece al pool: se cierra para no dejar procesos abiertos.
+            quietlyQuit(driver);
+            return;
+        }
+        pooled.uses++;
+        if (pooled.uses >= maxReuse || pooled.isOlderThan(maxAge) || !resetState(driver)) {
+            evict(pooled);
+            return;
+        }
+        idle.offerFirst(pooled);
+    }
+
+    public void shutdown() {
+        List<PooledDriver> all = new ArrayList<>(leased.values());
+        leased.clear();
+        idle.drainTo(all);
+        all.forEach(this::evict);
+        if (metrics.acquisitions() > 0) {
+            System.out.println("[DriverPool] " + metrics);
+        }
+    }
+
+    private PooledDriver startNewDriver() {
+        try {
+            return new PooledDriver(driverFactory.get());
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void evict(PooledDriver pooled) {
+        metrics.recordEviction();
+        quietlyQuit(pooled.driver);
+        capacity.release();
+    }
+
+    /* resetState(driver)
+       - Deja el navegador como recién arrancado para el siguiente escenario.
+       - localStorage/sessionStorage solo existen en páginas http(s); en about:blank no se pueden limpiar.
+       - En Chrome, CDP borra las cookies de todos los dominios (deleteAllCookies solo borra las del dominio actual).
+       - Cualquier excepción aquí significa un navegador no reutilizable: devuelve false.
+    */
+    private boolean resetState(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.size() > 1) {
+                String first = handles.iterator().next();
+                for (String handle : handles) {
+                    if (!handle.equals(first)) {
+                        driver.switchTo().window(handle).close();
+                    }
+                }
+                driver.switchTo().window(first);
+            }
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl != null && currentUrl.startsWith("http")) {
+                ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            }
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+            // El navegador ya estaba caído: no hay nada más que cerrar.
+        }
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private final long startedAtNanos = System.nanoTime();
+        private int uses;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private boolean isOlderThan(Duration maxAge) {
+            return System.nanoTime() - startedAtNanos > maxAge.toNanos();
+        }
+    }
+}
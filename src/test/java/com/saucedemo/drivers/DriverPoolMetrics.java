@@ -0,0 +1,77 @@
+package com.saucedemo.drivers;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  DriverPoolMetrics: contadores del DriverPool.
+
+  - hit: el escenario recibió un navegador ya arrancado (reutilizado).
+  - miss: hubo que arrancar un navegador nuevo (coste completo de arranque).
+  - acquire wait: tiempo que el escenario esperó en acquire(), incluido el arranque en un miss.
+  - LongAdder/LongAccumulator: baratos con varios hilos escribiendo a la vez (ejecución paralela).
+*/
+public class DriverPoolMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    void recordHit(long waitNanos) {
+        hits.increment();
+        recordWait(waitNanos);
+    }
+
+    void recordMiss(long waitNanos) {
+        misses.increment();
+        recordWait(waitNanos);
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+    }
+
+    public long acquisitions() {
+        return hits.sum() + misses.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long total = acquisitions();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    public double averageWaitMillis() {
+        long total = acquisitions();
+        return total == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / total;
+    }
+
+    public double maxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "acquisitions=%d hits=%d misses=%d evictions=%d hitRate=%.1f%% avgWait=%.1fms maxWait=%.1fms",
+                acquisitions(), hits(), misses(), evictions(), hitRate() * 100, averageWaitMillis(), maxWaitMillis());
+    }
+}
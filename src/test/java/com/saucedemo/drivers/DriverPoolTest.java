@@ -0,0 +1,159 @@
+package com.saucedemo.drivers;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverPoolTest {
+
+    private static final Duration LONG = Duration.ofMinutes(10);
+
+    private final List<FakeDriver> started = new ArrayList<>();
+
+    @Test
+    void releasedDriverIsReusedBeforeStartingAnother() {
+        DriverPool pool = pool(2, 25, LONG, LONG);
+
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        WebDriver second = pool.acquire();
+
+        assertSame(first, second);
+        assertEquals(1, started.size());
+        assertEquals(1, pool.metrics().hits());
+        assertEquals(1, pool.metrics().misses());
+    }
+
+    @Test
+    void driverIsEvictedAfterMaxReuse() {
+        DriverPool pool = pool(1, 2, LONG, LONG);
+
+        WebDriver driver = pool.acquire();
+        pool.release(driver);
+        pool.release(pool.acquire());
+
+        assertTrue(started.get(0).quit.get());
+        assertNotSame(driver, pool.acquire());
+        assertEquals(1, pool.metrics().evictions());
+    }
+
+    @Test
+    void driverThatFailsToResetIsEvictedAndFreesItsSlot() {
+        DriverPool pool = pool(1, 25, LONG, LONG);
+
+        WebDriver driver = pool.acquire();
+        started.get(0).broken.set(true);
+        pool.release(driver);
+
+        assertTrue(started.get(0).quit.get());
+        // Con tamaño 1, el acquire solo puede seguir si la expulsión devolvió la plaza.
+        assertNotSame(driver, pool.acquire());
+    }
+
+    @Test
+    void idleDriverOlderThanMaxAgeIsNotHandedOut() throws InterruptedException {
+        DriverPool pool = pool(1, 25, Duration.ofMillis(20), LONG);
+
+        WebDriver driver = pool.acquire();
+        pool.release(driver);
+        Thread.sleep(40);
+
+        assertNotSame(driver, pool.acquire());
+        assertTrue(started.get(0).quit.get());
+    }
+
+    @Test
+    void acquireTimesOutWhenThePoolIsFull() {
+        DriverPool pool = pool(1, 25, LONG, Duration.ofMillis(50));
+        pool.acquire();
+
+        assertThrows(IllegalStateException.class, pool::acquire);
+    }
+
+    @Test
+    void failedStartDoesNotConsumeCapacity() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        DriverPool pool = new DriverPool(1, 25, LONG, Duration.ofMillis(50), () -> {
+            if (fail.getAndSet(false)) {
+                throw new WebDriverException("chrome no arranca");
+            }
+            return newDriver();
+        });
+
+        assertThrows(WebDriverException.class, pool::acquire);
+        pool.acquire();
+        assertEquals(1, started.size());
+    }
+
+    @Test
+    void foreignDriverIsQuitOnRelease() {
+        DriverPool pool = pool(1, 25, LONG, LONG);
+        FakeDriver foreign = new FakeDriver();
+
+        pool.release(foreign.driver);
+
+        assertTrue(foreign.quit.get());
+        assertEquals(0, pool.metrics().evictions());
+    }
+
+    @Test
+    void sizeBelowOneIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> pool(0, 25, LONG, LONG));
+    }
+
+    private DriverPool pool(int size, int maxReuse, Duration maxAge, Duration acquireTimeout) {
+        return new DriverPool(size, maxReuse, maxAge, acquireTimeout, this::newDriver);
+    }
+
+    private WebDriver newDriver() {
+        FakeDriver fake = new FakeDriver();
+        started.add(fake);
+        return fake.driver;
+    }
+
+    /* Navegador de mentira: solo lo que usan acquire/release; broken hace fallar la limpieza. */
+    private static final class FakeDriver {
+        private final AtomicBoolean quit = new AtomicBoolean();
+        private final AtomicBoolean broken = new AtomicBoolean();
+        private final WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "quit":
+                            quit.set(true);
+                            return null;
+                        case "getWindowHandles":
+                            if (broken.get()) {
+                                throw new WebDriverException("sesión perdida");
+                            }
+                            return Set.of("main");
+                        case "getCurrentUrl":
+                            return "about:blank";
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[] {WebDriver.Options.class}, (options, call, callArgs) -> null);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
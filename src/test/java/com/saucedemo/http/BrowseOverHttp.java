@@ -0,0 +1,264 @@
+package com.saucedemo.http;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.userinterfaces.ScriptLocators;
+import net.serenitybdd.screenplay.Ability;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.targets.Target;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/*
+  Ability BrowseOverHttp: navegar la aplicación con peticiones HTTP y HTML parseado (jsoup), sin navegador.
+
+  - Para comprobaciones que solo dependen de lo que responde el servidor
+    (ej: "locked_out_user ve un error"): milisegundos por escenario en lugar de arrancar/limpiar un Chrome.
+  - Qué sabe hacer (lo que usan nuestras Tasks, Interactions y Questions):
+    * open(url): GET de la página.
+    * enter(target, texto): escribe el valor en el campo del HTML en memoria, como haría el usuario.
+    * click(target): si es un botón de envío, envía su formulario (method/action del HTML) con los valores escritos;
+      si es un enlace, lo sigue.
+    * isVisible(target): el elemento existe y no está oculto por atributos (hidden, style display:none...).
+    * elements(target): los elementos del HTML descargado, para Questions que leen contenido (InventoryItems).
+  - Qué NO sabe hacer: ejecutar JavaScript ni aplicar hojas de estilo. La web pública de SauceDemo es una SPA
+    (el login ocurre en JavaScript), por eso este modo va contra el stand-in (ver TargetApplication.httpBaseUrl()).
+  - Cada Actor tiene su propia sesión (cookies); el HttpClient se comparte entre todos (conexiones reutilizadas).
+    * Tarro de cookies propio y no CookieManager del JDK: CookieManager reenvía las cookies con Max-Age
+      en formato RFC 2965 ($Version="1", valor entre comillas), que los servidores no entienden.
+    * Un actor navega un solo sitio: las cookies se guardan por nombre, sin dominio.
+  - Redirecciones: se siguen a mano (máximo 10) para guardar las cookies de cada respuesta intermedia,
+    como hace el navegador con el Set-Cookie de la redirección tras el login.
+  - Uso:
+      OnStage.setTheStage(new HttpCast());   // o actor.can(BrowseOverHttp.withANewSession())
+      BrowseOverHttp.as(actor).isVisible(InventoryPage.INVENTORY_CONTAINER)
+*/
+public class BrowseOverHttp implements Ability {
+
+    private static final Duration TIMEOUT = TestSettings.millisValue("saucedemo.http.timeout.ms", 10_000);
+    private static final int MAX_REDIRECTS = 10;
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private final Map<String, HttpCookie> cookies = new LinkedHashMap<>();
+    private Document page;
+
+    private BrowseOverHttp() {
+    }
+
+    public static BrowseOverHttp withANewSession() {
+        return new BrowseOverHttp();
+    }
+
+    public static BrowseOverHttp as(Actor actor) {
+        BrowseOverHttp ability = actor.abilityTo(BrowseOverHttp.class);
+        if (ability == null) {
+            throw new IllegalStateException(actor + " no tiene la Ability BrowseOverHttp");
+        }
+        return ability;
+    }
+
+    // Las Tasks, Interactions y Questions que funcionan en los dos modos preguntan esto para elegir camino.
+    public static boolean isAvailableTo(Actor actor) {
+        return actor.abilityTo(BrowseOverHttp.class) != null;
+    }
+
+    public void open(String url) {
+        send(HttpRequest.newBuilder(URI.create(url)).GET());
+    }
+
+    public void enter(Target target, String value) {
+        Element field = first(target);
+        if (!field.is("input, textarea")) {
+            throw new IllegalArgumentException(target.getName() + " no es un campo de texto: " + field.tagName());
+        }
+        if (field.is("textarea")) {
+            field.text(value);
+        } else {
+            field.val(value);
+        }
+    }
+
+    public void click(Target target) {
+        Element element = first(target);
+        Element form = element.closest("form");
+        if (form != null && isSubmitButton(element)) {
+            submit(form, element);
+        } else if (element.is("a[href]")) {
+            open(element.absUrl("href"));
+        } else {
+            throw new UnsupportedOperationException(
+                    "Sin navegador solo se pueden pulsar botones de envío y enlaces: " + target.getName());
+        }
+    }
+
+    public boolean isVisible(Target target) {
+        for (Element element : elements(target)) {
+            if (!isHidden(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Elements elements(Target target) {
+        if (page == null) {
+            return new Elements();
+        }
+        Object[] locator = ScriptLocators.argumentsFor(target);
+        String selector = String.valueOf(locator[1]);
+        return "xpath".equals(locator[0]) ? page.selectXpath(selector) : page.select(selector);
+    }
+
+    public String currentUrl() {
+        return page == null ? "about:blank" : page.location();
+    }
+
+    /* submit(form, button)
+       - Mismos datos que enviaría el navegador: campos con name del formulario (con lo escrito),
+         checkboxes/radios marcados y el name=value del botón pulsado (no los de otros botones).
+    */
+    private void submit(Element form, Element button) {
+        StringJoiner body = new StringJoiner("&");
+        for (Element field : form.select("input[name], textarea[name], select[name]")) {
+            String type = field.attr("type").toLowerCase(Locale.ROOT);
+            boolean isButton = type.equals("submit") || type.equals("button") || type.equals("image") || type.equals("reset");
+            if (field.hasAttr("disabled") || (isButton && field != button)
+                    || ((type.equals("checkbox") || type.equals("radio")) && !field.hasAttr("checked"))) {
+                continue;
+            }
+            String value = field.is("select") ? selectedValue(field) : field.is("textarea") ? field.text() : field.val();
+            body.add(encode(field.attr("name")) + "=" + encode(value));
+        }
+        if (button.is("button[name]")) {
+            body.add(encode(button.attr("name")) + "=" + encode(button.val()));
+        }
+        String action = form.hasAttr("action") ? form.absUrl("action") : page.location();
+        if ("post".equalsIgnoreCase(form.attr("method"))) {
+            send(HttpRequest.newBuilder(URI.create(action))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+        } else {
+            URI uri = URI.create(action);
+            open(uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath() + "?" + body);
+        }
+    }
+
+    private void send(HttpRequest.Builder request) {
+        HttpRequest current = request.timeout(TIMEOUT).build();
+        try {
+            for (int redirects = 0; ; redirects++) {
+                HttpRequest.Builder withCookies = HttpRequest.newBuilder(current.uri())
+                        .method(current.method(), current.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody()))
+                        .timeout(TIMEOUT);
+                current.headers().map().forEach((name, values) -> values.forEach(value -> withCookies.header(name, value)));
+                String cookieHeader = cookieHeaderFor(current.uri());
+                if (!cookieHeader.isEmpty()) {
+                    withCookies.header("Cookie", cookieHeader);
+                }
+                HttpResponse<String> response = CLIENT.send(withCookies.build(), HttpResponse.BodyHandlers.ofString());
+                response.headers().allValues("Set-Cookie").forEach(this::storeCookies);
+                String location = response.headers().firstValue("Location").orElse(null);
+                if (response.statusCode() / 100 != 3 || location == null) {
+                    page = Jsoup.parse(response.body(), current.uri().toString());
+                    return;
+                }
+                if (redirects == MAX_REDIRECTS) {
+                    throw new IllegalStateException("Demasiadas redirecciones desde " + current.uri());
+                }
+                // 301/302/303 pasan a GET, como en el navegador.
+                current = HttpRequest.newBuilder(current.uri().resolve(location)).GET().timeout(TIMEOUT).build();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error HTTP en " + current.uri() + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando " + current.uri(), e);
+        }
+    }
+
+    private void storeCookies(String setCookie) {
+        for (HttpCookie cookie : HttpCookie.parse(setCookie)) {
+            if (cookie.hasExpired()) {
+                cookies.remove(cookie.getName());
+            } else {
+                cookies.put(cookie.getName(), cookie);
+            }
+        }
+    }
+
+    private String cookieHeaderFor(URI uri) {
+        StringJoiner header = new StringJoiner("; ");
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        cookies.values().removeIf(HttpCookie::hasExpired);
+        for (HttpCookie cookie : cookies.values()) {
+            if (cookie.getPath() == null || path.startsWith(cookie.getPath())) {
+                header.add(cookie.getName() + "=" + cookie.getValue());
+            }
+        }
+        return header.toString();
+    }
+
+    private Element first(Target target) {
+        Elements found = elements(target);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No se encuentra " + target.getName() + " en " + currentUrl());
+        }
+        return found.first();
+    }
+
+    private static boolean isSubmitButton(Element element) {
+        String type = element.attr("type").toLowerCase(Locale.ROOT);
+        return element.is("button") ? type.isEmpty() || type.equals("submit")
+                : element.is("input") && (type.equals("submit") || type.equals("image"));
+    }
+
+    // Sin hojas de estilo: solo cuenta lo que el propio HTML oculta (en el elemento o en un ancestro).
+    private static boolean isHidden(Element element) {
+        if (element.is("input[type=hidden]")) {
+            return true;
+        }
+        for (Element current = element; current != null; current = current.parent()) {
+            String style = current.attr("style").replace(" ", "").toLowerCase(Locale.ROOT);
+            if (current.hasAttr("hidden") || style.contains("display:none") || style.contains("visibility:hidden")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String selectedValue(Element select) {
+        Element option = select.selectFirst("option[selected]");
+        if (option == null) {
+            option = select.selectFirst("option");
+        }
+        return option == null ? "" : option.hasAttr("value") ? option.attr("value") : option.text();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "browse over HTTP";
+    }
+}
@@ -0,0 +1,154 @@
+package com.saucedemo.impact;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+  ChangeSet: qué ha cambiado desde un commit, fichero a fichero y con las líneas afectadas del lado antiguo.
+
+  - git diff --unified=0 <commit>: cambios del árbol de trabajo (con y sin stage) respecto al commit;
+    sin contexto, cada hunk "@@ -a,b +c,d @@" da exactamente las líneas antiguas tocadas.
+  - --no-renames: un renombrado llega como borrado + alta, ambos cambios de fichero completo.
+  - Ficheros binarios: no llevan líneas ---/+++ ni hunks, solo "Binary files a/X and b/X differ";
+    la ruta sale de la cabecera "diff --git a/X b/X" (con --no-renames ambos lados son la misma ruta)
+    y cuentan como cambio de fichero completo.
+  - Ficheros nuevos sin versionar (git ls-files --others): también cambios de fichero completo.
+  - Las líneas son las del commit, las mismas con las que se grabó el índice (Targets "#línea").
+*/
+final class ChangeSet {
+
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+\\d+(?:,\\d+)? @@");
+
+    private final Map<String, FileChange> files;
+
+    private ChangeSet(Map<String, FileChange> files) {
+        this.files = files;
+    }
+
+    static Optional<ChangeSet> since(String commit) {
+        Optional<String> diff = Git.run("diff", "--unified=0", "--no-color", "--no-renames", "--no-ext-diff", commit, "--");
+        Optional<String> untracked = Git.run("ls-files", "--others", "--exclude-standard");
+        if (diff.isEmpty() || untracked.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, FileChange> files = parse(diff.get());
+        untracked.get().lines().filter(path -> !path.isBlank())
+                .forEach(path -> files.put(path, FileChange.wholeFile()));
+        return Optional.of(new ChangeSet(files));
+    }
+
+    static Map<String, FileChange> parse(String diff) {
+        Map<String, FileChange> files = new LinkedHashMap<>();
+        String headerPath = null;
+        String oldPath = null;
+        FileChange current = null;
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                headerPath = headerPath(line);
+                oldPath = null;
+                current = null;
+            } else if (line.startsWith("--- ")) {
+                oldPath = line.equals("--- /dev/null") ? null : line.substring("--- a/".length());
+            } else if (line.startsWith("+++ ")) {
+                // Alta o baja: el fichero entero cuenta como cambiado.
+                String newPath = line.equals("+++ /dev/null") ? null : line.substring("+++ b/".length());
+                boolean whole = oldPath == null || newPath == null;
+                current = whole ? FileChange.wholeFile() : new FileChange(false);
+                files.put(oldPath != null ? oldPath : newPath, current);
+            } else if (current != null && !current.whole) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                    current.hunks.add(new Hunk(Integer.parseInt(hunk.group(1)), count));
+                }
+            } else if (line.startsWith("Binary files ") && headerPath != null) {
+                files.put(headerPath, FileChange.wholeFile());
+            }
+        }
+        return files;
+    }
+
+    /* "diff --git a/<ruta> b/<ruta>": sin renombrados las dos rutas son iguales, así que la ruta ocupa
+       la mitad de lo que queda tras "a/" menos el separador " b/" (vale también con espacios en la ruta).
+       Las rutas entre comillas (caracteres especiales) no se reconocen. */
+    private static String headerPath(String line) {
+        String paths = line.substring("diff --git ".length());
+        if (!paths.startsWith("a/")) {
+            return null;
+        }
+        String rest = paths.substring("a/".length());
+        int length = (rest.length() - " b/".length()) / 2;
+        if (length <= 0 || !rest.startsWith(" b/", length)) {
+            return null;
+        }
+        return rest.substring(0, length);
+    }
+
+    Map<String, FileChange> files() {
+        return files;
+    }
+
+    boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+    static final class FileChange {
+
+        private final boolean whole;
+        private final List<Hunk> hunks = new ArrayList<>();
+
+        private FileChange(boolean whole) {
+            this.whole = whole;
+        }
+
+        private static FileChange wholeFile() {
+            return new FileChange(true);
+        }
+
+        boolean isWholeFile() {
+            return whole;
+        }
+
+        // ¿Algún cambio cae dentro de las líneas [from, to] del commit?
+        boolean touches(int from, int to) {
+            return whole || hunks.stream().anyMatch(hunk -> hunk.touches(from, to));
+        }
+
+        // ¿Hay cambios fuera de todos los rangos dados? (líneas que no pertenecen a ningún Target conocido)
+        boolean touchesOutside(List<int[]> ranges) {
+            return whole || hunks.stream().anyMatch(hunk -> ranges.stream().noneMatch(hunk::within));
+        }
+    }
+
+    /* Hunk del lado antiguo:
+       - count > 0: se modificaron o borraron las líneas [start, start + count - 1].
+       - count = 0: solo se insertaron líneas DESPUÉS de la línea start; toca un rango
+         si la inserción queda entre dos de sus líneas. */
+    private static final class Hunk {
+
+        private final int start;
+        private final int count;
+
+        private Hunk(int start, int count) {
+            this.start = start;
+            this.count = count;
+        }
+
+        private boolean touches(int from, int to) {
+            return count == 0
+                    ? from <= start && start < to
+                    : start <= to && start + count - 1 >= from;
+        }
+
+        private boolean within(int[] range) {
+            return count == 0
+                    ? range[0] <= start && start < range[1]
+                    : range[0] <= start && start + count - 1 <= range[1];
+        }
+    }
+}
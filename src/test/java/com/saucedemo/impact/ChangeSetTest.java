@@ -0,0 +1,90 @@
+package com.saucedemo.impact;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeSetTest {
+
+    // Salida real de git diff --unified=0 --no-color --no-renames --no-ext-diff HEAD --
+    private static final String DIFF = String.join("\n",
+            "diff --git a/added.bin b/added.bin",
+            "new file mode 100644",
+            "index 0000000..f9e371f",
+            "Binary files /dev/null and b/added.bin differ",
+            "diff --git a/gone.bin b/gone.bin",
+            "deleted file mode 100644",
+            "index e7be1ea..0000000",
+            "Binary files a/gone.bin and /dev/null differ",
+            "diff --git a/src/test/resources/img/logo.png b/src/test/resources/img/logo.png",
+            "index f584f40..6bf43ff 100644",
+            "Binary files a/src/test/resources/img/logo.png and b/src/test/resources/img/logo.png differ",
+            "diff --git a/t.txt b/t.txt",
+            "index 422c2b7..0f7bc76 100644",
+            "--- a/t.txt",
+            "+++ b/t.txt",
+            "@@ -2 +2 @@ a",
+            "-b",
+            "+c",
+            "@@ -10,0 +11,2 @@ x",
+            "+y",
+            "+z",
+            "");
+
+    @Test
+    void binaryFilesCountAsWholeFileChanges() {
+        Map<String, ChangeSet.FileChange> files = ChangeSet.parse(DIFF);
+
+        assertEquals(List.of("added.bin", "gone.bin", "src/test/resources/img/logo.png", "t.txt"), List.copyOf(files.keySet()));
+        assertTrue(files.get("added.bin").isWholeFile());
+        assertTrue(files.get("gone.bin").isWholeFile());
+        assertTrue(files.get("src/test/resources/img/logo.png").isWholeFile());
+    }
+
+    @Test
+    void textHunksTouchOnlyTheirOldLines() {
+        ChangeSet.FileChange text = ChangeSet.parse(DIFF).get("t.txt");
+
+        assertFalse(text.isWholeFile());
+        assertTrue(text.touches(2, 2));
+        assertFalse(text.touches(3, 9));
+        // Inserción tras la línea 10: toca un rango que la rodea, no uno que termina en ella.
+        assertTrue(text.touches(10, 11));
+        assertFalse(text.touches(5, 10));
+    }
+
+    @Test
+    void pathsWithSpacesAreReadFromTheHeader() {
+        String diff = String.join("\n",
+                "diff --git a/docs/a b/c.png b/docs/a b/c.png",
+                "index 1111111..2222222 100644",
+                "Binary files a/docs/a b/c.png and b/docs/a b/c.png differ");
+
+        assertEquals(List.of("docs/a b/c.png"), List.copyOf(ChangeSet.parse(diff).keySet()));
+    }
+
+    @Test
+    void addedAndDeletedTextFilesAreWholeFileChanges() {
+        String diff = String.join("\n",
+                "diff --git a/new.feature b/new.feature",
+                "new file mode 100644",
+                "--- /dev/null",
+                "+++ b/new.feature",
+                "@@ -0,0 +1,3 @@",
+                "diff --git a/old.feature b/old.feature",
+                "deleted file mode 100644",
+                "--- a/old.feature",
+                "+++ /dev/null",
+                "@@ -1,3 +0,0 @@");
+
+        Map<String, ChangeSet.FileChange> files = ChangeSet.parse(diff);
+
+        assertTrue(files.get("new.feature").isWholeFile());
+        assertTrue(files.get("old.feature").isWholeFile());
+    }
+}
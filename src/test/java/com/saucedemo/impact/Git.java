@@ -0,0 +1,51 @@
+package com.saucedemo.impact;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/*
+  Git: las pocas llamadas a git que necesita el análisis de impacto (HEAD, estado, diff, show).
+
+  - Sin git instalado o fuera de un repositorio devuelve Optional.empty(): quien llama decide
+    (sin datos de git no se selecciona nada y se ejecuta la suite completa).
+*/
+final class Git {
+
+    private Git() {
+    }
+
+    static Optional<String> run(String... arguments) {
+        List<String> command = new ArrayList<>(arguments.length + 1);
+        command.add("git");
+        command.addAll(List.of(arguments));
+        try {
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            String output;
+            try (InputStream stdout = process.getInputStream()) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                stdout.transferTo(buffer);
+                output = buffer.toString(StandardCharsets.UTF_8);
+            }
+            return process.waitFor() == 0 ? Optional.of(output) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    static Optional<String> head() {
+        return run("rev-parse", "HEAD").map(String::trim);
+    }
+
+    // Cambios sin commit en ficheros versionados o nuevos (target/ queda fuera por .gitignore).
+    static boolean isDirty() {
+        return run("status", "--porcelain").map(status -> !status.isBlank()).orElse(true);
+    }
+}
@@ -0,0 +1,120 @@
+package com.saucedemo.impact;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+  ImpactIndex: escenario -> código y localizadores que ejecutó, tal como quedó en la última ejecución completa.
+
+  - Formato (JSON compacto, target/impact/impact-index.json por defecto):
+      {"version":1,"commit":"<HEAD>","dirty":false,
+       "dependencies":["src/test/java/com/saucedemo/tasks/Login.java",
+                       "src/test/java/com/saucedemo/userinterfaces/LoginPage.java#31", ...],
+       "scenarios":{"src/test/resources/features/login.feature:12":[0,1,...], ...},
+       "incomplete":["src/test/resources/features/inventory.feature:9"]}
+    * Cada dependencia se escribe una vez y los escenarios la referencian por posición.
+    * "#línea": un Target, con la línea donde se declaró en el commit indicado.
+    * "incomplete": escenarios que no pasaron; sus dependencias pueden estar a medias
+      (se cortaron en el fallo), así que la selección los incluye siempre.
+    * "dirty": había cambios sin commit al grabar; las líneas pueden no coincidir con el commit.
+*/
+final class ImpactIndex {
+
+    static final int VERSION = 1;
+
+    private int version = VERSION;
+    private String commit;
+    private boolean dirty;
+    private List<String> dependencies = new ArrayList<>();
+    private Map<String, int[]> scenarios = new TreeMap<>();
+    private List<String> incomplete = new ArrayList<>();
+
+    static ImpactIndex of(String commit, boolean dirty, Map<String, Set<String>> touched, Set<String> incomplete) {
+        ImpactIndex index = new ImpactIndex();
+        index.commit = commit;
+        index.dirty = dirty;
+        Map<String, Integer> positions = new HashMap<>();
+        new TreeSet<>(flatten(touched)).forEach(dependency -> {
+            positions.put(dependency, index.dependencies.size());
+            index.dependencies.add(dependency);
+        });
+        touched.forEach((scenario, dependencies) -> index.scenarios.put(scenario,
+                dependencies.stream().mapToInt(positions::get).sorted().toArray()));
+        index.incomplete = new ArrayList<>(new TreeSet<>(incomplete));
+        return index;
+    }
+
+    private static Set<String> flatten(Map<String, Set<String>> touched) {
+        Set<String> all = new TreeSet<>();
+        touched.values().forEach(all::addAll);
+        return all;
+    }
+
+    static Optional<ImpactIndex> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            ImpactIndex index = new Gson().fromJson(Files.readString(file, StandardCharsets.UTF_8), ImpactIndex.class);
+            return index != null && index.version == VERSION && index.commit != null
+                    ? Optional.of(index) : Optional.empty();
+        } catch (IOException | JsonParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    void write(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Gson().toJson(this), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+    }
+
+    String commit() {
+        return commit;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    Set<String> scenarioIds() {
+        return scenarios.keySet();
+    }
+
+    List<String> incomplete() {
+        return incomplete;
+    }
+
+    int dependencyCount() {
+        return dependencies.size();
+    }
+
+    // Dependencia -> escenarios que la usan (el índice invertido que necesita la selección).
+    Map<String, Set<String>> scenariosByDependency() {
+        Map<String, Set<String>> inverted = new LinkedHashMap<>();
+        scenarios.forEach((scenario, positions) -> {
+            for (int position : positions) {
+                inverted.computeIfAbsent(dependencies.get(position), key -> new TreeSet<>()).add(scenario);
+            }
+        });
+        return inverted;
+    }
+}
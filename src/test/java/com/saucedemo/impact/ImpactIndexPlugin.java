@@ -0,0 +1,101 @@
+package com.saucedemo.impact;
+
+import com.saucedemo.runner.ScenarioId;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  ImpactIndexPlugin: plugin de Cucumber que graba el índice de impacto (ver ImpactIndex) en cada ejecución completa.
+
+  - Por escenario (mismo hilo que lo ejecuta, ver ImpactRecorder):
+    * TestCaseStarted   -> empieza a apuntar dependencias.
+    * TestStepStarted   -> apunta la clase del step definition o hook que se va a ejecutar.
+    * TestCaseFinished  -> guarda lo apuntado bajo su ScenarioId ("<ruta del .feature>:<línea>").
+  - TestRunFinished: escribe el índice solo si la ejecución fue completa (sin filtros cucumber.*, selección
+    por impacto ni reparto entre forks); una ejecución parcial no sabe nada de los escenarios que no ejecutó.
+  - Se registra en RunCucumberTest: plugin = { ..., "com.saucedemo.impact.ImpactIndexPlugin" }.
+*/
+public class ImpactIndexPlugin implements ConcurrentEventListener {
+
+    private final Map<String, Set<String>> touched = new ConcurrentHashMap<>();
+    private final Set<String> incomplete = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!ImpactRecorder.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> ImpactRecorder.startScenario());
+        publisher.registerHandlerFor(TestStepStarted.class, this::stepStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void stepStarted(TestStepStarted event) {
+        String codeLocation = null;
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            codeLocation = ((PickleStepTestStep) event.getTestStep()).getCodeLocation();
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            codeLocation = event.getTestStep().getCodeLocation();
+        }
+        if (codeLocation != null) {
+            ImpactRecorder.touchedCode(declaringClass(codeLocation));
+        }
+    }
+
+    // "com.saucedemo.stepdefinitions.LoginStepDefinitions.enterCredentials(java.lang.String)" -> clase
+    static String declaringClass(String codeLocation) {
+        int parameters = codeLocation.indexOf('(');
+        String method = parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+        int dot = method.lastIndexOf('.');
+        return dot < 0 ? method : method.substring(0, dot);
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        String scenario = ScenarioId.of(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine());
+        Set<String> dependencies = ImpactRecorder.finishScenario();
+        touched.merge(scenario, dependencies, (previous, current) -> {
+            previous.addAll(current);
+            return previous;
+        });
+        // Un escenario que pasa al reintentarlo (ScenarioRetries) queda completo.
+        if (event.getResult().getStatus() == Status.PASSED) {
+            incomplete.remove(scenario);
+        } else {
+            incomplete.add(scenario);
+        }
+    }
+
+    private void export() {
+        if (touched.isEmpty()) {
+            return;
+        }
+        if (!ImpactSelection.isFullRun()) {
+            System.out.println("[Impact] ejecución parcial: no se actualiza el índice de impacto");
+            return;
+        }
+        String commit = Git.head().orElse(null);
+        if (commit == null) {
+            System.out.println("[Impact] sin repositorio git: no se graba el índice de impacto");
+            return;
+        }
+        Path file = ImpactSelection.indexFile();
+        ImpactIndex index = ImpactIndex.of(commit, Git.isDirty(), touched, incomplete);
+        index.write(file);
+        System.out.printf("[Impact] índice: %d escenarios, %d dependencias, commit %.10s%s (%s)%n",
+                index.scenarioIds().size(), index.dependencyCount(), commit,
+                index.isDirty() ? " + cambios sin commit" : "", file);
+    }
+}
@@ -0,0 +1,101 @@
+package com.saucedemo.impact;
+
+import com.google.common.eventbus.Subscribe;
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.userinterfaces.CachedTarget;
+import net.serenitybdd.core.eventbus.Broadcaster;
+import net.serenitybdd.screenplay.events.ActorAsksQuestion;
+import net.serenitybdd.screenplay.events.ActorPerforms;
+import net.serenitybdd.screenplay.targets.Target;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+  ImpactRecorder: qué código y qué localizadores toca cada escenario mientras se ejecuta.
+
+  - Dependencias que se apuntan (todas como rutas de fichero, para cruzarlas con un git diff):
+    * Step definitions y hooks ejecutados: los apunta ImpactIndexPlugin con los eventos de Cucumber.
+    * Tasks, Interactions y Questions del proyecto: eventos de Screenplay (ActorPerforms, ActorAsksQuestion).
+    * Targets usados: fichero y línea donde se declararon (ver Locators); los avisan CachedTarget y ScriptLocators.
+  - Estado por hilo: con ejecución paralela cada escenario apunta en su propio conjunto.
+  - Fuera de un escenario (benchmarks, modo carga) no hay conjunto activo y touched() no hace nada.
+  - saucedemo.impact.record=false lo desactiva.
+*/
+public final class ImpactRecorder {
+
+    static final String SOURCE_ROOT = "src/test/java/";
+    private static final String PROJECT_PACKAGE = "com.saucedemo.";
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.impact.record", true);
+    private static final ImpactRecorder SUBSCRIBER = new ImpactRecorder();
+    private static final ThreadLocal<Set<String>> CURRENT = new ThreadLocal<>();
+
+    private ImpactRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void startScenario() {
+        CURRENT.set(new TreeSet<>());
+    }
+
+    static Set<String> finishScenario() {
+        Set<String> touched = CURRENT.get();
+        CURRENT.remove();
+        return touched == null ? new TreeSet<>() : touched;
+    }
+
+    // Desde el hook @Before: Serenity vacía los suscriptores del bus de eventos entre escenarios.
+    public static void subscribe() {
+        if (ENABLED && CURRENT.get() != null) {
+            Broadcaster.getEventBus().register(SUBSCRIBER);
+        }
+    }
+
+    public static void touched(Target target) {
+        Set<String> touched = CURRENT.get();
+        if (touched != null && target instanceof CachedTarget) {
+            String declaredAt = ((CachedTarget) target).declaredAt();
+            if (declaredAt != null) {
+                touched.add(declaredAt);
+            }
+        }
+    }
+
+    static void touchedCode(String className) {
+        Set<String> touched = CURRENT.get();
+        if (touched != null && className.startsWith(PROJECT_PACKAGE)) {
+            touched.add(sourceFileOf(className));
+        }
+    }
+
+    @Subscribe
+    public void performs(ActorPerforms event) {
+        touchedCode(projectClassOf(event.getPerformable()));
+    }
+
+    @Subscribe
+    public void asksQuestion(ActorAsksQuestion event) {
+        touchedCode(projectClassOf(event.getQuestion()));
+    }
+
+    /* Clase del proyecto detrás de un objeto de Screenplay:
+       - Serenity instrumenta las Tasks con subclases de ByteBuddy: se sube a la clase original.
+       - Las clases anidadas y anónimas se guardan en el fichero de su clase de primer nivel (ver sourceFileOf). */
+    private static String projectClassOf(Object performable) {
+        Class<?> type = performable.getClass();
+        while (type.getName().contains("$ByteBuddy$") && type.getSuperclass() != null) {
+            type = type.getSuperclass();
+        }
+        return type.getName();
+    }
+
+    // com.saucedemo.tasks.Login$Builder -> src/test/java/com/saucedemo/tasks/Login.java
+    public static String sourceFileOf(String className) {
+        int nested = className.indexOf('$');
+        String topLevel = nested < 0 ? className : className.substring(0, nested);
+        return SOURCE_ROOT + topLevel.replace('.', '/') + ".java";
+    }
+}
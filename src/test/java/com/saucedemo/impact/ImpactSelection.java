@@ -0,0 +1,212 @@
+package com.saucedemo.impact;
+
+import com.saucedemo.config.TestSettings;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/*
+  ImpactSelection: ejecuta solo los escenarios afectados por los cambios desde que se grabó el índice de impacto.
+
+  - Se activa con saucedemo.impact.select=true (perfil Maven "impact"); por defecto se ejecuta todo.
+  - Lo aplica ParallelCucumberWithSerenity ANTES de que Cucumber lea sus opciones: deja la selección
+    en cucumber.features ("login.feature:12,inventory.feature:9"), igual que si se pasara por línea de comandos.
+  - Reglas, de fichero cambiado a escenarios (git diff contra saucedemo.impact.since, por defecto el commit del índice):
+    * .feature cambiado o nuevo                 -> todo ese .feature (sus líneas ya no coinciden con el índice).
+    * .feature borrado o renombrado (ruta vieja) -> ninguno: no existe en el árbol de trabajo y Cucumber
+                                                   fallaría al buscarlo (la ruta nueva entra como .feature nuevo).
+    * Clase Java usada por escenarios           -> esos escenarios (Tasks, Questions, steps, hooks...).
+    * Líneas de la declaración de un Target     -> los escenarios que usaron ese Target; un cambio fuera
+                                                   de toda declaración cuenta como cambio del fichero entero.
+    * Clase Java que ningún escenario usó        -> TODOS (infraestructura: drivers, config, runner, clases nuevas).
+    * pom.xml, serenity.*, otros recursos de test -> TODOS.
+    * Resto (README, benchmarks/, docs)          -> ninguno.
+    * Escenarios que no pasaron al grabar        -> siempre (sus dependencias pueden estar incompletas).
+  - Sin índice, índice de otra versión o sin git: no selecciona nada y se ejecuta la suite completa.
+*/
+public final class ImpactSelection {
+
+    static final String FEATURES_PROPERTY = "cucumber.features";
+    private static final String NAME_FILTER_PROPERTY = "cucumber.filter.name";
+    private static final String SOURCE_ROOT = "src/test/";
+    private static final String FEATURE_ROOT = "src/test/resources/features/";
+    // Una expresión que no casa con ningún nombre: ejecución vacía (BUILD SUCCESS) cuando nada está afectado.
+    static final String MATCHES_NOTHING = "(?!)";
+
+    private static volatile boolean decided;
+    private static volatile boolean applied;
+
+    private ImpactSelection() {
+    }
+
+    static Path indexFile() {
+        return Paths.get(TestSettings.stringValue("saucedemo.impact.index", "target/impact/impact-index.json"));
+    }
+
+    /* Sin filtros de Cucumber (ni por propiedad de sistema ni por variable de entorno), sin selección por impacto
+       y sin reparto entre forks: cada fork ejecuta solo su parte y escribiría un índice sin los escenarios de los demás. */
+    static boolean isFullRun() {
+        return !applied && TestSettings.intValue("saucedemo.fork.count", 1) <= 1 && List.of(FEATURES_PROPERTY, "cucumber.filter.tags", NAME_FILTER_PROPERTY).stream()
+                .allMatch(key -> isBlank(System.getProperty(key))
+                        && isBlank(System.getenv(key.toUpperCase().replace('.', '_'))));
+    }
+
+    /* Para el constructor del runner: super(ImpactSelection.apply(clazz)).
+       Devuelve la misma clase; el efecto es dejar la selección en las propiedades de Cucumber. */
+    public static synchronized <T> T apply(T runnerClass) {
+        // JUnit puede construir el runner más de una vez en la misma JVM: la selección se calcula una vez.
+        if (decided || !TestSettings.booleanValue("saucedemo.impact.select", false)) {
+            return runnerClass;
+        }
+        decided = true;
+        if (!isBlank(System.getProperty(FEATURES_PROPERTY))) {
+            System.out.println("[Impact] cucumber.features ya indicado: se respeta y no se selecciona por impacto");
+            return runnerClass;
+        }
+        Optional<ImpactIndex> index = ImpactIndex.read(indexFile());
+        if (index.isEmpty()) {
+            System.out.println("[Impact] sin índice de impacto en " + indexFile() + ": se ejecuta la suite completa");
+            return runnerClass;
+        }
+        String since = TestSettings.stringValue("saucedemo.impact.since", index.get().commit());
+        Optional<ChangeSet> changes = ChangeSet.since(since);
+        if (changes.isEmpty()) {
+            System.out.println("[Impact] git diff contra " + since + " no disponible: se ejecuta la suite completa");
+            return runnerClass;
+        }
+        Selection selection = select(index.get(), changes.get());
+        selection.print(since, index.get().scenarioIds().size());
+        if (!selection.all) {
+            applied = true;
+            if (selection.scenarios.isEmpty()) {
+                System.setProperty(NAME_FILTER_PROPERTY, MATCHES_NOTHING);
+            } else {
+                System.setProperty(FEATURES_PROPERTY, String.join(",", selection.scenarios));
+            }
+        }
+        return runnerClass;
+    }
+
+    // Nueva ejecución en la misma JVM (SuiteDaemon): la selección se vuelve a calcular.
+    public static synchronized void reset() {
+        decided = false;
+        applied = false;
+    }
+
+    static Selection select(ImpactIndex index, ChangeSet changes) {
+        Selection selection = new Selection();
+        Map<String, Set<String>> byDependency = index.scenariosByDependency();
+        Map<String, Map<Integer, Set<String>>> targetsByFile = targetsByFile(byDependency);
+
+        for (Map.Entry<String, ChangeSet.FileChange> entry : changes.files().entrySet()) {
+            String path = entry.getKey();
+            ChangeSet.FileChange change = entry.getValue();
+            if (path.startsWith(FEATURE_ROOT) && path.endsWith(".feature")) {
+                selection.add(path, path);
+            } else if (path.startsWith(SOURCE_ROOT) && path.endsWith(".java")) {
+                selectForJava(index, path, change, byDependency, targetsByFile.get(path), selection);
+            } else if (path.equals("pom.xml") || path.startsWith("serenity.") || path.startsWith(SOURCE_ROOT)) {
+                selection.everything(path);
+            }
+        }
+        if (!selection.all && !selection.scenarios.isEmpty()) {
+            index.incomplete().forEach(scenario -> selection.add(scenario, "sin pasar al grabar el índice"));
+        }
+        return selection;
+    }
+
+    private static void selectForJava(ImpactIndex index, String path, ChangeSet.FileChange change,
+                                      Map<String, Set<String>> byDependency, Map<Integer, Set<String>> targets,
+                                      Selection selection) {
+        Set<String> users = new TreeSet<>(byDependency.getOrDefault(path, Set.of()));
+        if (targets != null) {
+            Map<Integer, int[]> declarations = index.isDirty() || change.isWholeFile()
+                    ? Map.of() : TargetDeclarations.in(index.commit(), path, targets.keySet());
+            if (declarations.size() == targets.size()
+                    && !change.touchesOutside(new ArrayList<>(declarations.values()))) {
+                // Solo han cambiado declaraciones de Targets: los escenarios de esos Targets.
+                declarations.forEach((line, range) -> {
+                    if (change.touches(range[0], range[1])) {
+                        targets.get(line).forEach(scenario -> selection.add(scenario, path + "#" + line));
+                    }
+                });
+                return;
+            }
+            targets.values().forEach(users::addAll);
+        }
+        if (users.isEmpty()) {
+            selection.everything(path);
+        } else {
+            users.forEach(scenario -> selection.add(scenario, path));
+        }
+    }
+
+    // "…/LoginPage.java#31" -> {LoginPage.java: {31: escenarios}}
+    private static Map<String, Map<Integer, Set<String>>> targetsByFile(Map<String, Set<String>> byDependency) {
+        Map<String, Map<Integer, Set<String>>> targets = new LinkedHashMap<>();
+        byDependency.forEach((dependency, scenarios) -> {
+            int hash = dependency.lastIndexOf('#');
+            if (hash > 0) {
+                targets.computeIfAbsent(dependency.substring(0, hash), key -> new LinkedHashMap<>())
+                        .put(Integer.parseInt(dependency.substring(hash + 1)), scenarios);
+            }
+        });
+        return targets;
+    }
+
+    // Rutas relativas a la raíz del proyecto, como las del diff y las de ScenarioId.
+    private static boolean inWorkingTree(String path) {
+        return Files.isRegularFile(Paths.get(path));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    static final class Selection {
+
+        private final Set<String> scenarios = new TreeSet<>();
+        private final Map<String, Set<String>> reasons = new LinkedHashMap<>();
+        private boolean all;
+
+        // Un .feature que ya no está en el árbol de trabajo (borrado, o ruta vieja de un renombrado) no se pasa
+        // a cucumber.features: Cucumber fallaría al buscarlo. Vale para el .feature cambiado y para los
+        // escenarios del índice que lo usaban.
+        private void add(String scenario, String reason) {
+            int line = scenario.lastIndexOf(':');
+            String feature = line < 0 ? scenario : scenario.substring(0, line);
+            if (!inWorkingTree(feature)) {
+                skip(feature + " (ya no existe)");
+                return;
+            }
+            scenarios.add(scenario);
+            reasons.computeIfAbsent(reason, key -> new TreeSet<>()).add(scenario);
+        }
+
+        private void skip(String reason) {
+            reasons.put(reason, Set.of("ninguno"));
+        }
+
+        private void everything(String reason) {
+            all = true;
+            reasons.put(reason, Set.of("todos"));
+        }
+
+        private void print(String since, int indexed) {
+            String summary = all ? "todos los escenarios"
+                    : scenarios.size() + " de " + indexed + " escenarios indexados";
+            System.out.printf("[Impact] cambios desde %.10s: %s%n", since, summary);
+            reasons.forEach((reason, selected) -> System.out.println("  " + reason + " -> "
+                    + selected.stream().collect(Collectors.joining(", "))));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.saucedemo.impact;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+  TargetDeclarations: qué líneas ocupa cada declaración de Target en el commit del índice.
+
+  - El índice guarda solo la línea donde empieza (la del frame que llamó a Locators.target);
+    la declaración puede seguir en varias líneas hasta el ';' que la cierra.
+  - El contenido se lee del propio commit (git show <commit>:<ruta>), no del árbol de trabajo:
+    las líneas del diff también son las del commit.
+  - Si algo no cuadra (fichero ilegible, línea fuera de rango) se devuelve un mapa incompleto
+    y ImpactSelection trata el cambio como del fichero entero.
+*/
+final class TargetDeclarations {
+
+    private TargetDeclarations() {
+    }
+
+    static Map<Integer, int[]> in(String commit, String path, Set<Integer> startLines) {
+        Map<Integer, int[]> declarations = new HashMap<>();
+        Git.run("show", commit + ":" + path).ifPresent(source -> {
+            String[] lines = source.split("\n", -1);
+            for (int start : startLines) {
+                for (int line = start; start >= 1 && line <= lines.length; line++) {
+                    if (lines[line - 1].stripTrailing().endsWith(";")) {
+                        declarations.put(start, new int[] {start, line});
+                        break;
+                    }
+                }
+            }
+        });
+        return declarations;
+    }
+}
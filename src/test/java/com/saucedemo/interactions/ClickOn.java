@@ -0,0 +1,39 @@
+package com.saucedemo.interactions;
+
+import com.saucedemo.http.BrowseOverHttp;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.actions.Click;
+import net.serenitybdd.screenplay.targets.Target;
+
+/*
+  ClickOn: pulsar un botón o enlace, con navegador o sin él.
+
+  - Con BrowseTheWeb delega en Click de Serenity.
+  - Con BrowseOverHttp envía el formulario del botón o sigue el enlace (ver BrowseOverHttp).
+  - Como EnterText, llama a performAs del delegado: un solo paso en el informe, sin nivel extra.
+  - Uso:
+      actor.attemptsTo(ClickOn.the(LOGIN_BUTTON));
+*/
+public class ClickOn implements Interaction {
+
+    private final Target target;
+
+    private ClickOn(Target target) {
+        this.target = target;
+    }
+
+    public static ClickOn the(Target target) {
+        return new ClickOn(target);
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            Task.where(actor + " clicks on " + target.getName(), a -> BrowseOverHttp.as(a).click(target)).performAs(actor);
+            return;
+        }
+        Click.on(target).performAs(actor);
+    }
+}
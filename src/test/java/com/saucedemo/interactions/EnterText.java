@@ -0,0 +1,49 @@
+package com.saucedemo.interactions;
+
+import com.saucedemo.http.BrowseOverHttp;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.actions.Enter;
+import net.serenitybdd.screenplay.targets.Target;
+
+/*
+  EnterText: escribir en un campo, con navegador o sin él.
+
+  - Con BrowseTheWeb delega en Enter de Serenity (mismo paso y mismas capturas en el informe).
+  - Con BrowseOverHttp escribe el valor en el formulario de la página descargada (ver BrowseOverHttp).
+  - Así los mismos Steps y Tasks sirven para escenarios con navegador y para escenarios @http.
+  - Se llama a performAs del delegado, no a actor.attemptsTo: el paso (@Step) se registra igual
+    y no se añade otro nivel de eventos de Screenplay por cada campo.
+  - Uso:
+      actor.attemptsTo(EnterText.theValue("standard_user").into(USERNAME));
+*/
+public class EnterText implements Interaction {
+
+    private final String value;
+    private Target target;
+
+    private EnterText(String value) {
+        this.value = value;
+    }
+
+    public static EnterText theValue(String value) {
+        return new EnterText(value);
+    }
+
+    public EnterText into(Target target) {
+        this.target = target;
+        return this;
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            // Mismo título que el @Step de Enter: el informe se lee igual en los dos modos.
+            Task.where(actor + " enters '" + value + "' into " + target.getName(),
+                    a -> BrowseOverHttp.as(a).enter(target, value)).performAs(actor);
+            return;
+        }
+        Enter.theValue(value).into(target).performAs(actor);
+    }
+}
@@ -0,0 +1,130 @@
+package com.saucedemo.interactions;
+
+import com.saucedemo.http.BrowseOverHttp;
+import com.saucedemo.userinterfaces.ScriptLocators;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+  FillForm: rellena varios campos y pulsa un botón en UNA sola llamada al navegador (executeScript).
+
+  - Problema: Enter + Enter + Click son tres comandos WebDriver, cada uno una ida y vuelta HTTP a chromedriver
+    (decenas de ms por comando en un grid remoto).
+  - Cómo rellena los campos:
+    * Usa el setter nativo de "value" y lanza los eventos input/change: las apps React (como SauceDemo)
+      solo actualizan su estado con esos eventos, no con un el.value = ... a secas.
+    * El botón se pulsa con el.click(), que dispara el submit del formulario igual que un click real.
+  - Reporting: un único paso, el de la llamada real, que nombra todos los campos y el botón:
+      "enters 'standard_user' into username field, 'secret_sauce' into password field and clicks on login button"
+    Como en EnterText/ClickOn, Task.where(...).performAs: si el script falla, falla ese paso.
+  - Uso:
+      actor.attemptsTo(FillForm.with(USERNAME, "standard_user").and(PASSWORD, "secret_sauce").thenClick(LOGIN_BUTTON));
+  - Sin navegador (BrowseOverHttp) no hay script que ejecutar: rellena y envía el formulario descargado.
+*/
+public class FillForm implements Interaction {
+
+    /* Argumentos: nº de campos, [estrategia, selector, texto] por campo y, si hay, [estrategia, selector] del botón.
+       Resultado: null si todo fue bien, o el índice del primer elemento que no se encontró. */
+    static final String FILL_SCRIPT =
+            ScriptLocators.FIND_FUNCTION
+            + "var count = arguments[0], a = 1;"
+            + "for (var i = 0; i < count; i++, a += 3) {"
+            + "  var field = find(arguments[a], arguments[a + 1])[0];"
+            + "  if (!field) { return i; }"
+            + "  var proto = field instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  field.focus();"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(field, arguments[a + 2]);"
+            + "  field.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  field.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "}"
+            + "if (a < arguments.length) {"
+            + "  var button = find(arguments[a], arguments[a + 1])[0];"
+            + "  if (!button) { return count; }"
+            + "  button.click();"
+            + "}"
+            + "return null;";
+
+    private final List<Target> fields = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+    private Target submit;
+
+    public static FillForm with(Target field, String value) {
+        return new FillForm().and(field, value);
+    }
+
+    public FillForm and(Target field, String value) {
+        fields.add(field);
+        values.add(value);
+        return this;
+    }
+
+    public FillForm thenClick(Target button) {
+        this.submit = button;
+        return this;
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        Task.where(actor + " " + description(), this::fill).performAs(actor);
+    }
+
+    private void fill(Actor actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            BrowseOverHttp page = BrowseOverHttp.as(actor);
+            for (int i = 0; i < fields.size(); i++) {
+                page.enter(fields.get(i), values.get(i));
+            }
+            if (submit != null) {
+                page.click(submit);
+            }
+            return;
+        }
+        JavascriptExecutor js = (JavascriptExecutor) BrowseTheWeb.as(actor).getDriver();
+        Object missing = js.executeScript(FILL_SCRIPT, scriptArguments());
+        if (missing instanceof Number) {
+            int index = ((Number) missing).intValue();
+            Target target = index < fields.size() ? fields.get(index) : submit;
+            throw new NoSuchElementException("FillForm no encuentra " + target.getName() + " (" + target + ")");
+        }
+    }
+
+    private Object[] scriptArguments() {
+        List<Object> arguments = new ArrayList<>(2 + fields.size() * 3);
+        arguments.add(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            Object[] locator = ScriptLocators.argumentsFor(fields.get(i));
+            arguments.add(locator[0]);
+            arguments.add(locator[1]);
+            arguments.add(values.get(i));
+        }
+        if (submit != null) {
+            Object[] locator = ScriptLocators.argumentsFor(submit);
+            arguments.add(locator[0]);
+            arguments.add(locator[1]);
+        }
+        return arguments.toArray();
+    }
+
+    // Mismas palabras que los @Step de Enter y Click, en una sola frase.
+    private String description() {
+        StringBuilder description = new StringBuilder("enters ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                description.append(i == fields.size() - 1 && submit == null ? " and " : ", ");
+            }
+            description.append('\'').append(values.get(i)).append("' into ").append(fields.get(i).getName());
+        }
+        if (submit != null) {
+            description.append(" and clicks on ").append(submit.getName());
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.saucedemo.load;
+
+import com.saucedemo.config.TargetApplication;
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.drivers.ChromeDriverFactory;
+import com.saucedemo.model.User;
+import com.saucedemo.questions.InventoryPageIsVisible;
+import com.saucedemo.questions.LoginErrorIsVisible;
+import com.saucedemo.tasks.Login;
+import com.saucedemo.tasks.OpenTheApplication;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+  LoginLoad: modo carga. Las mismas Tasks y Questions de los escenarios, repetidas para miles de usuarios.
+
+  - Cada actor tiene su propio navegador y repite en bucle:
+      OpenTheApplication -> Login.with(user) -> InventoryPageIsVisible (o LoginErrorIsVisible)
+    con el siguiente usuario del UserFeed, hasta que el fichero se acaba.
+  - saucedemo.load.actors acota la concurrencia (= navegadores vivos); por defecto, nº de cores.
+  - Hilos: virtuales si la JVM los tiene (Java 21+), de plataforma si no (el proyecto compila para Java 17).
+    Cada actor pasa casi todo el tiempo esperando a su navegador, así que no hay diferencia de rendimiento,
+    pero con hilos virtuales el número de actores no está limitado por hilos del SO.
+  - Un usuario mal formado en el fichero o un navegador que deja de responder cuentan como error y el actor
+    sigue (con un navegador nuevo en el segundo caso); solo un navegador que no arranca para a ese actor.
+  - Resultado (LoginLoadReport): logins/s, latencias p50/p95/p99 de cada fase y resultados por tipo.
+  - Pensado para el stand-in local (saucedemo.base.url=standin): no lanzar contra la web pública.
+  - Uso: mvn -Pload test-compile exec:java -Dsaucedemo.load.users=users.csv -Dsaucedemo.load.actors=8
+*/
+public final class LoginLoad {
+
+    private final Path users;
+    private final int actors;
+    private final long limit;
+    private final Supplier<WebDriver> driverFactory;
+
+    public LoginLoad(Path users, int actors, long limit, Supplier<WebDriver> driverFactory) {
+        if (actors < 1) {
+            throw new IllegalArgumentException("saucedemo.load.actors debe ser >= 1 (valor: " + actors + ")");
+        }
+        this.users = users;
+        this.actors = actors;
+        this.limit = limit;
+        this.driverFactory = driverFactory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoginLoad load = new LoginLoad(
+                Path.of(TestSettings.stringValue("saucedemo.load.users", "src/test/resources/load/users.csv")),
+                TestSettings.intValue("saucedemo.load.actors", Runtime.getRuntime().availableProcessors()),
+                TestSettings.longValue("saucedemo.load.limit", 0),
+                ChromeDriverFactory::newDriver);
+        LoginLoadReport report = load.run();
+        Path file = Path.of(TestSettings.stringValue("saucedemo.load.report", "target/load/login-load.json"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, report.toJson(), StandardCharsets.UTF_8);
+        System.out.println("[LoginLoad] " + report.summary() + " (" + file + ")");
+        System.out.print(report.latencyTable());
+        // Los hilos de Serenity/Selenium no son daemon: sin exit la JVM de exec:java no termina.
+        System.exit(report.errors() == 0 ? 0 : 1);
+    }
+
+    public LoginLoadReport run() throws IOException, InterruptedException {
+        LoginLoadReport report = new LoginLoadReport(actors, TargetApplication.baseUrl());
+        AtomicInteger actorNumber = new AtomicInteger();
+        try (UserFeed feed = UserFeed.from(users, limit)) {
+            ExecutorService workers = actorThreads();
+            List<Future<?>> running = new ArrayList<>(actors);
+            report.start();
+            for (int i = 0; i < actors; i++) {
+                running.add(workers.submit(() -> runActor("load-" + actorNumber.incrementAndGet(), feed, report)));
+            }
+            workers.shutdown();
+            for (Future<?> actor : running) {
+                try {
+                    actor.get();
+                } catch (ExecutionException e) {
+                    // Un actor sin navegador (Chrome no arranca) no para al resto; queda en el informe.
+                    report.recordActorFailure(e.getCause());
+                }
+            }
+            report.finish(feed.delivered());
+        }
+        return report;
+    }
+
+    private void runActor(String name, UserFeed feed, LoginLoadReport report) {
+        WebDriver driver = driverFactory.get();
+        try {
+            Actor actor = Actor.named(name).whoCan(BrowseTheWeb.with(driver));
+            while (true) {
+                User user;
+                try {
+                    user = feed.next();
+                } catch (IllegalArgumentException e) {
+                    // Línea mal formada: cuenta como error y el actor sigue con el siguiente usuario.
+                    report.recordInvalidUser(e);
+                    continue;
+                }
+                if (user == null) {
+                    return;
+                }
+                if (!logIn(actor, driver, user, report)) {
+                    // Navegador caído: se cambia por uno nuevo y el actor sigue.
+                    quietlyQuit(driver);
+                    driver = driverFactory.get();
+                    actor = Actor.named(name).whoCan(BrowseTheWeb.with(driver));
+                }
+            }
+        } finally {
+            quietlyQuit(driver);
+        }
+    }
+
+    // false si el navegador ya no sirve para el siguiente usuario.
+    private static boolean logIn(Actor actor, WebDriver driver, User user, LoginLoadReport report) {
+        long start = System.nanoTime();
+        try {
+            actor.attemptsTo(OpenTheApplication.onTheLoginPage());
+            long opened = System.nanoTime();
+            actor.attemptsTo(Login.with(user));
+            long loggedIn = System.nanoTime();
+            LoginLoadReport.Outcome outcome = InventoryPageIsVisible.isVisible().answeredBy(actor)
+                    ? LoginLoadReport.Outcome.LOGGED_IN
+                    : LoginErrorIsVisible.isVisible().answeredBy(actor)
+                            ? LoginLoadReport.Outcome.REJECTED
+                            : LoginLoadReport.Outcome.UNKNOWN;
+            long answered = System.nanoTime();
+            report.record("OpenTheApplication", opened - start);
+            report.record("Login", loggedIn - opened);
+            report.record("Question", answered - loggedIn);
+            report.recordLogin(outcome, answered - start);
+        } catch (RuntimeException e) {
+            report.recordLogin(LoginLoadReport.Outcome.ERROR, System.nanoTime() - start);
+            report.recordFailure(e);
+        }
+        // El siguiente usuario empieza sin la sesión del anterior; si ni esto responde, el navegador está caído.
+        try {
+            driver.manage().deleteAllCookies();
+            return true;
+        } catch (RuntimeException e) {
+            report.recordBrowserRestart(e);
+            return false;
+        }
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+            // El navegador ya estaba caído: no hay nada más que cerrar.
+        }
+    }
+
+    /* actorThreads()
+       - Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21: se busca por reflexión
+         para que el proyecto siga compilando con Java 17.
+    */
+    private ExecutorService actorThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(actors, runnable -> {
+                Thread thread = new Thread(runnable, "login-load-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
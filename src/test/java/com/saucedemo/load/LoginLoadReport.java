@@ -0,0 +1,164 @@
+package com.saucedemo.load;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.saucedemo.timing.InteractionLatencyReport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  LoginLoadReport: resultado de una ejecución de LoginLoad.
+
+  - Latencias en HdrHistogram (ConcurrentHistogram: todos los actores escriben sin bloqueos):
+    * "login": el ciclo completo de un usuario (abrir + Login + Question).
+    * "OpenTheApplication", "Login", "Question": cada fase, para ver cuál domina.
+  - Throughput: logins terminados (con cualquier resultado) por segundo de reloj.
+  - Resultados: LOGGED_IN (se ve el inventario), REJECTED (se ve el error de login, ej: locked_out_user),
+    UNKNOWN (ninguno de los dos a tiempo), ERROR (excepción).
+  - Errores (errors(), y código de salida 1): logins con ERROR, líneas de usuario mal formadas (invalidUsers),
+    navegadores que hubo que cambiar a mitad (browserRestarts) y actores que no pudieron seguir (failedActors).
+  - Mismo formato de tabla/JSON de latencias que InteractionLatencyReport.
+*/
+public final class LoginLoadReport {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    public enum Outcome { LOGGED_IN, REJECTED, UNKNOWN, ERROR }
+
+    private final int actors;
+    private final String baseUrl;
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    private final AtomicReference<String> firstFailure = new AtomicReference<>();
+    private final LongAdder failedActors = new LongAdder();
+    private final LongAdder invalidUsers = new LongAdder();
+    private final LongAdder browserRestarts = new LongAdder();
+    private long startNanos;
+    private long elapsedNanos;
+    private long users;
+
+    LoginLoadReport(int actors, String baseUrl) {
+        this.actors = actors;
+        this.baseUrl = baseUrl;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void finish(long users) {
+        this.elapsedNanos = System.nanoTime() - startNanos;
+        this.users = users;
+    }
+
+    void record(String phase, long nanos) {
+        latencies.computeIfAbsent(phase, ignored -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(Math.max(0, nanos));
+    }
+
+    void recordLogin(Outcome outcome, long nanos) {
+        outcomes.get(outcome).increment();
+        record("login", nanos);
+    }
+
+    // Un actor que terminó antes de tiempo (ej: su navegador no arrancó).
+    void recordActorFailure(Throwable failure) {
+        failedActors.increment();
+        recordFailure(failure);
+    }
+
+    // Una línea del fichero de usuarios que no se pudo leer; el actor pasa a la siguiente.
+    void recordInvalidUser(Throwable failure) {
+        invalidUsers.increment();
+        recordFailure(failure);
+    }
+
+    // Un navegador que dejó de responder y se cambió por otro.
+    void recordBrowserRestart(Throwable failure) {
+        browserRestarts.increment();
+        recordFailure(failure);
+    }
+
+    void recordFailure(Throwable failure) {
+        firstFailure.compareAndSet(null, failure.getClass().getSimpleName() + ": " + failure.getMessage());
+    }
+
+    public long logins() {
+        return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long errors() {
+        return outcomes.get(Outcome.ERROR).sum() + invalidUsers.sum() + browserRestarts.sum() + failedActors.sum();
+    }
+
+    public double loginsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : logins() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public Map<String, Histogram> latencies() {
+        Map<String, Histogram> copy = new TreeMap<>();
+        latencies.forEach((phase, histogram) -> copy.put(phase, histogram.copy()));
+        return copy;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "users=%d actors=%d elapsed=%.1fs throughput=%.1f logins/s", users, actors,
+                elapsedNanos / 1_000_000_000.0, loginsPerSecond()));
+        outcomes.forEach((outcome, count) -> summary.append(' ').append(outcome.name().toLowerCase()).append('=').append(count.sum()));
+        Histogram login = latencies.get("login");
+        if (login != null) {
+            summary.append(String.format(" p50=%.1fms p95=%.1fms p99=%.1fms",
+                    login.getValueAtPercentile(50) / 1e6, login.getValueAtPercentile(95) / 1e6,
+                    login.getValueAtPercentile(99) / 1e6));
+        }
+        if (invalidUsers.sum() > 0) {
+            summary.append(" invalidUsers=").append(invalidUsers.sum());
+        }
+        if (browserRestarts.sum() > 0) {
+            summary.append(" browserRestarts=").append(browserRestarts.sum());
+        }
+        if (failedActors.sum() > 0) {
+            summary.append(" failedActors=").append(failedActors.sum());
+        }
+        if (firstFailure.get() != null) {
+            summary.append(" firstFailure=\"").append(firstFailure.get()).append('"');
+        }
+        return summary.toString();
+    }
+
+    public String latencyTable() {
+        return InteractionLatencyReport.toTable(latencies());
+    }
+
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("baseUrl", baseUrl);
+        report.put("users", users);
+        report.put("actors", actors);
+        report.put("elapsedSeconds", elapsedNanos / 1_000_000_000.0);
+        report.put("loginsPerSecond", loginsPerSecond());
+        Map<String, Long> byOutcome = new LinkedHashMap<>();
+        outcomes.forEach((outcome, count) -> byOutcome.put(outcome.name(), count.sum()));
+        report.put("outcomes", byOutcome);
+        report.put("invalidUsers", invalidUsers.sum());
+        report.put("browserRestarts", browserRestarts.sum());
+        report.put("failedActors", failedActors.sum());
+        report.put("firstFailure", firstFailure.get());
+        report.put("latencies", JsonParser.parseString(InteractionLatencyReport.toJson(latencies())));
+        return new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(report);
+    }
+}
@@ -0,0 +1,98 @@
+package com.saucedemo.load;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.saucedemo.model.User;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/*
+  UserFeed: usuarios leídos de un fichero línea a línea, sin cargarlo entero en memoria.
+
+  - Formatos (según la extensión):
+    * .jsonl / .ndjson: un objeto por línea, {"username": "standard_user", "password": "secret_sauce"}
+    * cualquier otra (.csv): username,password por línea; la cabecera "username,password" es opcional.
+  - Líneas vacías y las que empiezan por # se ignoran.
+  - next() es synchronized: varios actores leen del mismo feed y cada línea la recibe uno solo.
+    La lectura (microsegundos) es despreciable frente a un login (milisegundos), no es un cuello de botella.
+*/
+public final class UserFeed implements Closeable {
+
+    private final BufferedReader reader;
+    private final boolean jsonLines;
+    private final long limit;
+    private long lineNumber;
+    private long delivered;
+
+    private UserFeed(BufferedReader reader, boolean jsonLines, long limit) {
+        this.reader = reader;
+        this.jsonLines = jsonLines;
+        this.limit = limit;
+    }
+
+    // limit <= 0: todo el fichero.
+    public static UserFeed from(Path file, long limit) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean jsonLines = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        return new UserFeed(Files.newBufferedReader(file, StandardCharsets.UTF_8), jsonLines, limit);
+    }
+
+    // null cuando no quedan usuarios (fin del fichero o límite alcanzado).
+    public synchronized User next() {
+        if (limit > 0 && delivered >= limit) {
+            return null;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || isCsvHeader(line)) {
+                    continue;
+                }
+                delivered++;
+                return jsonLines ? fromJson(line) : fromCsv(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo usuarios (línea " + lineNumber + ")", e);
+        }
+    }
+
+    public synchronized long delivered() {
+        return delivered;
+    }
+
+    private boolean isCsvHeader(String line) {
+        return !jsonLines && lineNumber == 1 && line.equalsIgnoreCase("username,password");
+    }
+
+    private User fromCsv(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaba username,password");
+        }
+        return new User(line.substring(0, comma).strip(), line.substring(comma + 1).strip());
+    }
+
+    private User fromJson(String line) {
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            return new User(json.get("username").getAsString(), json.get("password").getAsString());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaba {\"username\": ..., \"password\": ...}", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
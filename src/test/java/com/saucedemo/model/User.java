@@ -1,5 +1,7 @@
 package com.saucedemo.model;
 
+import java.util.Objects;
+
 /*
   Modelo simple de usuario (username/password).
   Si ya tienes esta clase en tu project, ignora este archivo.
@@ -19,4 +21,24 @@ public class User {
     public static User standardUser() {
         return new User("standard_user", "secret_sauce");
     }
+
+    // equals/hashCode por username y password: User se usa como clave de la caché de sesiones.
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof User)) return false;
+        User user = (User) other;
+        return Objects.equals(username, user.username) && Objects.equals(password, user.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, password);
+    }
+
+    // Solo el username: este texto aparece en los informes y no debe mostrar la contraseña.
+    @Override
+    public String toString() {
+        return username;
+    }
 }
@@ -0,0 +1,71 @@
+package com.saucedemo.proxy;
+
+import com.saucedemo.config.TestSettings;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/*
+  BlockRules: peticiones que el proxy no deja salir (responde él, sin red).
+
+  - saucedemo.proxy.block.hosts: dominios de analítica, tags y monitorización de errores
+    (se comparan como sufijo: "doubleclick.net" bloquea también "stats.g.doubleclick.net").
+    Ninguno influye en lo que comprueban los escenarios y cada uno es una conexión más por navegador.
+    Vacío = no se bloquea ningún dominio.
+  - saucedemo.proxy.block.images=true: tampoco se descargan imágenes (por extensión o por Accept: image/*).
+    Útil con los perfiles desktop/headless; el perfil ci ya no las pide.
+  - Una petición bloqueada recibe 204 No Content; un CONNECT a un dominio bloqueado, 403.
+*/
+final class BlockRules {
+
+    private static final String DEFAULT_HOSTS = "google-analytics.com,googletagmanager.com,doubleclick.net,"
+            + "backtrace.io,segment.io,hotjar.com,facebook.net";
+    private static final List<String> IMAGE_EXTENSIONS =
+            List.of(".png", ".jpg", ".jpeg", ".gif", ".webp", ".svg", ".ico", ".avif");
+
+    private final List<String> hosts;
+    private final boolean images;
+
+    private BlockRules(List<String> hosts, boolean images) {
+        this.hosts = hosts;
+        this.images = images;
+    }
+
+    static BlockRules fromSettings() {
+        return of(TestSettings.stringValue("saucedemo.proxy.block.hosts", DEFAULT_HOSTS),
+                TestSettings.booleanValue("saucedemo.proxy.block.images", false));
+    }
+
+    // hosts: lista separada por comas, como en saucedemo.proxy.block.hosts.
+    static BlockRules of(String hosts, boolean images) {
+        return new BlockRules(Arrays.stream(hosts.split(","))
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toList()), images);
+    }
+
+    boolean blocksHost(String host) {
+        String lower = host.toLowerCase(Locale.ROOT);
+        return hosts.stream().anyMatch(blocked -> lower.equals(blocked) || lower.endsWith("." + blocked));
+    }
+
+    boolean blocks(String host, String path, ProxyRequest request) {
+        if (blocksHost(host)) {
+            return true;
+        }
+        if (!images) {
+            return false;
+        }
+        String lowerPath = path.toLowerCase(Locale.ROOT);
+        return IMAGE_EXTENSIONS.stream().anyMatch(lowerPath::endsWith)
+                || request.header("Accept").startsWith("image/");
+    }
+
+    @Override
+    public String toString() {
+        return (hosts.isEmpty() ? "sin dominios bloqueados" : hosts.size() + " dominios bloqueados")
+                + (images ? " + imágenes" : "");
+    }
+}
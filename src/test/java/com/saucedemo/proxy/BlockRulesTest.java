@@ -0,0 +1,53 @@
+package com.saucedemo.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.saucedemo.proxy.ResponseCacheTest.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockRulesTest {
+
+    @Test
+    void hostsMatchAsDomainSuffix() {
+        BlockRules rules = BlockRules.of(" DoubleClick.net, ,hotjar.com", false);
+
+        assertTrue(rules.blocksHost("doubleclick.net"));
+        assertTrue(rules.blocksHost("stats.g.DOUBLECLICK.net"));
+        assertTrue(rules.blocksHost("static.hotjar.com"));
+        // Sufijo de dominio, no de texto.
+        assertFalse(rules.blocksHost("notdoubleclick.net"));
+        assertFalse(rules.blocksHost("www.saucedemo.com"));
+    }
+
+    @Test
+    void emptyListBlocksNothing() throws IOException {
+        BlockRules rules = BlockRules.of("", false);
+
+        assertFalse(rules.blocks("google-analytics.com", "/collect", request()));
+        assertEquals("sin dominios bloqueados", rules.toString());
+    }
+
+    @Test
+    void imagesAreBlockedOnlyWhenEnabled() throws IOException {
+        BlockRules keep = BlockRules.of("", false);
+        BlockRules block = BlockRules.of("", true);
+
+        assertFalse(keep.blocks("www.saucedemo.com", "/static/media/backpack.JPG", request()));
+        assertTrue(block.blocks("www.saucedemo.com", "/static/media/backpack.JPG", request()));
+        assertTrue(block.blocks("www.saucedemo.com", "/img", request("Accept", "image/avif,image/webp,*/*")));
+        assertFalse(block.blocks("www.saucedemo.com", "/static/js/main.js", request("Accept", "*/*")));
+        assertEquals("sin dominios bloqueados + imágenes", block.toString());
+    }
+
+    @Test
+    void blockedHostWinsOverEverythingElse() throws IOException {
+        BlockRules rules = BlockRules.of("segment.io", false);
+
+        assertTrue(rules.blocks("cdn.segment.io", "/analytics.js", request()));
+        assertEquals("1 dominios bloqueados", rules.toString());
+    }
+}
@@ -0,0 +1,303 @@
+package com.saucedemo.proxy;
+
+import com.saucedemo.config.TestSettings;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+  CachingProxy: proxy HTTP local, con caché compartido, por el que pasan todos los navegadores de la JVM.
+
+  - Cada navegador (pool o paralelo) tiene su propio perfil y por tanto su propio caché de disco, que empieza vacío:
+    el mismo CSS/JS/fuentes se descarga una vez por navegador. Con el proxy se descarga una vez por JVM.
+  - Qué hace con cada petición:
+    * Bloqueada (BlockRules: analítica, tags y, opcionalmente, imágenes) -> 204 sin salir a la red.
+    * GET cacheable (ResponseCache) y fresco -> del caché, con cabecera Age.
+    * GET caducado con ETag/Last-Modified -> petición condicional; si el servidor responde 304, del caché.
+    * Resto (POST del login, HEAD, no cacheables) -> se reenvía tal cual.
+    Las redirecciones no se siguen: el navegador recibe el 303 del login y su Set-Cookie, como sin proxy.
+  - HTTPS: con InterceptionCertificate el proxy termina el TLS y cachea igual que en HTTP;
+    sin él (saucedemo.proxy.https=false o sin keytool) hace de túnel opaco.
+  - Configuración (TestSettings):
+    * saucedemo.proxy=true activa el proxy (perfil Maven "proxy"); por defecto está apagado.
+    * saucedemo.proxy.port (0 = libre), saucedemo.proxy.cache.mb (64), saucedemo.proxy.cache.entry.mb (8),
+      saucedemo.proxy.upstream.timeout.ms (30000), reglas de bloqueo en BlockRules.
+  - Al terminar la JVM imprime "[Proxy] ..." con acierto del caché y MB ahorrados (ProxyMetrics).
+*/
+public final class CachingProxy {
+
+    // Cabeceras que java.net.http no deja fijar (las pone él) más las que el proxy gestiona por conexión.
+    private static final Set<String> NOT_FORWARDED = Set.of("host", "content-length", "expect", "upgrade");
+    private static final Set<String> CONDITIONALS = Set.of("if-none-match", "if-modified-since");
+
+    private final ServerSocket server;
+    private final ExecutorService connections;
+    private final HttpClient upstream;
+    private final Duration timeout;
+    private final ResponseCache cache;
+    private final BlockRules blockRules;
+    private final Optional<InterceptionCertificate> certificate;
+    private final ProxyMetrics metrics = new ProxyMetrics();
+
+    private CachingProxy(int port) throws IOException {
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "saucedemo-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeout = TestSettings.millisValue("saucedemo.proxy.upstream.timeout.ms", 30_000);
+        this.upstream = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(timeout)
+                .executor(connections)
+                .build();
+        this.cache = new ResponseCache(TestSettings.longValue("saucedemo.proxy.cache.mb", 64) * 1024 * 1024,
+                TestSettings.longValue("saucedemo.proxy.cache.entry.mb", 8) * 1024 * 1024);
+        this.blockRules = BlockRules.fromSettings();
+        this.certificate = InterceptionCertificate.load();
+        this.server = new ServerSocket();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Thread acceptor = new Thread(this::accept, "saucedemo-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /* Holder: un único proxy por JVM, creado al arrancar el primer navegador (como SauceDemoStandIn). */
+    private static final class Holder {
+        private static final CachingProxy INSTANCE = start();
+
+        private static CachingProxy start() {
+            try {
+                CachingProxy proxy = new CachingProxy(TestSettings.intValue("saucedemo.proxy.port", 0));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    if (proxy.metrics.requests() > 0) {
+                        System.out.println("[Proxy] " + proxy.metrics + "; " + proxy.cache.summary());
+                    }
+                }, "saucedemo-proxy-summary"));
+                System.out.println("[Proxy] escuchando en 127.0.0.1:" + proxy.port() + " ("
+                        + (proxy.certificate.isPresent() ? "HTTPS interceptado" : "HTTPS en túnel") + ", " + proxy.blockRules + ")");
+                return proxy;
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo arrancar el proxy con caché", e);
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestSettings.booleanValue("saucedemo.proxy", false);
+    }
+
+    public static CachingProxy shared() {
+        return Holder.INSTANCE;
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /* Chrome no pasa por proxy las direcciones locales salvo con <-loopback>: sin él, el stand-in (localhost) no se cachearía. */
+    public ChromeOptions routeThrough(ChromeOptions options) {
+        options.addArguments("--proxy-server=http://127.0.0.1:" + port(), "--proxy-bypass-list=<-loopback>");
+        certificate.ifPresent(value -> options.addArguments("--ignore-certificate-errors-spki-list=" + value.spkiHash()));
+        return options;
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> serve(socket, "http", null));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.out.println("[Proxy] error aceptando conexiones: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /* Una conexión del navegador (keep-alive: varias peticiones seguidas).
+       authority != null: dentro de un túnel HTTPS interceptado, las peticiones llegan con ruta relativa. */
+    private void serve(Socket socket, String scheme, String authority) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            for (ProxyRequest request = ProxyRequest.read(in); request != null; request = ProxyRequest.read(in)) {
+                if (request.method.equals("CONNECT")) {
+                    connect(socket, out, request);
+                    return;
+                }
+                boolean close = !request.keepAlive();
+                respond(request, scheme, authority).writeTo(out, request.method.equals("HEAD"), close);
+                if (close) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // El navegador cerró la conexión o mandó algo que no es HTTP: no hay a quién responder.
+        }
+    }
+
+    private void connect(Socket socket, OutputStream out, ProxyRequest request) throws IOException {
+        String authority = request.target;
+        int colon = authority.lastIndexOf(':');
+        String host = colon < 0 ? authority : authority.substring(0, colon);
+        int port = colon < 0 ? 443 : Integer.parseInt(authority.substring(colon + 1));
+        if (blockRules.blocksHost(host)) {
+            metrics.recordBlocked();
+            ProxyResponse.empty(403).writeTo(out, false, true);
+            return;
+        }
+        out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+        if (certificate.isPresent()) {
+            // El navegador empieza ahora su TLS: el proxy hace de servidor con el certificado de interceptación.
+            SSLSocket tls = (SSLSocket) certificate.get().socketFactory().createSocket(socket, host, socket.getPort(), false);
+            tls.setUseClientMode(false);
+            serve(tls, "https", port == 443 ? host : authority);
+        } else {
+            metrics.recordPassThrough(0);
+            tunnel(socket, host, port);
+        }
+    }
+
+    // Túnel opaco: se copian bytes en los dos sentidos hasta que uno de los lados cierra.
+    private void tunnel(Socket browser, String host, int port) throws IOException {
+        try (Socket remote = new Socket()) {
+            remote.connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
+            connections.execute(() -> pump(browser, remote));
+            pump(remote, browser);
+        }
+    }
+
+    private static void pump(Socket from, Socket to) {
+        try {
+            from.getInputStream().transferTo(to.getOutputStream());
+            to.shutdownOutput();
+        } catch (IOException e) {
+            // El otro sentido del túnel detecta el cierre y termina.
+        }
+    }
+
+    private ProxyResponse respond(ProxyRequest request, String scheme, String authority) {
+        URI uri = URI.create(request.target.startsWith("http://") || request.target.startsWith("https://")
+                ? request.target
+                : scheme + "://" + (authority != null ? authority : request.header("Host")) + request.target);
+        if (blockRules.blocks(uri.getHost(), uri.getRawPath() == null ? "" : uri.getRawPath(), request)) {
+            metrics.recordBlocked();
+            return ProxyResponse.empty(204);
+        }
+        try {
+            if (!request.method.equals("GET") || !request.header("Authorization").isEmpty()) {
+                ProxyResponse response = fetch(uri, request, Map.of(), true);
+                metrics.recordPassThrough(response.body.length);
+                return response;
+            }
+            return cached(uri, request);
+        } catch (IOException e) {
+            ProxyResponse failure = new ProxyResponse(502, new TreeMap<>(String.CASE_INSENSITIVE_ORDER),
+                    ("Proxy: " + uri + " -> " + e).getBytes(StandardCharsets.UTF_8));
+            failure.headers.put("Content-Type", List.of("text/plain; charset=utf-8"));
+            return failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProxyResponse.empty(502);
+        }
+    }
+
+    /* GET a través del caché. Los condicionales del navegador no se reenvían: el proxy pide la respuesta
+       completa (o revalida con sus propios validadores) para poder guardarla, y luego contesta 304 si procede. */
+    private ProxyResponse cached(URI uri, ProxyRequest request) throws IOException, InterruptedException {
+        String key = ResponseCache.key(uri.toString(), request);
+        boolean conditional = !request.header("If-None-Match").isEmpty() || !request.header("If-Modified-Since").isEmpty();
+        boolean reload = request.header("Cache-Control").contains("no-cache") || request.header("Pragma").contains("no-cache");
+        ResponseCache.Entry entry = cache.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && !reload && entry.isFresh(now)) {
+            metrics.recordHit(entry.response.body.length);
+            return conditional && entry.matches(request) ? entry.notModified() : entry.toResponse(now);
+        }
+        Map<String, String> validators = new TreeMap<>();
+        if (entry != null) {
+            if (!entry.etag().isEmpty()) {
+                validators.put("If-None-Match", entry.etag());
+            }
+            if (!entry.lastModified().isEmpty()) {
+                validators.put("If-Modified-Since", entry.lastModified());
+            }
+        }
+        ProxyResponse response = fetch(uri, request, validators, false);
+        long receivedAt = System.currentTimeMillis();
+        if (response.status == 304 && entry != null) {
+            ResponseCache.Entry refreshed = entry.refreshed(response, receivedAt);
+            cache.put(key, refreshed);
+            metrics.recordRevalidated(refreshed.response.body.length);
+            return conditional && refreshed.matches(request) ? refreshed.notModified() : refreshed.toResponse(receivedAt);
+        }
+        metrics.recordMiss(response.body.length);
+        Optional<ResponseCache.Entry> stored = cache.storable(response, receivedAt);
+        if (stored.isPresent()) {
+            cache.put(key, stored.get());
+            return conditional && stored.get().matches(request) ? stored.get().notModified() : response;
+        }
+        cache.remove(key);
+        return response;
+    }
+
+    /* forwardConditionals=false: se quitan If-None-Match/If-Modified-Since del navegador y se usan validators. */
+    private ProxyResponse fetch(URI uri, ProxyRequest request, Map<String, String> validators, boolean forwardConditionals)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(request.method, request.body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body));
+        request.headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (ProxyResponse.HOP_BY_HOP.contains(lower) || NOT_FORWARDED.contains(lower)
+                    || (!forwardConditionals && CONDITIONALS.contains(lower))) {
+                return;
+            }
+            for (String value : values) {
+                try {
+                    builder.header(name, value);
+                } catch (IllegalArgumentException e) {
+                    // Cabecera que esta versión de java.net.http reserva para sí: la pone el cliente.
+                }
+            }
+        });
+        validators.forEach(builder::header);
+        HttpResponse<byte[]> response = upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        });
+        return new ProxyResponse(response.statusCode(), headers, response.body());
+    }
+}
@@ -0,0 +1,122 @@
+package com.saucedemo.proxy;
+
+import com.saucedemo.config.TestSettings;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/*
+  InterceptionCertificate: el certificado con el que el proxy descifra el HTTPS de los navegadores de prueba.
+
+  - Sin él, un CONNECT es un túnel opaco: el proxy solo ve "host:443" y no puede cachear nada.
+    Con él, el proxy termina el TLS del navegador, ve las peticiones y las reenvía por HTTPS al servidor real.
+  - Se genera una vez con el keytool del propio JDK (sin dependencias nuevas) en target/proxy/interception.p12
+    y se reutiliza mientras sea válido (saucedemo.proxy.keystore para otra ruta).
+  - No se instala en ningún almacén de confianza: Chrome lo acepta solo porque se arranca con
+    --ignore-certificate-errors-spki-list=<hash de su clave pública> (ver CachingProxy.routeThrough).
+    El resto de errores de certificado siguen siendo errores.
+  - saucedemo.proxy.https=false, o cualquier fallo al generarlo o cargarlo: túnel opaco (se avisa por consola).
+*/
+final class InterceptionCertificate {
+
+    private static final String ALIAS = "saucedemo-proxy";
+    private static final char[] PASSWORD = "saucedemo-proxy".toCharArray();
+
+    private final SSLContext context;
+    private final String spkiHash;
+
+    private InterceptionCertificate(SSLContext context, String spkiHash) {
+        this.context = context;
+        this.spkiHash = spkiHash;
+    }
+
+    static Optional<InterceptionCertificate> load() {
+        if (!TestSettings.booleanValue("saucedemo.proxy.https", true)) {
+            return Optional.empty();
+        }
+        Path file = Paths.get(TestSettings.stringValue("saucedemo.proxy.keystore", "target/proxy/interception.p12"));
+        try {
+            Optional<InterceptionCertificate> existing = Files.exists(file) ? read(file) : Optional.empty();
+            if (existing.isPresent()) {
+                return existing;
+            }
+            generate(file);
+            return read(file);
+        } catch (IOException | GeneralSecurityException e) {
+            System.out.println("[Proxy] sin certificado de interceptación (" + e.getMessage()
+                    + "): el HTTPS pasa por un túnel y no se cachea");
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    SSLSocketFactory socketFactory() {
+        return context.getSocketFactory();
+    }
+
+    // Base64 del SHA-256 de la clave pública (SubjectPublicKeyInfo), el formato de --ignore-certificate-errors-spki-list.
+    String spkiHash() {
+        return spkiHash;
+    }
+
+    // Empty si el fichero no sirve (caducado o de otra versión): se vuelve a generar.
+    private static Optional<InterceptionCertificate> read(Path file) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) {
+            keyStore.load(in, PASSWORD);
+        }
+        if (!(keyStore.getCertificate(ALIAS) instanceof X509Certificate)) {
+            return Optional.empty();
+        }
+        X509Certificate certificate = (X509Certificate) keyStore.getCertificate(ALIAS);
+        try {
+            certificate.checkValidity();
+        } catch (GeneralSecurityException e) {
+            return Optional.empty();
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+        byte[] spki = MessageDigest.getInstance("SHA-256").digest(certificate.getPublicKey().getEncoded());
+        return Optional.of(new InterceptionCertificate(context, Base64.getEncoder().encodeToString(spki)));
+    }
+
+    /* keytool escribe en un temporal que luego se mueve: varios forks de Surefire pueden generarlo a la vez
+       y ninguno debe leer un fichero a medias. */
+    private static void generate(Path file) throws IOException, InterruptedException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "interception", ".p12");
+        Files.delete(temporary);
+        Path keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool");
+        Process process = new ProcessBuilder(List.of(keytool.toString(), "-genkeypair",
+                "-alias", ALIAS, "-keyalg", "EC", "-groupname", "secp256r1", "-sigalg", "SHA256withECDSA",
+                "-dname", "CN=saucedemo test proxy", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-validity", "365", "-storetype", "PKCS12", "-keystore", temporary.toString(),
+                "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD)))
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0 || !Files.exists(temporary)) {
+            throw new IOException("keytool terminó con error: " + output.trim());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
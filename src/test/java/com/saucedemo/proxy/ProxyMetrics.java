@@ -0,0 +1,75 @@
+package com.saucedemo.proxy;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  ProxyMetrics: contadores del CachingProxy (como DriverPoolMetrics, LongAdder porque escriben varios navegadores a la vez).
+
+  - hit: servido del caché sin ir al servidor.
+  - revalidated: caducado, el servidor confirmó con 304 que sigue valiendo; el cuerpo sale del caché.
+  - miss: descargado del servidor (se guarde o no).
+  - passThrough: no se puede cachear (POST, HEAD, túneles HTTPS sin interceptar...).
+  - blocked: respondido por el proxy según BlockRules.
+  - bytesSaved: bytes de cuerpo que no se descargaron (hits y revalidaciones).
+*/
+final class ProxyMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder passThrough = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder bytesDownloaded = new LongAdder();
+
+    void recordHit(long bodyBytes) {
+        requests.increment();
+        hits.increment();
+        bytesSaved.add(bodyBytes);
+    }
+
+    void recordRevalidated(long bodyBytes) {
+        requests.increment();
+        revalidated.increment();
+        bytesSaved.add(bodyBytes);
+    }
+
+    void recordMiss(long bodyBytes) {
+        requests.increment();
+        misses.increment();
+        bytesDownloaded.add(bodyBytes);
+    }
+
+    void recordPassThrough(long bodyBytes) {
+        requests.increment();
+        passThrough.increment();
+        bytesDownloaded.add(bodyBytes);
+    }
+
+    void recordBlocked() {
+        requests.increment();
+        blocked.increment();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    // Sobre las peticiones cacheables (hit + revalidated + miss): las que no hubo que descargar.
+    double hitRate() {
+        long fromCache = hits.sum() + revalidated.sum();
+        long cacheable = fromCache + misses.sum();
+        return cacheable == 0 ? 0.0 : (double) fromCache / cacheable;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%d peticiones: %d del caché y %d revalidadas (acierto %.1f%%), %d descargadas, %d sin caché, %d bloqueadas;"
+                        + " %.2f MB ahorrados, %.2f MB descargados",
+                requests(), hits.sum(), revalidated.sum(), hitRate() * 100, misses.sum(), passThrough.sum(),
+                blocked.sum(), bytesSaved.sum() / 1048576.0, bytesDownloaded.sum() / 1048576.0);
+    }
+}
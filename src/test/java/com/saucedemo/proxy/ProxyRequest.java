@@ -0,0 +1,126 @@
+package com.saucedemo.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+  ProxyRequest: una petición HTTP/1.1 tal como la envía el navegador al proxy.
+
+  - Fuera de un túnel llega con la URL completa ("GET http://localhost:8080/inventory.html HTTP/1.1");
+    dentro de un túnel HTTPS interceptado, con la ruta ("GET /inventory.html HTTP/1.1") y la cabecera Host.
+  - CONNECT host:443 pide abrir un túnel (ver CachingProxy).
+  - Cuerpo: Content-Length o chunked (los formularios de login son POST con Content-Length).
+*/
+final class ProxyRequest {
+
+    private static final int MAX_LINE = 64 * 1024;
+    private static final int MAX_HEADERS = 200;
+
+    final String method;
+    final String target;
+    final Map<String, List<String>> headers;
+    final byte[] body;
+
+    private ProxyRequest(String method, String target, Map<String, List<String>> headers, byte[] body) {
+        this.method = method;
+        this.target = target;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    // null si el navegador cerró la conexión antes de empezar otra petición.
+    static ProxyRequest read(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        while (requestLine != null && requestLine.isEmpty()) {
+            requestLine = readLine(in);
+        }
+        if (requestLine == null) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length != 3 || !parts[2].startsWith("HTTP/1.")) {
+            throw new IOException("Petición no válida: " + requestLine);
+        }
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+            int colon = line.indexOf(':');
+            if (colon <= 0 || headers.size() > MAX_HEADERS) {
+                throw new IOException("Cabecera no válida: " + line);
+            }
+            headers.computeIfAbsent(line.substring(0, colon).trim(), name -> new ArrayList<>())
+                    .add(line.substring(colon + 1).trim());
+        }
+        byte[] body;
+        if (first(headers, "Transfer-Encoding").toLowerCase(Locale.ROOT).contains("chunked")) {
+            body = readChunked(in);
+        } else if (!first(headers, "Content-Length").isEmpty()) {
+            int length = Integer.parseInt(first(headers, "Content-Length"));
+            body = in.readNBytes(length);
+            if (body.length != length) {
+                throw new IOException("Cuerpo incompleto: " + body.length + " de " + length + " bytes");
+            }
+        } else {
+            body = new byte[0];
+        }
+        return new ProxyRequest(parts[0], parts[1], headers, body);
+    }
+
+    String header(String name) {
+        return first(headers, name);
+    }
+
+    // HTTP/1.1 mantiene la conexión salvo "Connection: close" (o Proxy-Connection, que aún envían algunos clientes).
+    boolean keepAlive() {
+        return !header("Connection").equalsIgnoreCase("close") && !header("Proxy-Connection").equalsIgnoreCase("close");
+    }
+
+    static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? "" : values.get(0);
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new IOException("Cuerpo chunked incompleto");
+            }
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            if (size == 0) {
+                // trailers (se descartan) hasta la línea vacía
+                for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                    // nada
+                }
+                return body.toByteArray();
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+            }
+            if (line.size() == MAX_LINE) {
+                throw new IOException("Línea HTTP demasiado larga");
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+    }
+}
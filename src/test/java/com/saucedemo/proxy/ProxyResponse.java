@@ -0,0 +1,81 @@
+package com.saucedemo.proxy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/*
+  ProxyResponse: la respuesta que el proxy devuelve al navegador (del servidor, del caché o generada por él).
+
+  - Siempre con Content-Length: el cuerpo ya está completo en memoria, no hace falta chunked.
+  - Las cabeceras "hop-by-hop" (Connection, Keep-Alive, Transfer-Encoding...) son de cada conexión y no se copian.
+*/
+final class ProxyResponse {
+
+    static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "keep-alive", "proxy-connection", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade");
+
+    final int status;
+    final Map<String, List<String>> headers;
+    final byte[] body;
+
+    ProxyResponse(int status, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    static ProxyResponse empty(int status) {
+        return new ProxyResponse(status, new TreeMap<>(String.CASE_INSENSITIVE_ORDER), new byte[0]);
+    }
+
+    String header(String name) {
+        return ProxyRequest.first(headers, name);
+    }
+
+    /* head: respuesta a un HEAD (cabeceras del servidor, incluido su Content-Length, sin cuerpo).
+       close: el proxy va a cerrar la conexión después. */
+    void writeTo(OutputStream out, boolean head, boolean close) throws IOException {
+        StringBuilder message = new StringBuilder(256).append("HTTP/1.1 ").append(status).append(' ')
+                .append(reason(status)).append("\r\n");
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!HOP_BY_HOP.contains(lower) && !(lower.equals("content-length") && !head)) {
+                values.forEach(value -> message.append(name).append(": ").append(value).append("\r\n"));
+            }
+        });
+        boolean bodyless = status == 204 || status == 304 || status / 100 == 1;
+        if (!head && !bodyless) {
+            message.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        if (close) {
+            message.append("Connection: close\r\n");
+        }
+        out.write(message.append("\r\n").toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!head && !bodyless) {
+            out.write(body);
+        }
+        out.flush();
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 204: return "No Content";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 303: return "See Other";
+            case 304: return "Not Modified";
+            case 403: return "Forbidden";
+            case 404: return "Not Found";
+            case 502: return "Bad Gateway";
+            default: return "";
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.saucedemo.proxy;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/*
+  ResponseCache: caché HTTP compartido por todos los navegadores de la JVM, con límite de tamaño (LRU).
+
+  - Qué se guarda (caché compartido, reglas de RFC 9111 simplificadas a lo que usan las webs de prueba):
+    * Solo GET con 200, sin Set-Cookie, sin Cache-Control no-store/private y con Vary vacío o Accept-Encoding
+      (la clave incluye el Accept-Encoding de la petición).
+    * Y que se pueda reutilizar: con vida (max-age, s-maxage, Expires o heurística) o con validador (ETag, Last-Modified).
+  - Vida: s-maxage > max-age > Expires - Date > 10% de (Date - Last-Modified), con máximo de un día; no-cache = 0.
+  - Una entrada caducada con validador se revalida (If-None-Match / If-Modified-Since): un 304 del servidor
+    renueva la entrada y el cuerpo sale del caché (CachingProxy).
+  - Límites: maxBytes para todo el caché (se expulsa lo usado hace más tiempo) y maxEntryBytes por respuesta
+    (un vídeo o un bundle enorme no vacía el caché).
+*/
+final class ResponseCache {
+
+    private static final Duration HEURISTIC_MAX = Duration.ofDays(1);
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    // accessOrder = true: el orden de iteración va de lo usado hace más tiempo a lo más reciente (LRU).
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long evictions;
+
+    ResponseCache(long maxBytes, long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    static String key(String url, ProxyRequest request) {
+        return url + " " + request.header("Accept-Encoding");
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+        bytes += entry.size();
+        for (Iterator<Entry> eldest = entries.values().iterator(); bytes > maxBytes && eldest.hasNext(); ) {
+            bytes -= eldest.next().size();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size();
+        }
+    }
+
+    synchronized String summary() {
+        return String.format(Locale.ROOT, "caché %.1f de %.0f MB (%d entradas, %d expulsadas)",
+                bytes / 1048576.0, maxBytes / 1048576.0, entries.size(), evictions);
+    }
+
+    /* La entrada para esta respuesta, o empty si no se puede guardar. */
+    Optional<Entry> storable(ProxyResponse response, long receivedAt) {
+        if (response.status != 200 || response.body.length > maxEntryBytes || response.headers.containsKey("Set-Cookie")) {
+            return Optional.empty();
+        }
+        String vary = response.header("Vary").trim().toLowerCase(Locale.ROOT);
+        if (!vary.isEmpty() && !vary.equals("accept-encoding")) {
+            return Optional.empty();
+        }
+        Map<String, String> cacheControl = cacheControl(response.header("Cache-Control"));
+        if (cacheControl.containsKey("no-store") || cacheControl.containsKey("private")) {
+            return Optional.empty();
+        }
+        Entry entry = new Entry(response, receivedAt, freshnessMillis(response, cacheControl));
+        return entry.freshnessMillis > 0 || entry.hasValidator() ? Optional.of(entry) : Optional.empty();
+    }
+
+    static Map<String, String> cacheControl(String header) {
+        Map<String, String> directives = new TreeMap<>();
+        for (String directive : header.split(",")) {
+            String[] pair = directive.trim().split("=", 2);
+            if (!pair[0].isEmpty()) {
+                directives.put(pair[0].toLowerCase(Locale.ROOT), pair.length == 2 ? pair[1].replace("\"", "") : "");
+            }
+        }
+        return directives;
+    }
+
+    private static long freshnessMillis(ProxyResponse response, Map<String, String> cacheControl) {
+        if (cacheControl.containsKey("no-cache")) {
+            return 0;
+        }
+        for (String directive : List.of("s-maxage", "max-age")) {
+            if (cacheControl.containsKey(directive)) {
+                try {
+                    return Math.max(0, Long.parseLong(cacheControl.get(directive))) * 1000;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        Optional<ZonedDateTime> date = httpDate(response.header("Date"));
+        Optional<ZonedDateTime> expires = httpDate(response.header("Expires"));
+        if (expires.isPresent()) {
+            return date.map(value -> Math.max(0, Duration.between(value, expires.get()).toMillis())).orElse(0L);
+        }
+        Optional<ZonedDateTime> lastModified = httpDate(response.header("Last-Modified"));
+        if (date.isPresent() && lastModified.isPresent()) {
+            Duration heuristic = Duration.between(lastModified.get(), date.get()).dividedBy(10);
+            return Math.max(0, Math.min(heuristic.toMillis(), HEURISTIC_MAX.toMillis()));
+        }
+        return 0;
+    }
+
+    private static Optional<ZonedDateTime> httpDate(String value) {
+        if (value.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /* Entry: respuesta guardada (inmutable; una revalidación crea otra con refreshed(...)). */
+    static final class Entry {
+        final ProxyResponse response;
+        final long storedAt;
+        final long freshnessMillis;
+
+        private Entry(ProxyResponse response, long storedAt, long freshnessMillis) {
+            this.response = response;
+            this.storedAt = storedAt;
+            this.freshnessMillis = freshnessMillis;
+        }
+
+        boolean isFresh(long now) {
+            return now - storedAt < freshnessMillis;
+        }
+
+        boolean hasValidator() {
+            return !etag().isEmpty() || !lastModified().isEmpty();
+        }
+
+        String etag() {
+            return response.header("ETag");
+        }
+
+        String lastModified() {
+            return response.header("Last-Modified");
+        }
+
+        long size() {
+            return response.body.length + 512L;
+        }
+
+        // Respuesta 304 del servidor: sus cabeceras sustituyen a las guardadas (RFC 9111, 4.3.4); el cuerpo se conserva.
+        Entry refreshed(ProxyResponse notModified, long receivedAt) {
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(response.headers);
+            notModified.headers.forEach((name, values) -> {
+                if (!name.equalsIgnoreCase("Content-Length")) {
+                    headers.put(name, new ArrayList<>(values));
+                }
+            });
+            ProxyResponse updated = new ProxyResponse(200, headers, response.body);
+            return new Entry(updated, receivedAt, freshnessMillis(updated, cacheControl(updated.header("Cache-Control"))));
+        }
+
+        // La respuesta para el navegador, con Age (segundos desde que se guardó).
+        ProxyResponse toResponse(long now) {
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(response.headers);
+            headers.put("Age", List.of(Long.toString(Math.max(0, now - storedAt) / 1000)));
+            return new ProxyResponse(200, headers, response.body);
+        }
+
+        // 304 para un navegador que ya tiene esta versión (su If-None-Match / If-Modified-Since coincide).
+        ProxyResponse notModified() {
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String name : List.of("ETag", "Last-Modified", "Cache-Control", "Expires", "Date", "Vary")) {
+                List<String> values = response.headers.get(name);
+                if (values != null) {
+                    headers.put(name, values);
+                }
+            }
+            return new ProxyResponse(304, headers, new byte[0]);
+        }
+
+        boolean matches(ProxyRequest conditional) {
+            String ifNoneMatch = conditional.header("If-None-Match");
+            if (!ifNoneMatch.isEmpty()) {
+                return !etag().isEmpty() && (ifNoneMatch.equals("*") || List.of(ifNoneMatch.split("\\s*,\\s*")).contains(etag()));
+            }
+            String ifModifiedSince = conditional.header("If-Modified-Since");
+            return !ifModifiedSince.isEmpty() && ifModifiedSince.equals(lastModified());
+        }
+    }
+}
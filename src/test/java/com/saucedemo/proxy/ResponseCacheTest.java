@@ -0,0 +1,165 @@
+package com.saucedemo.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    private static final long NOW = 1_760_682_000_000L;
+    // Cada entrada vacía ocupa 512 bytes (cabeceras estimadas): caben tres.
+    private final ResponseCache cache = new ResponseCache(3 * 512, 1024);
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedFirst() {
+        cache.put("a", entry("Cache-Control", "max-age=60"));
+        cache.put("b", entry("Cache-Control", "max-age=60"));
+        cache.put("c", entry("Cache-Control", "max-age=60"));
+        cache.get("a");
+
+        cache.put("d", entry("Cache-Control", "max-age=60"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertTrue(cache.summary().contains("3 entradas, 1 expulsadas"), cache.summary());
+    }
+
+    @Test
+    void replacingAnEntryDoesNotCountItTwice() {
+        cache.put("a", entry("Cache-Control", "max-age=60"));
+        cache.put("a", entry("Cache-Control", "max-age=120"));
+        cache.put("b", entry("Cache-Control", "max-age=60"));
+        cache.put("c", entry("Cache-Control", "max-age=60"));
+
+        assertNotNull(cache.get("a"));
+        assertTrue(cache.summary().contains("0 expulsadas"), cache.summary());
+    }
+
+    @Test
+    void onlyCacheableResponsesAreStored() {
+        assertTrue(storable(200, "Cache-Control", "max-age=60").isPresent());
+        assertTrue(storable(200, "Cache-Control", "max-age=60", "Vary", "Accept-Encoding").isPresent());
+        // Sin vida pero con validador: se guarda para revalidarlo.
+        assertTrue(storable(200, "ETag", "\"v1\"").isPresent());
+
+        assertFalse(storable(404, "Cache-Control", "max-age=60").isPresent());
+        assertFalse(storable(200, "Cache-Control", "public, no-store").isPresent());
+        assertFalse(storable(200, "Cache-Control", "private, max-age=60").isPresent());
+        assertFalse(storable(200, "Cache-Control", "max-age=60", "Set-Cookie", "session=1").isPresent());
+        assertFalse(storable(200, "Cache-Control", "max-age=60", "Vary", "User-Agent").isPresent());
+        assertFalse(storable(200, "Content-Type", "text/html").isPresent());
+        assertFalse(cache.storable(new ProxyResponse(200, headers("Cache-Control", "max-age=60"), new byte[2048]), NOW).isPresent());
+    }
+
+    @Test
+    void freshnessFollowsTheHeadersInPriorityOrder() {
+        assertEquals(30_000, freshness("Cache-Control", "max-age=60, s-maxage=30"));
+        assertEquals(60_000, freshness("Cache-Control", "max-age=\"60\"", "Expires", "Thu, 01 Jan 2099 00:00:00 GMT"));
+        assertEquals(3_600_000, freshness(
+                "Date", "Fri, 17 Oct 2025 10:00:00 GMT", "Expires", "Fri, 17 Oct 2025 11:00:00 GMT"));
+        // Heurística: el 10% del tiempo desde la última modificación (10 h -> 1 h).
+        assertEquals(3_600_000, freshness(
+                "Date", "Fri, 17 Oct 2025 10:00:00 GMT", "Last-Modified", "Fri, 17 Oct 2025 00:00:00 GMT"));
+        assertEquals(0, freshness("Cache-Control", "no-cache, max-age=60", "ETag", "\"v1\""));
+    }
+
+    @Test
+    void entryIsFreshUntilItsLifetimeEnds() {
+        ResponseCache.Entry entry = entry("Cache-Control", "max-age=60");
+
+        assertTrue(entry.isFresh(NOW + 59_999));
+        assertFalse(entry.isFresh(NOW + 60_000));
+        assertEquals(List.of("30"), entry.toResponse(NOW + 30_000).headers.get("Age"));
+    }
+
+    @Test
+    void notModifiedRenewsTheHeadersAndKeepsTheBody() {
+        ResponseCache.Entry stale = new ResponseCache(4096, 4096).storable(new ProxyResponse(200,
+                headers("Cache-Control", "no-cache", "ETag", "\"v1\"", "Content-Length", "4"),
+                "body".getBytes(StandardCharsets.UTF_8)), NOW).orElseThrow();
+        assertFalse(stale.isFresh(NOW));
+
+        ResponseCache.Entry renewed = stale.refreshed(
+                new ProxyResponse(304, headers("Cache-Control", "max-age=60", "Content-Length", "0"), new byte[0]), NOW + 1000);
+
+        assertTrue(renewed.isFresh(NOW + 1000));
+        assertEquals("\"v1\"", renewed.etag());
+        assertEquals("4", renewed.response.header("Content-Length"));
+        assertArrayEquals("body".getBytes(StandardCharsets.UTF_8), renewed.response.body);
+    }
+
+    @Test
+    void conditionalRequestMatchesByETagOrLastModified() throws IOException {
+        ResponseCache.Entry entry = entry("ETag", "\"v2\"", "Last-Modified", "Fri, 17 Oct 2025 00:00:00 GMT");
+
+        assertTrue(entry.matches(request("If-None-Match", "\"v1\", \"v2\"")));
+        assertTrue(entry.matches(request("If-None-Match", "*")));
+        assertFalse(entry.matches(request("If-None-Match", "\"v1\"")));
+        // If-None-Match manda sobre If-Modified-Since.
+        assertFalse(entry.matches(request("If-None-Match", "\"v1\"", "If-Modified-Since", "Fri, 17 Oct 2025 00:00:00 GMT")));
+        assertTrue(entry.matches(request("If-Modified-Since", "Fri, 17 Oct 2025 00:00:00 GMT")));
+        assertFalse(entry.matches(request()));
+
+        ProxyResponse notModified = entry.notModified();
+        assertEquals(304, notModified.status);
+        assertEquals("\"v2\"", notModified.header("ETag"));
+        assertEquals(0, notModified.body.length);
+    }
+
+    @Test
+    void keyIncludesTheAcceptedEncoding() throws IOException {
+        assertEquals("http://x/app.js gzip", ResponseCache.key("http://x/app.js", request("Accept-Encoding", "gzip")));
+        assertEquals("http://x/app.js ", ResponseCache.key("http://x/app.js", request()));
+    }
+
+    private ResponseCache.Entry entry(String... headers) {
+        return new ResponseCache(4096, 4096).storable(new ProxyResponse(200, headers(headers), new byte[0]), NOW).orElseThrow();
+    }
+
+    private Optional<ResponseCache.Entry> storable(int status, String... headers) {
+        return cache.storable(new ProxyResponse(status, headers(headers), new byte[0]), NOW);
+    }
+
+    private long freshness(String... headers) {
+        return entry(with(headers, "ETag", "\"v1\"")).freshnessMillis;
+    }
+
+    private static String[] with(String[] headers, String name, String value) {
+        String[] all = Arrays.copyOf(headers, headers.length + 2);
+        all[headers.length] = name;
+        all[headers.length + 1] = value;
+        return all;
+    }
+
+    static Map<String, List<String>> headers(String... namesAndValues) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            headers.put(namesAndValues[i], List.of(namesAndValues[i + 1]));
+        }
+        return headers;
+    }
+
+    static ProxyRequest request(String... namesAndValues) throws IOException {
+        StringBuilder raw = new StringBuilder("GET http://saucedemo.test/ HTTP/1.1\r\n");
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            raw.append(namesAndValues[i]).append(": ").append(namesAndValues[i + 1]).append("\r\n");
+        }
+        return ProxyRequest.read(new ByteArrayInputStream(raw.append("\r\n").toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,142 @@
+package com.saucedemo.questions;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.http.BrowseOverHttp;
+import com.saucedemo.userinterfaces.ScriptLocators;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Question;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+  ElementVisibility: Question base "¿es visible este Target?" con espera explícita y acotada.
+
+  - Problema del patrón anterior (resolveFor(actor).isVisible() dentro de try/catch):
+    * En el camino negativo se esperaba el implicit wait completo antes de devolver false.
+    * En el positivo, si la página aún no había pintado el elemento, devolvía false sin reintentar.
+  - Cómo funciona:
+    * Cada sondeo es UN executeScript que comprueba en el navegador el Target esperado y, opcionalmente,
+      un Target "contrario" cuya presencia significa que el esperado no va a aparecer
+      (ej: el banner de error de login => el inventario no llegará).
+    * Devuelve true en cuanto el Target es visible; false si el contrario se ve en dos sondeos
+      seguidos (evita falsos negativos por un banner que está desapareciendo) o al llegar al plazo.
+    * executeScript no usa el implicit wait: cada sondeo cuesta una ida y vuelta al navegador.
+  - Configuración (ver TestSettings), ajustable por Question con within(...) / pollingEvery(...):
+    * saucedemo.questions.timeout.ms: plazo máximo (por defecto 5000).
+    * saucedemo.questions.polling.ms: intervalo entre sondeos (por defecto 100).
+  - Sin navegador (BrowseOverHttp) la página ya está completa al descargarla: se responde sin sondear.
+  - Uso:
+      ElementVisibility.of(INVENTORY_CONTAINER).unlessVisible(LOGIN_ERROR).answeredBy(actor)
+*/
+public class ElementVisibility implements Question<Boolean> {
+
+    private static final Duration DEFAULT_TIMEOUT = TestSettings.millisValue("saucedemo.questions.timeout.ms", 5000);
+    private static final Duration DEFAULT_POLLING = TestSettings.millisValue("saucedemo.questions.polling.ms", 100);
+
+    /* Argumentos: [estrategia, selector] del Target esperado y, si hay, del contrario (ver ScriptLocators).
+       Resultado: 1 = esperado visible, -1 = contrario visible, 0 = ninguno todavía. */
+    static final String PROBE_SCRIPT =
+            ScriptLocators.FIND_FUNCTION
+            + "function visible(using, value) {"
+            + "  var found = find(using, value);"
+            + "  for (var i = 0; i < found.length; i++) {"
+            + "    var el = found[i], style = window.getComputedStyle(el);"
+            + "    if (style.display !== 'none' && style.visibility !== 'hidden' && el.getClientRects().length > 0) {"
+            + "      return true;"
+            + "    }"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "if (visible(arguments[0], arguments[1])) { return 1; }"
+            + "if (arguments.length > 2 && visible(arguments[2], arguments[3])) { return -1; }"
+            + "return 0;";
+
+    private final Target expected;
+    private Target contradicting;
+    private Duration timeout = DEFAULT_TIMEOUT;
+    private Duration polling = DEFAULT_POLLING;
+
+    public ElementVisibility(Target expected) {
+        this.expected = expected;
+    }
+
+    public static ElementVisibility of(Target expected) {
+        return new ElementVisibility(expected);
+    }
+
+    // Target cuya presencia indica que el esperado no va a aparecer: la Question responde false sin agotar el plazo.
+    public ElementVisibility unlessVisible(Target contradicting) {
+        this.contradicting = contradicting;
+        return this;
+    }
+
+    public ElementVisibility within(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public ElementVisibility pollingEvery(Duration polling) {
+        this.polling = polling;
+        return this;
+    }
+
+    @Override
+    public Boolean answeredBy(Actor actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            return BrowseOverHttp.as(actor).isVisible(expected);
+        }
+        JavascriptExecutor js = (JavascriptExecutor) BrowseTheWeb.as(actor).getDriver();
+        Object[] arguments = contradicting == null
+                ? ScriptLocators.argumentsFor(expected)
+                : concat(ScriptLocators.argumentsFor(expected), ScriptLocators.argumentsFor(contradicting));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean contradictedLastTime = false;
+        while (true) {
+            long state = probe(js, arguments);
+            if (state > 0) {
+                return true;
+            }
+            if (state < 0 && contradictedLastTime) {
+                return false;
+            }
+            contradictedLastTime = state < 0;
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(remaining, polling.toNanos()));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    /* Un sondeo. Mientras la página navega el script puede fallar: cuenta como "todavía no".
+       Sin sesión o sin ventana no hay nada que esperar. */
+    private static long probe(JavascriptExecutor js, Object[] arguments) {
+        try {
+            Object result = js.executeScript(PROBE_SCRIPT, arguments);
+            return result instanceof Number ? ((Number) result).longValue() : 0;
+        } catch (NoSuchSessionException | NoSuchWindowException e) {
+            return -1;
+        } catch (WebDriverException e) {
+            return 0;
+        }
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        return new Object[] {first[0], first[1], second[0], second[1]};
+    }
+
+    @Override
+    public String toString() {
+        return "visibility of " + expected.getName();
+    }
+}
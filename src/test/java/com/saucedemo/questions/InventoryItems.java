@@ -0,0 +1,265 @@
+package com.saucedemo.questions;
+
+import com.saucedemo.http.BrowseOverHttp;
+import com.saucedemo.userinterfaces.InventoryPage;
+import com.saucedemo.userinterfaces.ScriptLocators;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Question;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+  InventoryItems: Questions que leen el contenido del inventario (cuántos productos, nombres, precios, orden).
+
+  - Problema del camino habitual (resolveAllFor(actor) y getText() por elemento): cada producto cuesta
+    varios comandos WebDriver (findElements + un getText por campo), una ida y vuelta a chromedriver cada uno.
+    Con el catálogo real son decenas; con miles de productos (saucedemo.standin.inventory.size) son minutos.
+  - Cómo funciona:
+    * count(): UN executeScript que devuelve solo el número de INVENTORY_ITEMS.
+    * names() / prices() / areSortedBy(...): UN executeScript que recorre los productos en el navegador y
+      devuelve un único String compacto con los campos pedidos y nada más:
+        nombre<US>precio<RS>nombre<US>precio<RS>...   (US = U+001F separa campos, RS = U+001E cierra cada producto)
+      Un String viaja por el protocolo de WebDriver como un único valor JSON; una lista de objetos
+      obligaría a deserializar un mapa por producto.
+    * Payload lo recorre con indexOf sobre el String original: los precios se convierten a céntimos sin crear
+      Strings intermedios y areSortedBy(...) compara cada producto con el anterior sin construir listas.
+  - Los campos (ITEM_NAME, ITEM_PRICE) se buscan DENTRO de cada producto; un producto sin el campo aporta "".
+  - Sin navegador (BrowseOverHttp) se construye el mismo payload con jsoup: un único parser para los dos modos.
+  - Uso:
+      actor.should(seeThat(InventoryItems.count(), is(6)));
+      actor.should(seeThat(InventoryItems.areSortedBy(InventoryOrder.NAME_A_TO_Z), is(true)));
+*/
+public final class InventoryItems {
+
+    static final char FIELD_SEPARATOR = '\u001F';
+    static final char RECORD_SEPARATOR = '\u001E';
+
+    private static final Target ITEMS = InventoryPage.INVENTORY_ITEMS;
+
+    /* Argumentos: [estrategia, selector] de los productos (ver ScriptLocators). */
+    static final String COUNT_SCRIPT =
+            ScriptLocators.FIND_FUNCTION
+            + "return find(arguments[0], arguments[1]).length;";
+
+    /* Argumentos: [estrategia, selector] de los productos y, por cada campo, [estrategia, selector] relativo al producto.
+       Resultado: el payload descrito arriba (textos con los espacios normalizados, como getText()). */
+    static final String EXTRACT_SCRIPT =
+            ScriptLocators.FIND_FUNCTION
+            + "function inside(root, using, value) {"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return root.querySelector(value);"
+            + "}"
+            + "function text(el) { return el ? el.textContent.replace(/[\\s\\u001E\\u001F]+/g, ' ').trim() : ''; }"
+            + "var items = find(arguments[0], arguments[1]), out = new Array(items.length);"
+            + "for (var i = 0; i < items.length; i++) {"
+            + "  var record = '';"
+            + "  for (var a = 2; a < arguments.length; a += 2) {"
+            + "    record += (a > 2 ? '\\u001F' : '') + text(inside(items[i], arguments[a], arguments[a + 1]));"
+            + "  }"
+            + "  out[i] = record + '\\u001E';"
+            + "}"
+            + "return out.join('');";
+
+    private InventoryItems() {
+    }
+
+    public static Question<Integer> count() {
+        return Question.about("number of products").answeredBy(InventoryItems::countFor);
+    }
+
+    public static Question<List<String>> names() {
+        return Question.about("product names")
+                .answeredBy(actor -> Payload.of(actor, InventoryPage.ITEM_NAME).texts().toList());
+    }
+
+    public static Question<List<BigDecimal>> prices() {
+        return Question.about("product prices")
+                .answeredBy(actor -> Payload.of(actor, InventoryPage.ITEM_PRICE).cents()
+                        .mapToObj(cents -> BigDecimal.valueOf(cents, 2))
+                        .toList());
+    }
+
+    public static Question<Boolean> areSortedBy(InventoryOrder order) {
+        return Question.about("products sorted by " + order).answeredBy(actor -> order.byPrice()
+                ? Payload.of(actor, InventoryPage.ITEM_PRICE).isSortedByCents(order)
+                : Payload.of(actor, InventoryPage.ITEM_NAME).isSortedByText(order));
+    }
+
+    private static int countFor(Actor actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            return BrowseOverHttp.as(actor).elements(ITEMS).size();
+        }
+        JavascriptExecutor js = (JavascriptExecutor) BrowseTheWeb.as(actor).getDriver();
+        return ((Number) js.executeScript(COUNT_SCRIPT, ScriptLocators.argumentsFor(ITEMS))).intValue();
+    }
+
+    /* Payload: el String devuelto por EXTRACT_SCRIPT (o por jsoup) y su recorrido en streaming.
+       De momento cada Question pide un solo campo, así que se lee siempre el campo 0 de cada producto. */
+    static final class Payload {
+
+        private final String text;
+
+        Payload(String text) {
+            this.text = text;
+        }
+
+        static Payload of(Actor actor, Target field) {
+            if (BrowseOverHttp.isAvailableTo(actor)) {
+                return new Payload(fromHtml(BrowseOverHttp.as(actor).elements(ITEMS), field));
+            }
+            Object[] items = ScriptLocators.argumentsFor(ITEMS);
+            Object[] inside = ScriptLocators.argumentsFor(field);
+            JavascriptExecutor js = (JavascriptExecutor) BrowseTheWeb.as(actor).getDriver();
+            Object result = js.executeScript(EXTRACT_SCRIPT, items[0], items[1], inside[0], inside[1]);
+            return new Payload(result == null ? "" : result.toString());
+        }
+
+        private static String fromHtml(Elements items, Target field) {
+            Object[] locator = ScriptLocators.argumentsFor(field);
+            String selector = String.valueOf(locator[1]);
+            boolean xpath = "xpath".equals(locator[0]);
+            StringBuilder payload = new StringBuilder(items.size() * 32);
+            for (Element item : items) {
+                Element value = xpath ? item.selectXpath(selector).first() : item.selectFirst(selector);
+                if (value != null) {
+                    payload.append(value.text().replace(FIELD_SEPARATOR, ' ').replace(RECORD_SEPARATOR, ' '));
+                }
+                payload.append(RECORD_SEPARATOR);
+            }
+            return payload.toString();
+        }
+
+        Stream<String> texts() {
+            Cursor cursor = new Cursor();
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super String> action) {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(text.substring(cursor.start, cursor.end));
+                    return true;
+                }
+            }, false);
+        }
+
+        LongStream cents() {
+            Cursor cursor = new Cursor();
+            return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(LongConsumer action) {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(cents(cursor.start, cursor.end));
+                    return true;
+                }
+            }, false);
+        }
+
+        boolean isSortedByText(InventoryOrder order) {
+            Cursor cursor = new Cursor();
+            int previousStart = -1;
+            int previousEnd = -1;
+            while (cursor.next()) {
+                if (previousStart >= 0 && !order.allows(compareRegions(cursor.start, cursor.end, previousStart, previousEnd))) {
+                    return false;
+                }
+                previousStart = cursor.start;
+                previousEnd = cursor.end;
+            }
+            return true;
+        }
+
+        boolean isSortedByCents(InventoryOrder order) {
+            Cursor cursor = new Cursor();
+            long previous = 0;
+            boolean first = true;
+            while (cursor.next()) {
+                long current = cents(cursor.start, cursor.end);
+                if (!first && !order.allows(Long.compare(current, previous))) {
+                    return false;
+                }
+                previous = current;
+                first = false;
+            }
+            return true;
+        }
+
+        // Mismo resultado que text.substring(a...).compareTo(text.substring(b...)), sin crear los Strings.
+        private int compareRegions(int aStart, int aEnd, int bStart, int bEnd) {
+            int length = Math.min(aEnd - aStart, bEnd - bStart);
+            for (int i = 0; i < length; i++) {
+                int difference = text.charAt(aStart + i) - text.charAt(bStart + i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return (aEnd - aStart) - (bEnd - bStart);
+        }
+
+        /* "$29.99" -> 2999. Ignora símbolos de moneda y separadores de miles; admite 0, 1 o 2 decimales. */
+        private long cents(int start, int end) {
+            long units = 0;
+            int decimals = -1;
+            boolean digits = false;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (decimals < 0) {
+                        units = units * 10 + (c - '0');
+                    } else if (decimals < 2) {
+                        units = units * 10 + (c - '0');
+                        decimals++;
+                    }
+                    digits = true;
+                } else if (c == '.' && decimals < 0) {
+                    decimals = 0;
+                }
+            }
+            if (!digits) {
+                throw new IllegalStateException("Precio sin cifras en el inventario: '" + text.substring(start, end) + "'");
+            }
+            for (int missing = 2 - Math.max(0, decimals); missing > 0; missing--) {
+                units *= 10;
+            }
+            return units;
+        }
+
+        /* Cursor: posición [start, end) del campo 0 del producto actual; next() avanza al siguiente producto. */
+        private final class Cursor {
+            private int position;
+            private int start;
+            private int end;
+
+            boolean next() {
+                int recordEnd = text.indexOf(RECORD_SEPARATOR, position);
+                if (recordEnd < 0) {
+                    return false;
+                }
+                int fieldEnd = text.indexOf(FIELD_SEPARATOR, position);
+                start = position;
+                end = fieldEnd < 0 || fieldEnd > recordEnd ? recordEnd : fieldEnd;
+                position = recordEnd + 1;
+                return true;
+            }
+        }
+    }
+}
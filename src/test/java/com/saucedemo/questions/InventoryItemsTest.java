@@ -0,0 +1,73 @@
+package com.saucedemo.questions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryItemsTest {
+
+    private static final char US = InventoryItems.FIELD_SEPARATOR;
+    private static final char RS = InventoryItems.RECORD_SEPARATOR;
+
+    @Test
+    void textsReadTheFirstFieldOfEachRecord() {
+        InventoryItems.Payload payload = payload("Sauce Labs Backpack" + US + "$29.99" + RS + "Onesie" + RS + RS);
+
+        // El tercer producto no tenía el campo: aporta "".
+        assertEquals(List.of("Sauce Labs Backpack", "Onesie", ""), payload.texts().toList());
+    }
+
+    @Test
+    void emptyPayloadHasNoProducts() {
+        assertEquals(List.of(), payload("").texts().toList());
+        assertEquals(0, payload("").cents().count());
+        assertTrue(payload("").isSortedByText(InventoryOrder.NAME_A_TO_Z));
+    }
+
+    @Test
+    void pricesAreParsedToCents() {
+        InventoryItems.Payload payload = payload(records("$29.99", "$7.9", "$15", "€1,234.50", "0.005"));
+
+        assertArrayEquals(new long[] {2999, 790, 1500, 123450, 0}, payload.cents().toArray());
+    }
+
+    @Test
+    void priceWithoutDigitsFails() {
+        assertThrows(IllegalStateException.class, () -> payload(records("gratis")).cents().toArray());
+    }
+
+    @Test
+    void sortedByTextComparesLikeStringCompareTo() {
+        assertTrue(payload(records("Backpack", "Bike Light", "Bike Light", "Onesie")).isSortedByText(InventoryOrder.NAME_A_TO_Z));
+        assertFalse(payload(records("Bike", "Backpack")).isSortedByText(InventoryOrder.NAME_A_TO_Z));
+        // Un prefijo va antes que el nombre más largo.
+        assertTrue(payload(records("Onesie", "Bike Light", "Bike")).isSortedByText(InventoryOrder.NAME_Z_TO_A));
+        assertFalse(payload(records("Bike", "Bike Light")).isSortedByText(InventoryOrder.NAME_Z_TO_A));
+    }
+
+    @Test
+    void sortedByCentsComparesNumbersNotText() {
+        // Como texto "$9.99" > "$15.99"; como precio no.
+        assertTrue(payload(records("$7.99", "$9.99", "$15.99", "$15.99")).isSortedByCents(InventoryOrder.PRICE_LOW_TO_HIGH));
+        assertFalse(payload(records("$9.99", "$7.99")).isSortedByCents(InventoryOrder.PRICE_LOW_TO_HIGH));
+        assertTrue(payload(records("$49.99", "$9.99", "$7.99")).isSortedByCents(InventoryOrder.PRICE_HIGH_TO_LOW));
+    }
+
+    private static InventoryItems.Payload payload(String text) {
+        return new InventoryItems.Payload(text);
+    }
+
+    private static String records(String... values) {
+        StringBuilder text = new StringBuilder();
+        for (String value : values) {
+            text.append(value).append(RS);
+        }
+        return text.toString();
+    }
+}
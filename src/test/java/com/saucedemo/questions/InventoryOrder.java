@@ -0,0 +1,51 @@
+package com.saucedemo.questions;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/*
+  InventoryOrder: los cuatro órdenes del desplegable de ordenación del inventario de SauceDemo.
+
+  - label: el texto de la opción en la web ("Name (A to Z)"...), el mismo que se escribe en las features.
+  - Por nombre se compara carácter a carácter (String.compareTo); por precio, en céntimos.
+  - Los empates no rompen el orden (dos productos al mismo precio pueden salir en cualquier orden).
+*/
+public enum InventoryOrder {
+
+    NAME_A_TO_Z("Name (A to Z)", false, false),
+    NAME_Z_TO_A("Name (Z to A)", false, true),
+    PRICE_LOW_TO_HIGH("Price (low to high)", true, false),
+    PRICE_HIGH_TO_LOW("Price (high to low)", true, true);
+
+    private final String label;
+    private final boolean byPrice;
+    private final boolean descending;
+
+    InventoryOrder(String label, boolean byPrice, boolean descending) {
+        this.label = label;
+        this.byPrice = byPrice;
+        this.descending = descending;
+    }
+
+    public static InventoryOrder withLabel(String label) {
+        return Arrays.stream(values())
+                .filter(order -> order.label.equalsIgnoreCase(label.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Orden desconocido: '" + label + "'. Opciones: "
+                        + Arrays.stream(values()).map(order -> order.label).collect(Collectors.joining(", "))));
+    }
+
+    boolean byPrice() {
+        return byPrice;
+    }
+
+    // comparison: resultado de comparar un producto con el anterior (negativo, 0 o positivo).
+    boolean allows(int comparison) {
+        return descending ? comparison <= 0 : comparison >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
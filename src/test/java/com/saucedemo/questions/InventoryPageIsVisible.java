@@ -1,9 +1,10 @@
 package com.saucedemo.questions;
 
+import com.saucedemo.userinterfaces.InventoryPage;
+import com.saucedemo.userinterfaces.LoginPage;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Question;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.By;
 
 /*
   Question: InventoryPageIsVisible
@@ -29,32 +30,27 @@ import org.openqa.selenium.By;
 */
 public class InventoryPageIsVisible implements Question<Boolean> {
 
-    // Localizador ejemplo: ajusta si tu aplicación usa otro id/selector
-    private static final Target INVENTORY_CONTAINER =
-            Target.the("inventory container").located(By.id("inventory_container"));
+    // Alias del Target declarado en InventoryPage (registro central de localizadores).
+    private static final Target INVENTORY_CONTAINER = InventoryPage.INVENTORY_CONTAINER;
 
     /* -------------------------------------------------------------
        answeredBy(Actor actor): qué hace y por qué
        -------------------------------------------------------------
        - Método obligatorio de la interfaz Question<Boolean>.
        - Recibe el Actor que "pregunta" y devuelve el valor de la consulta.
-       - No realiza acciones mutables; sólo inspecciona (resolveFor + isVisible).
+       - No realiza acciones mutables; sólo inspecciona (ver ElementVisibility).
        - Uso típico:
            Boolean visible = new InventoryPageIsVisible().answeredBy(actor);
            actor.should(seeThat(InventoryPageIsVisible.isVisible(), is(true)));
-       - Se usa try/catch para devolver false en caso de errores (elemento no presente),
-         evitando que una excepción técnica rompa la verificación y permitiendo mensajes claros.
+       - Espera acotada: sondea hasta que el contenedor es visible o hasta el plazo configurado.
+         Si aparece el mensaje de error de login, el inventario no va a llegar: responde false en el acto
+         (antes esperaba el implicit wait completo y se tragaba la excepción).
     */
     @Override
     public Boolean answeredBy(Actor actor) {
-        try {
-            // resolveFor(actor) obtiene el WebElementFacade usando la Ability BrowseTheWeb del actor.
-            // isVisible() devuelve verdadero si el elemento está presente y visible en la UI.
-            return INVENTORY_CONTAINER.resolveFor(actor).isVisible();
-        } catch (Exception e) {
-            // Devolver false cuando no se encuentra/accede al elemento hace la Question robusta.
-            return false;
-        }
+        return ElementVisibility.of(INVENTORY_CONTAINER)
+                .unlessVisible(LoginPage.ERROR_MESSAGE)
+                .answeredBy(actor);
     }
 
     /* -------------------------------------------------------------
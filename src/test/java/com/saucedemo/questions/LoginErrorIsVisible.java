@@ -1,9 +1,10 @@
 package com.saucedemo.questions;
 
+import com.saucedemo.userinterfaces.InventoryPage;
+import com.saucedemo.userinterfaces.LoginPage;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Question;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.By;
 
 /*
   Question para comprobar si el mensaje de error de login es visible.
@@ -31,16 +32,15 @@ import org.openqa.selenium.By;
       - StepDefinitions = orquestan Tasks/Questions sin manipular WebDriver.
     * Facilita el reporting: cada interacción y pregunta queda registrada en los reports.
 
-  - Manejo de errores:
-    * Se usa try/catch para devolver false si el elemento no existe o no es accesible,
-      evitando que una excepción técnica rompa la ejecución de la Question.
+  - Espera (ver ElementVisibility):
+    * Sondea hasta que el mensaje aparece o hasta el plazo configurado, sin depender del implicit wait.
+    * Si lo que aparece es el inventario (login correcto), responde false sin agotar el plazo.
 */
 
 public class LoginErrorIsVisible implements Question<Boolean> {
 
-    // Centraliza el selector del mensaje de error. Ajustar selector si la app cambia.
-    private static final Target ERROR_MESSAGE =
-            Target.the("login error message").located(By.cssSelector("[data-test='error'], .error-message-container"));
+    // Selector del mensaje de error: declarado en LoginPage (registro central de localizadores).
+    private static final Target ERROR_MESSAGE = LoginPage.ERROR_MESSAGE;
 
     /**
      * answeredBy:
@@ -50,15 +50,9 @@ public class LoginErrorIsVisible implements Question<Boolean> {
      */
     @Override
     public Boolean answeredBy(Actor actor) {
-        try {
-            // resolveFor(actor) obtiene el WebElementFacade en el contexto del actor.
-            // isVisible() devuelve true si el elemento está presente y visible.
-            return ERROR_MESSAGE.resolveFor(actor).isVisible();
-        } catch (Exception e) {
-            // Si no se encuentra el elemento o hay cualquier excepción, devolvemos false.
-            // Esto hace la Question robusta frente a cambios temporales en la UI.
-            return false;
-        }
+        return ElementVisibility.of(ERROR_MESSAGE)
+                .unlessVisible(InventoryPage.INVENTORY_CONTAINER)
+                .answeredBy(actor);
     }
 
     /**
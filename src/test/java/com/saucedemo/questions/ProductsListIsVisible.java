@@ -1,12 +1,10 @@
 package com.saucedemo.questions;
 
-import net.serenitybdd.core.pages.WebElementFacade;
+import com.saucedemo.userinterfaces.InventoryPage;
+import com.saucedemo.userinterfaces.LoginPage;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Question;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.By;
-
-import java.util.List;
 
 /*
   Question: ProductsListIsVisible
@@ -25,25 +23,20 @@ public class ProductsListIsVisible implements Question<Boolean> {
        - final: el Target no cambia en tiempo de ejecución.
        - Beneficio: mantenimiento más sencillo si cambia el DOM.
     */
-    private static final Target PRODUCT_ITEMS =
-            Target.the("product items").located(By.cssSelector(".inventory_item"));
+    private static final Target PRODUCT_ITEMS = InventoryPage.INVENTORY_ITEMS;
 
     /* answeredBy(Actor actor)
        - Método obligatorio de Question<Boolean>. Aquí se implementa la lógica de lectura.
-       - Se recibe el Actor que tiene la Ability BrowseTheWeb; resolveAllFor usa esa Ability.
+       - Se recibe el Actor que tiene la Ability BrowseTheWeb (ElementVisibility usa su driver).
        - No realiza acciones que muten la aplicación, solo inspecciona elementos.
-       - Uso de try/catch: hace la Question robusta frente a cambios o ausencias del elemento.
-       - Ejemplo conceptual: devuelve true si existe al menos un item visible.
+       - Devuelve true en cuanto hay al menos un item visible; false si aparece el error de login
+         o al llegar al plazo configurado (ver ElementVisibility).
     */
     @Override
     public Boolean answeredBy(Actor actor) {
-        try {
-            List<WebElementFacade> items = PRODUCT_ITEMS.resolveAllFor(actor);
-            return items != null && !items.isEmpty() && items.get(0).isVisible();
-        } catch (Exception e) {
-            // Si hay cualquier error técnico (no encontrado, stale element, etc.) devolvemos false.
-            return false;
-        }
+        return ElementVisibility.of(PRODUCT_ITEMS)
+                .unlessVisible(LoginPage.ERROR_MESSAGE)
+                .answeredBy(actor);
     }
 
     /* Factory method areVisible()
@@ -0,0 +1,238 @@
+package com.saucedemo.reports;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.screenshots.ScreenshotWriter;
+import net.thucydides.core.reports.html.HtmlAcceptanceTestReporter;
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.reports.json.JSONTestOutcomeReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/*
+  IncrementalReport: el informe HTML de Serenity generado durante la ejecución, no al final.
+
+  - Sin esto: el goal aggregate de serenity-maven-plugin, al terminar TODAS las pruebas, vuelve a renderizar
+    la página de cada escenario (Freemarker) y todo el sitio, aunque el resultado no haya cambiado.
+  - Con saucedemo.report.incremental=true (perfil Maven "incremental-report"):
+    * Al terminar cada escenario (IncrementalReportListener) su resultado se escribe ya en JSON
+      (<hash>.json, el mismo fichero que Serenity reescribe al final) y se encola.
+    * Un hilo en segundo plano renderiza la página HTML de cada resultado mientras siguen las pruebas.
+    * Hash de contenido (SHA-256 del JSON) por resultado en incremental-report.json: si el JSON no ha cambiado
+      y su página existe, no se vuelve a renderizar (p. ej. resultados de ejecuciones anteriores sin mvn clean,
+      con selección por impacto o por forks).
+    * Al final (testRunFinished, después de que Serenity escriba sus JSON): se repasan todos los resultados
+      con el mismo criterio y se generan solo las páginas de resumen (portada, tags, requisitos).
+      Los recursos estáticos (CSS, JS, fuentes) Serenity ya los copia una sola vez (marcador en el directorio).
+  - Con saucedemo.parallel.threads > 1 el informe lo escribe SerenityReporterParallel, que entrega los resultados
+    al terminar la ejecución: las páginas se renderizan entonces, pero se siguen saltando las que no cambian.
+  - Tiempos: se imprimen ([IncrementalReport]) y se guardan en report-generation.json para seguir su evolución.
+*/
+public final class IncrementalReport {
+
+    static final String MANIFEST = "incremental-report.json";
+    static final String TIMINGS = "report-generation.json";
+    // Resultados de Serenity: <sha-256 del nombre del escenario>.json
+    private static final Pattern OUTCOME_FILE = Pattern.compile("[0-9a-f]{64}\\.json");
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.report.incremental", false);
+    private static final IncrementalReport SHARED = new IncrementalReport(
+            Paths.get(TestSettings.stringValue("serenity.outputDirectory", "target/site/serenity")));
+
+    private final Path outputDirectory;
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "serenity-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, String> manifest = new ConcurrentHashMap<>();
+    private final AtomicInteger rendered = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private volatile boolean manifestLoaded;
+
+    private IncrementalReport(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static IncrementalReport shared() {
+        return SHARED;
+    }
+
+    /* SuiteDaemon, entre ejecuciones en la misma JVM: los contadores del resumen son de cada ejecución.
+       El manifest no se toca: sigue sirviendo para no renderizar de nuevo páginas sin cambios. */
+    public static void resetRun() {
+        SHARED.rendered.set(0);
+        SHARED.unchanged.set(0);
+        SHARED.renderNanos.set(0);
+    }
+
+    /* En el hilo del escenario: solo la escritura del JSON (una instantánea del resultado);
+       el render, más caro, se hace en segundo plano a partir de ese fichero. */
+    void scenarioFinished(TestOutcome outcome) {
+        try {
+            Files.createDirectories(outputDirectory);
+            JSONTestOutcomeReporter json = new JSONTestOutcomeReporter();
+            json.setOutputDirectory(outputDirectory.toFile());
+            File written = json.generateReportFor(outcome);
+            renderer.submit(() -> renderIfChanged(written.toPath()));
+        } catch (IOException e) {
+            System.out.println("[IncrementalReport] no se pudo escribir el resultado de " + outcome.getName() + ": " + e);
+        }
+    }
+
+    /* Fin de la ejecución: repaso de todos los resultados y páginas de resumen.
+       Espera al hilo en segundo plano: la JVM no debe terminar con el informe a medias. */
+    void runFinished() {
+        long waitStarted = System.nanoTime();
+        // Las capturas de los escenarios fallidos se escriben en segundo plano: deben estar en disco antes del informe.
+        ScreenshotWriter.shared().drain();
+        try {
+            long[] summaryNanos = renderer.submit(() -> {
+                renderAllChanged();
+                long started = System.nanoTime();
+                generateSummaryPages();
+                return new long[] {System.nanoTime() - started};
+            }).get();
+            long waitNanos = System.nanoTime() - waitStarted;
+            saveManifest();
+            report(summaryNanos[0], waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("[IncrementalReport] fallo generando el informe: " + e.getCause());
+        }
+        // El hilo de render (daemon) no se cierra: SuiteDaemon hace varias ejecuciones en la misma JVM.
+    }
+
+    private void renderAllChanged() throws IOException {
+        try (DirectoryStream<Path> outcomes = Files.newDirectoryStream(outputDirectory,
+                file -> OUTCOME_FILE.matcher(file.getFileName().toString()).matches())) {
+            for (Path outcome : outcomes) {
+                renderIfChanged(outcome);
+            }
+        }
+    }
+
+    // Manifest: <fichero JSON> -> "<sha-256 del JSON> <página HTML>"
+    private void renderIfChanged(Path json) {
+        loadManifest();
+        try {
+            String hash = sha256(Files.readAllBytes(json));
+            String previous = manifest.get(json.getFileName().toString());
+            if (previous != null && previous.startsWith(hash + " ")
+                    && Files.exists(outputDirectory.resolve(previous.substring(hash.length() + 1)))) {
+                unchanged.incrementAndGet();
+                return;
+            }
+            long started = System.nanoTime();
+            Optional<TestOutcome> outcome = new JSONTestOutcomeReporter().loadReportFrom(json);
+            if (outcome.isEmpty()) {
+                return;
+            }
+            HtmlAcceptanceTestReporter html = new HtmlAcceptanceTestReporter();
+            html.setOutputDirectory(outputDirectory.toFile());
+            File page = html.generateReportFor(outcome.get());
+            renderNanos.addAndGet(System.nanoTime() - started);
+            rendered.incrementAndGet();
+            manifest.put(json.getFileName().toString(), hash + " " + page.getName());
+        } catch (IOException e) {
+            System.out.println("[IncrementalReport] no se pudo renderizar " + json.getFileName() + ": " + e);
+        }
+    }
+
+    // Como el goal aggregate, pero sin setGenerateTestOutcomeReports(): las páginas de escenario ya están hechas.
+    private void generateSummaryPages() throws IOException {
+        HtmlAggregateStoryReporter reporter = new HtmlAggregateStoryReporter("default");
+        reporter.setProjectDirectory(Paths.get("").toAbsolutePath().toString());
+        reporter.setSourceDirectory(outputDirectory.toFile());
+        reporter.setOutputDirectory(outputDirectory.toFile());
+        reporter.generateReportsForTestResultsFrom(outputDirectory.toFile());
+    }
+
+    private void loadManifest() {
+        if (manifestLoaded) {
+            return;
+        }
+        manifestLoaded = true;
+        Path file = outputDirectory.resolve(MANIFEST);
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, String> saved = new Gson().fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                        new TypeToken<Map<String, String>>() { }.getType());
+                if (saved != null) {
+                    manifest.putAll(saved);
+                }
+            } catch (IOException | JsonParseException e) {
+                // manifest ilegible: se renderiza todo de nuevo
+            }
+        }
+    }
+
+    private void saveManifest() {
+        write(outputDirectory.resolve(MANIFEST), new Gson().toJson(new TreeMap<>(manifest)));
+    }
+
+    private void report(long summaryNanos, long waitNanos) {
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("renderedPages", rendered.get());
+        timings.put("unchangedPages", unchanged.get());
+        timings.put("renderMillis", millis(renderNanos.get()));
+        timings.put("summaryMillis", millis(summaryNanos));
+        timings.put("waitAfterLastTestMillis", millis(waitNanos));
+        write(outputDirectory.resolve(TIMINGS), new GsonBuilder().setPrettyPrinting().create().toJson(timings));
+        System.out.printf("[IncrementalReport] páginas de escenario: %d renderizadas (%.1fs, en segundo plano),"
+                        + " %d sin cambios; resumen %.1fs; espera tras la última prueba %.1fs (%s)%n",
+                rendered.get(), renderNanos.get() / 1e9, unchanged.get(), summaryNanos / 1e9, waitNanos / 1e9,
+                outputDirectory.resolve("index.html"));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.saucedemo.reports;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.steps.StepListenerAdapter;
+
+import java.time.ZonedDateTime;
+
+/*
+  IncrementalReportListener: StepListener de Serenity que alimenta IncrementalReport.
+
+  - Registrado por ServiceLoader (META-INF/services/net.thucydides.model.steps.StepListener):
+    Serenity crea uno por bus de eventos, por eso todos delegan en IncrementalReport.shared().
+  - testFinished: el resultado del escenario ya está cerrado (Cucumber no lo escribe hasta el final).
+  - testRunFinished: el runner lo lanza después de que Serenity haya escrito todos sus resultados.
+*/
+public class IncrementalReportListener extends StepListenerAdapter {
+
+    @Override
+    public void testFinished(TestOutcome result) {
+        if (IncrementalReport.isEnabled()) {
+            IncrementalReport.shared().scenarioFinished(result);
+        }
+    }
+
+    @Override
+    public void testFinished(TestOutcome result, boolean isInDataDrivenTest, ZonedDateTime finishTime) {
+        testFinished(result);
+    }
+
+    @Override
+    public void testRunFinished() {
+        if (IncrementalReport.isEnabled()) {
+            IncrementalReport.shared().runFinished();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.saucedemo.retry;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.steps.StepListenerAdapter;
+
+import java.time.ZonedDateTime;
+
+/*
+  AttemptOutcomeListener: StepListener de Serenity que apunta, por hilo, el resultado del último escenario terminado.
+
+  - Registrado por ServiceLoader (META-INF/services/net.thucydides.model.steps.StepListener).
+  - En serie (SerenityReporter) testFinished llega en el hilo del escenario al terminar cada intento:
+    SerenityAttempts descarta exactamente ese resultado si se reintenta, no "el resultado actual" del bus.
+  - En paralelo (SerenityReporterParallel) los resultados se reproducen todos al terminar la ejecución:
+    testFinished llega entonces, una vez por escenario, y SerenityAttempts etiqueta los que pasaron al reintentar.
+*/
+public class AttemptOutcomeListener extends StepListenerAdapter {
+
+    private static final ThreadLocal<TestOutcome> LAST_FINISHED = new ThreadLocal<>();
+
+    static TestOutcome lastFinishedInThisThread() {
+        TestOutcome outcome = LAST_FINISHED.get();
+        LAST_FINISHED.remove();
+        return outcome;
+    }
+
+    @Override
+    public void testFinished(TestOutcome result) {
+        LAST_FINISHED.set(result);
+        SerenityAttempts.outcomeReplayed(result);
+    }
+
+    @Override
+    public void testFinished(TestOutcome result, boolean isInDataDrivenTest, ZonedDateTime finishTime) {
+        testFinished(result);
+    }
+}
@@ -0,0 +1,68 @@
+package com.saucedemo.retry;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+  FailureKind: de qué tipo es el fallo de un escenario, para decidir cuántas veces se reintenta.
+
+  - INFRA: el entorno, no la aplicación.
+    * Navegador caído o sin sesión (NoSuchSession, SessionNotCreated, UnreachableBrowser, "chrome not reachable"...).
+    * Plazos de WebDriver (TimeoutException) y errores de red (IOException, también en BrowseOverHttp).
+    * Excepciones lanzadas desde com.saucedemo.drivers (DriverPool sin navegadores libres, chromedriver que no arranca).
+  - ASSERTION: todo lo demás. Una aserción que no se cumple (Then ...) o un elemento que no está:
+    puede ser un fallo real o un repintado a destiempo; un reintento lo distingue.
+  - Se recorre toda la cadena de causas: Serenity y Cucumber envuelven a menudo la excepción original.
+*/
+public enum FailureKind {
+
+    INFRA,
+    ASSERTION;
+
+    private static final List<String> CRASH_MESSAGES = List.of(
+            "chrome not reachable", "disconnected:", "tab crashed", "target crashed",
+            "session deleted", "invalid session id", "connection refused");
+
+    public static FailureKind of(List<Throwable> failures) {
+        return failures.stream().anyMatch(FailureKind::isInfra) ? INFRA : ASSERTION;
+    }
+
+    static boolean isInfra(Throwable failure) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = failure; current != null && seen.add(current); current = current.getCause()) {
+            if (current instanceof NoSuchSessionException
+                    || current instanceof SessionNotCreatedException
+                    || current instanceof UnreachableBrowserException
+                    || current instanceof TimeoutException
+                    || current instanceof java.util.concurrent.TimeoutException
+                    || current instanceof IOException
+                    || current instanceof UncheckedIOException
+                    || thrownByDrivers(current)) {
+                return true;
+            }
+            if (current instanceof WebDriverException && current.getMessage() != null) {
+                String message = current.getMessage().toLowerCase(Locale.ROOT);
+                if (CRASH_MESSAGES.stream().anyMatch(message::contains)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean thrownByDrivers(Throwable failure) {
+        StackTraceElement[] stack = failure.getStackTrace();
+        return stack.length > 0 && stack[0].getClassName().startsWith("com.saucedemo.drivers.");
+    }
+}
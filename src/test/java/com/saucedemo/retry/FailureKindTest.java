@@ -0,0 +1,64 @@
+package com.saucedemo.retry;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailureKindTest {
+
+    @Test
+    void browserAndNetworkFailuresAreInfra() {
+        assertTrue(FailureKind.isInfra(new NoSuchSessionException("invalid session id")));
+        assertTrue(FailureKind.isInfra(new TimeoutException("Expected condition failed")));
+        assertTrue(FailureKind.isInfra(new IOException("Connection reset")));
+        assertTrue(FailureKind.isInfra(new WebDriverException("unknown error: Chrome Not Reachable")));
+    }
+
+    @Test
+    void wrappedCauseIsFound() {
+        // Serenity y Cucumber envuelven la excepción original.
+        Throwable wrapped = new RuntimeException("step failed", new IllegalStateException(new IOException("EOF")));
+
+        assertTrue(FailureKind.isInfra(wrapped));
+    }
+
+    @Test
+    void failureThrownFromTheDriversPackageIsInfra() {
+        IllegalStateException poolExhausted = new IllegalStateException("No hay navegadores libres");
+        poolExhausted.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("com.saucedemo.drivers.DriverPool", "acquire", "DriverPool.java", 107)});
+
+        assertTrue(FailureKind.isInfra(poolExhausted));
+    }
+
+    @Test
+    void assertionsAndMissingElementsAreNotInfra() {
+        assertFalse(FailureKind.isInfra(new AssertionError("expected 6 items but was 5")));
+        assertFalse(FailureKind.isInfra(new NoSuchElementException("no such element: #login-button")));
+    }
+
+    @Test
+    void causeCycleDoesNotLoop() {
+        RuntimeException first = new RuntimeException("a");
+        RuntimeException second = new RuntimeException("b", first);
+        first.initCause(second);
+
+        assertFalse(FailureKind.isInfra(first));
+    }
+
+    @Test
+    void anyInfraFailureMakesTheScenarioInfra() {
+        assertEquals(FailureKind.INFRA, FailureKind.of(List.of(new AssertionError("x"), new IOException("y"))));
+        assertEquals(FailureKind.ASSERTION, FailureKind.of(List.of(new AssertionError("x"))));
+        assertEquals(FailureKind.ASSERTION, FailureKind.of(List.of()));
+    }
+}
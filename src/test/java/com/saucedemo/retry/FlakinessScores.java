@@ -0,0 +1,190 @@
+package com.saucedemo.retry;
+
+import com.saucedemo.config.TestSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+  FlakinessScores: puntuación de inestabilidad por escenario y cuarentena automática.
+
+  - Fichero: saucedemo.flakiness.file (por defecto .saucedemo/flakiness.tsv, junto al historial de duraciones).
+    Una línea por escenario:
+      src/test/resources/features/login.feature:10<TAB>0.3600<TAB>7<TAB>1
+      (escenario, puntuación, ejecuciones observadas, 1 = en cuarentena)
+  - Cada ejecución del escenario es una observación (Observation):
+    * FLAKY (1) si necesitó reintentos para pasar, CLEAN (0) si pasó a la primera.
+    * puntuación = 0.8 * puntuación + 0.2 * observación: pesa más lo reciente y olvida poco a poco.
+    * FAILED si falló en todos los intentos permitidos: cuenta como ejecución pero no cambia la puntuación
+      (es un fallo consistente, no inestabilidad) y saca al escenario de cuarentena.
+  - Cuarentena:
+    * Entra con puntuación >= saucedemo.quarantine.threshold (por defecto 0.3) y al menos
+      saucedemo.quarantine.min.runs observaciones (por defecto 3); con los valores por defecto basta con
+      necesitar reintentos en las dos últimas de tres ejecuciones.
+    * Sale sola cuando la puntuación baja de la mitad del umbral (unas 4 ejecuciones limpias),
+      o en cuanto falla en todos los intentos: la cuarentena tapa la inestabilidad, no una regresión real.
+  - update() lee, aplica y reescribe bajo lock: varios forks pueden terminar a la vez.
+*/
+public final class FlakinessScores {
+
+    private static final double WEIGHT = 0.2;
+    private static final double THRESHOLD =
+            Double.parseDouble(TestSettings.stringValue("saucedemo.quarantine.threshold", "0.3"));
+    private static final int MIN_RUNS = TestSettings.intValue("saucedemo.quarantine.min.runs", 3);
+
+    private final Map<String, Score> scores;
+
+    private FlakinessScores(Map<String, Score> scores) {
+        this.scores = scores;
+    }
+
+    enum Observation { CLEAN, FLAKY, FAILED }
+
+    public static Path file() {
+        return Paths.get(TestSettings.stringValue("saucedemo.flakiness.file", ".saucedemo/flakiness.tsv"));
+    }
+
+    public static FlakinessScores load() {
+        Path file = file();
+        if (!Files.isRegularFile(file)) {
+            return of(List.of());
+        }
+        try {
+            return of(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("[Quarantine] no se pudo leer " + file + ": " + e.getMessage());
+            return of(List.of());
+        }
+    }
+
+    public boolean isQuarantined(String scenario) {
+        Score score = scores.get(scenario);
+        return score != null && score.quarantined;
+    }
+
+    public Set<String> quarantined() {
+        Set<String> quarantined = new TreeSet<>();
+        scores.forEach((scenario, score) -> {
+            if (score.quarantined) {
+                quarantined.add(scenario);
+            }
+        });
+        return quarantined;
+    }
+
+    public double score(String scenario) {
+        Score score = scores.get(scenario);
+        return score == null ? 0 : score.value;
+    }
+
+    /* update(observations)
+       - observations: escenario -> cómo terminó en esta ejecución.
+       - Devuelve los cambios de cuarentena ("entra en cuarentena ...", "sale de cuarentena ...") para el resumen. */
+    static List<String> update(Map<String, Observation> observations) {
+        List<String> changes = new ArrayList<>();
+        if (observations.isEmpty()) {
+            return changes;
+        }
+        Path file = file();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                    // lee el fichero completo
+                }
+                FlakinessScores scores = of(new String(existing.array(), StandardCharsets.UTF_8).lines().toList());
+                changes.addAll(scores.observe(observations));
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(scores.format().getBytes(StandardCharsets.UTF_8)), 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+        return changes;
+    }
+
+    // Puntuaciones a partir de las líneas del fichero.
+    static FlakinessScores of(List<String> lines) {
+        return new FlakinessScores(parse(lines));
+    }
+
+    // Aplica las observaciones de una ejecución y devuelve los cambios de cuarentena.
+    List<String> observe(Map<String, Observation> observations) {
+        List<String> changes = new ArrayList<>();
+        observations.forEach((scenario, observation) -> {
+            Score score = scores.computeIfAbsent(scenario, key -> new Score());
+            boolean wasQuarantined = score.quarantined;
+            score.observe(observation);
+            if (score.quarantined != wasQuarantined) {
+                changes.add(String.format(Locale.ROOT, "%s %s (puntuación %.2f)",
+                        score.quarantined ? "entra en cuarentena" : "sale de cuarentena", scenario, score.value));
+            }
+        });
+        return changes;
+    }
+
+    private static Map<String, Score> parse(List<String> lines) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (String line : lines) {
+            String[] columns = line.split("\t");
+            if (columns.length < 4) {
+                continue;
+            }
+            try {
+                Score score = new Score();
+                score.value = Double.parseDouble(columns[1]);
+                score.runs = Integer.parseInt(columns[2]);
+                score.quarantined = "1".equals(columns[3]);
+                scores.put(columns[0], score);
+            } catch (NumberFormatException e) {
+                // línea corrupta (escritura interrumpida): se ignora
+            }
+        }
+        return scores;
+    }
+
+    String format() {
+        StringBuilder content = new StringBuilder();
+        scores.forEach((scenario, score) -> content.append(String.format(Locale.ROOT, "%s\t%.4f\t%d\t%d\n",
+                scenario, score.value, score.runs, score.quarantined ? 1 : 0)));
+        return content.toString();
+    }
+
+    private static final class Score {
+        private double value;
+        private int runs;
+        private boolean quarantined;
+
+        private void observe(Observation observation) {
+            runs++;
+            if (observation == Observation.FAILED) {
+                quarantined = false;
+                return;
+            }
+            value = (1 - WEIGHT) * value + WEIGHT * (observation == Observation.FLAKY ? 1 : 0);
+            if (!quarantined && runs >= MIN_RUNS && value >= THRESHOLD) {
+                quarantined = true;
+            } else if (quarantined && value < THRESHOLD / 2) {
+                quarantined = false;
+            }
+        }
+    }
+}
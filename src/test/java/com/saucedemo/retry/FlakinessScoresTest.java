@@ -0,0 +1,93 @@
+package com.saucedemo.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.saucedemo.retry.FlakinessScores.Observation.CLEAN;
+import static com.saucedemo.retry.FlakinessScores.Observation.FAILED;
+import static com.saucedemo.retry.FlakinessScores.Observation.FLAKY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlakinessScoresTest {
+
+    private static final String SCENARIO = "src/test/resources/features/login.feature:10";
+
+    @Test
+    void scoreIsAnExponentialAverageOfRetries() {
+        FlakinessScores scores = FlakinessScores.of(List.of());
+
+        observe(scores, FLAKY, FLAKY, CLEAN);
+
+        // 0.2 -> 0.36 -> 0.288
+        assertEquals(0.288, scores.score(SCENARIO), 1e-9);
+        assertFalse(scores.isQuarantined(SCENARIO));
+    }
+
+    @Test
+    void retriesInTheLastTwoOfThreeRunsQuarantine() {
+        FlakinessScores scores = FlakinessScores.of(List.of());
+
+        List<String> changes = observe(scores, CLEAN, FLAKY, FLAKY);
+
+        assertTrue(scores.isQuarantined(SCENARIO));
+        assertEquals(Set.of(SCENARIO), scores.quarantined());
+        assertEquals(List.of("entra en cuarentena " + SCENARIO + " (puntuación 0.36)"), changes);
+    }
+
+    @Test
+    void noQuarantineBeforeMinimumRuns() {
+        FlakinessScores scores = FlakinessScores.of(List.of());
+
+        observe(scores, FLAKY, FLAKY);
+
+        assertFalse(scores.isQuarantined(SCENARIO));
+    }
+
+    @Test
+    void leavesQuarantineBelowHalfTheThreshold() {
+        FlakinessScores scores = FlakinessScores.of(List.of(SCENARIO + "\t0.3600\t3\t1"));
+
+        observe(scores, CLEAN, CLEAN, CLEAN);
+        assertTrue(scores.isQuarantined(SCENARIO));
+
+        List<String> changes = observe(scores, CLEAN);
+        assertFalse(scores.isQuarantined(SCENARIO));
+        assertEquals(List.of("sale de cuarentena " + SCENARIO + " (puntuación 0.15)"), changes);
+    }
+
+    @Test
+    void consistentFailureLeavesQuarantineWithoutChangingTheScore() {
+        FlakinessScores scores = FlakinessScores.of(List.of(SCENARIO + "\t0.5000\t6\t1"));
+
+        observe(scores, FAILED);
+
+        assertFalse(scores.isQuarantined(SCENARIO));
+        assertEquals(0.5, scores.score(SCENARIO), 1e-9);
+        assertEquals(SCENARIO + "\t0.5000\t7\t0\n", scores.format());
+    }
+
+    @Test
+    void fileRoundTripsAndSkipsCorruptLines() {
+        FlakinessScores scores = FlakinessScores.of(List.of(
+                "b.feature:3\t0.1000\t4\t0",
+                "a.feature:3\t0.4000\t5\t1",
+                "c.feature:3\tx\t1\t0",
+                "d.feature:3\t0.2"));
+
+        assertEquals("a.feature:3\t0.4000\t5\t1\nb.feature:3\t0.1000\t4\t0\n", scores.format());
+        assertEquals(0, scores.score("c.feature:3"));
+    }
+
+    private static List<String> observe(FlakinessScores scores, FlakinessScores.Observation... runs) {
+        List<String> changes = List.of();
+        for (FlakinessScores.Observation run : runs) {
+            changes = scores.observe(Map.of(SCENARIO, run));
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,188 @@
+package com.saucedemo.retry;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+  RetryingNotifier: RunNotifier que retiene lo que notifica un escenario hasta saber si se va a reintentar.
+
+  - Cucumber (JUnitReporter) avisa a JUnit de cada escenario: started, failure(s), finished.
+    Si esos avisos llegaran a Surefire en el primer intento, un escenario que pasa al reintentarlo
+    quedaría igualmente como fallido.
+  - Dentro de attempt(...) los avisos del hilo se guardan en un Attempt; fuera (features, suite) pasan tal cual.
+  - Al decidir, ScenarioRetries reenvía (replay) los avisos del último intento y descarta los anteriores.
+  - Cada escenario se ejecuta entero en un hilo, así que basta un ThreadLocal para separar los intentos
+    de escenarios que corren a la vez.
+*/
+final class RetryingNotifier extends RunNotifier {
+
+    private final RunNotifier delegate;
+    private final ThreadLocal<Attempt> current = new ThreadLocal<>();
+
+    RetryingNotifier(RunNotifier delegate) {
+        this.delegate = delegate;
+    }
+
+    RunNotifier delegate() {
+        return delegate;
+    }
+
+    Attempt attempt(Runnable scenario) {
+        Attempt attempt = new Attempt();
+        current.set(attempt);
+        try {
+            scenario.run();
+        } finally {
+            current.remove();
+        }
+        return attempt;
+    }
+
+    @Override
+    public void fireTestStarted(Description description) {
+        Attempt attempt = current.get();
+        if (attempt == null) {
+            delegate.fireTestStarted(description);
+            return;
+        }
+        if (attempt.scenario == null) {
+            attempt.scenario = description;
+        }
+        attempt.events.add(notifier -> notifier.fireTestStarted(description));
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+        Attempt attempt = current.get();
+        if (attempt == null) {
+            delegate.fireTestFailure(failure);
+            return;
+        }
+        attempt.failures.add(failure);
+        attempt.events.add(notifier -> attempt.fireFailure(notifier, failure));
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+        forward(notifier -> notifier.fireTestAssumptionFailed(failure));
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+        forward(notifier -> notifier.fireTestIgnored(description));
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+        forward(notifier -> notifier.fireTestFinished(description));
+    }
+
+    @Override
+    public void fireTestSuiteStarted(Description description) {
+        forward(notifier -> notifier.fireTestSuiteStarted(description));
+    }
+
+    @Override
+    public void fireTestSuiteFinished(Description description) {
+        forward(notifier -> notifier.fireTestSuiteFinished(description));
+    }
+
+    @Override
+    public void fireTestRunStarted(Description description) {
+        delegate.fireTestRunStarted(description);
+    }
+
+    @Override
+    public void fireTestRunFinished(Result result) {
+        delegate.fireTestRunFinished(result);
+    }
+
+    @Override
+    public void addListener(RunListener listener) {
+        delegate.addListener(listener);
+    }
+
+    @Override
+    public void addFirstListener(RunListener listener) {
+        delegate.addFirstListener(listener);
+    }
+
+    @Override
+    public void removeListener(RunListener listener) {
+        delegate.removeListener(listener);
+    }
+
+    @Override
+    public void pleaseStop() {
+        delegate.pleaseStop();
+    }
+
+    private void forward(Consumer<RunNotifier> event) {
+        Attempt attempt = current.get();
+        if (attempt == null) {
+            event.accept(delegate);
+        } else {
+            attempt.events.add(event);
+        }
+    }
+
+    /* Attempt: un intento de un escenario.
+       - scenario: la Description del primer started (null si el escenario se ignoró sin empezar).
+       - failures: los fallos notificados; vacío = pasó. */
+    static final class Attempt {
+        private final List<Consumer<RunNotifier>> events = new ArrayList<>();
+        private final List<Failure> failures = new ArrayList<>();
+        private Description scenario;
+        private String quarantineReason;
+
+        Description scenario() {
+            return scenario;
+        }
+
+        boolean failed() {
+            return !failures.isEmpty();
+        }
+
+        List<Throwable> exceptions() {
+            List<Throwable> exceptions = new ArrayList<>(failures.size());
+            failures.forEach(failure -> exceptions.add(failure.getException()));
+            return exceptions;
+        }
+
+        String firstMessage() {
+            if (failures.isEmpty()) {
+                return "";
+            }
+            Throwable exception = failures.get(0).getException();
+            String message = String.valueOf(exception.getMessage()).lines().findFirst().orElse("");
+            return exception.getClass().getSimpleName() + ": " + message;
+        }
+
+        void replay(RunNotifier notifier) {
+            events.forEach(event -> event.accept(notifier));
+        }
+
+        // En cuarentena el fallo no rompe la build: se notifica como supuesto no cumplido (Surefire lo cuenta como skipped).
+        void replayQuarantined(RunNotifier notifier, String reason) {
+            quarantineReason = reason;
+            replay(notifier);
+        }
+
+        private void fireFailure(RunNotifier notifier, Failure failure) {
+            if (quarantineReason == null) {
+                notifier.fireTestFailure(failure);
+            } else {
+                notifier.fireTestAssumptionFailed(new Failure(failure.getDescription(),
+                        new AssumptionViolatedException(quarantineReason, failure.getException())));
+            }
+        }
+    }
+}
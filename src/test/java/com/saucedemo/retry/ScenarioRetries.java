@@ -0,0 +1,154 @@
+package com.saucedemo.retry;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.runner.ScenarioId;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+  ScenarioRetries: reintenta en la misma JVM solo los escenarios que fallan y pone en cuarentena los inestables.
+
+  - Por qué: relanzar la suite entera (o un segundo mvn con los fallidos) para descartar un fallo puntual
+    repite el arranque de JVM, Cucumber y navegadores. Aquí el escenario se repite en el momento, en su hilo.
+  - Navegador caliente: el @After del intento fallido devuelve el navegador al DriverPool, que lo limpia
+    y se lo da al reintento (el último liberado es el primero que sale). Si se había colgado, el pool
+    ya lo ha expulsado y el reintento recibe otro.
+  - Cuántos reintentos, según el tipo de fallo (FailureKind):
+    * saucedemo.retry.infra (por defecto 2): navegador caído, timeouts, red.
+    * saucedemo.retry.assertion (por defecto 1): aserciones y elementos que no aparecen; un fallo real
+      vuelve a fallar y se informa como tal.
+    * saucedemo.retry.budget (por defecto 10): máximo de reintentos en toda la ejecución; si la aplicación
+      está caída no se duplica el tiempo de la suite.
+    * Con los tres a 0 no se reintenta nada (la cuarentena sigue funcionando).
+  - JUnit/Surefire solo ve el último intento (RetryingNotifier): pasa si el reintento pasa.
+    El informe de Serenity también (SerenityAttempts), con la etiqueta "unstable test" si necesitó reintentos.
+  - Inestabilidad (FlakinessScores): cada escenario apunta si pasó a la primera, si necesitó reintentos
+    o si falló en todos los intentos que le correspondían.
+    Si falla un escenario en cuarentena sin haber agotado sus reintentos (presupuesto agotado o reintentos
+    desactivados), Surefire lo cuenta como skipped y la build no se rompe; el informe de Serenity lo sigue
+    mostrando como fallido. Si falla en todos sus intentos es un fallo consistente: sale de cuarentena
+    y rompe la build como cualquier otro.
+  - Uso (ParallelCucumberWithSerenity): run(wrap(notifier)) para toda la suite, retrying(escenario)
+    en el scheduler de cada feature y finished() al terminar.
+*/
+public final class ScenarioRetries {
+
+    private static final int INFRA_RETRIES = TestSettings.intValue("saucedemo.retry.infra", 2);
+    private static final int ASSERTION_RETRIES = TestSettings.intValue("saucedemo.retry.assertion", 1);
+    private static final int BUDGET = TestSettings.intValue("saucedemo.retry.budget", 10);
+
+    private final Object serenityReporter;
+    private final FlakinessScores scores = FlakinessScores.load();
+    private final AtomicInteger budget = new AtomicInteger(BUDGET);
+    private final Map<String, FlakinessScores.Observation> observations = new ConcurrentHashMap<>();
+    private final Map<FailureKind, AtomicInteger> retriesByKind = new ConcurrentHashMap<>();
+    private final Set<String> stillFailing = ConcurrentHashMap.newKeySet();
+    private final Set<String> skippedInQuarantine = ConcurrentHashMap.newKeySet();
+    private volatile RetryingNotifier notifier;
+
+    // serenityReporter: el reporter de Serenity de esta ejecución (de serie o paralelo), para limpiar los intentos fallidos (ver SerenityAttempts).
+    public ScenarioRetries(Object serenityReporter) {
+        this.serenityReporter = serenityReporter;
+    }
+
+    public Set<String> quarantined() {
+        return scores.quarantined();
+    }
+
+    public RunNotifier wrap(RunNotifier suiteNotifier) {
+        notifier = new RetryingNotifier(suiteNotifier);
+        return notifier;
+    }
+
+    public Runnable retrying(Runnable scenario) {
+        return () -> run(scenario);
+    }
+
+    private void run(Runnable scenario) {
+        RetryingNotifier current = notifier;
+        if (current == null) {
+            scenario.run();
+            return;
+        }
+        int retries = 0;
+        List<Throwable> earlierFailures = new ArrayList<>();
+        while (true) {
+            SerenityAttempts.startAttempt();
+            RetryingNotifier.Attempt attempt = current.attempt(scenario);
+            if (attempt.scenario() == null) {
+                attempt.replay(current.delegate());
+                return;
+            }
+            String id = ScenarioId.of(attempt.scenario());
+            if (!attempt.failed()) {
+                observations.put(id, retries > 0 ? FlakinessScores.Observation.FLAKY : FlakinessScores.Observation.CLEAN);
+                if (retries > 0) {
+                    SerenityAttempts.passedAfterRetries(serenityReporter, attempt.scenario(), retries, earlierFailures);
+                    System.out.println("[Retry] " + id + " pasa en el intento " + (retries + 1));
+                }
+                attempt.replay(current.delegate());
+                return;
+            }
+            FailureKind kind = FailureKind.of(attempt.exceptions());
+            int allowed = kind == FailureKind.INFRA ? INFRA_RETRIES : ASSERTION_RETRIES;
+            if (retries < allowed && budget.getAndDecrement() > 0) {
+                retries++;
+                retriesByKind.computeIfAbsent(kind, key -> new AtomicInteger()).incrementAndGet();
+                System.out.println("[Retry] " + id + ": fallo " + kind + " (" + attempt.firstMessage()
+                        + "), reintento " + retries + " de " + allowed);
+                earlierFailures.addAll(attempt.exceptions());
+                SerenityAttempts.discardFailedAttempt(serenityReporter);
+                continue;
+            }
+            stillFailing.add(id);
+            boolean everyAttemptFailed = allowed > 0 && retries >= allowed;
+            if (everyAttemptFailed) {
+                observations.put(id, FlakinessScores.Observation.FAILED);
+            }
+            if (scores.isQuarantined(id) && everyAttemptFailed) {
+                System.out.println("[Quarantine] " + id + " falla en sus " + (retries + 1)
+                        + " intentos: fallo consistente, sale de cuarentena y rompe la build");
+                attempt.replay(current.delegate());
+            } else if (scores.isQuarantined(id)) {
+                skippedInQuarantine.add(id);
+                attempt.replayQuarantined(current.delegate(), String.format(Locale.ROOT,
+                        "[Quarantine] %s está en cuarentena (puntuación %.2f): su fallo no rompe la build",
+                        id, scores.score(id)));
+            } else {
+                attempt.replay(current.delegate());
+            }
+            return;
+        }
+    }
+
+    public void finished() {
+        SerenityAttempts.finished();
+        List<String> changes = FlakinessScores.update(observations);
+        int retried = retriesByKind.values().stream().mapToInt(AtomicInteger::get).sum();
+        if (retried > 0) {
+            long recovered = observations.values().stream()
+                    .filter(observation -> observation == FlakinessScores.Observation.FLAKY).count();
+            System.out.println(String.format(Locale.ROOT,
+                    "[Retry] %d reintentos (%d infra, %d assertion): %d escenarios pasan al reintentar, %d siguen fallando;"
+                            + " presupuesto restante %d de %d",
+                    retried, count(FailureKind.INFRA), count(FailureKind.ASSERTION), recovered, stillFailing.size(),
+                    Math.max(0, budget.get()), BUDGET));
+        }
+        if (!skippedInQuarantine.isEmpty()) {
+            System.out.println("[Quarantine] fallos que no rompen la build: " + String.join(", ", skippedInQuarantine));
+        }
+        changes.forEach(change -> System.out.println("[Quarantine] " + change + " (" + FlakinessScores.file() + ")"));
+    }
+
+    private int count(FailureKind kind) {
+        AtomicInteger retries = retriesByKind.get(kind);
+        return retries == null ? 0 : retries.get();
+    }
+}
@@ -0,0 +1,164 @@
+package com.saucedemo.retry;
+
+import com.saucedemo.runner.ScenarioId;
+import net.thucydides.core.steps.BaseStepListener;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.domain.TestStep;
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.steps.TestFailureCause;
+import org.junit.runner.Description;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+  SerenityAttempts: deja el informe de Serenity como si solo hubiera existido el último intento de cada escenario.
+
+  - En serie (SerenityReporter): el reporter considera que un TestCaseStarted del mismo escenario que el anterior
+    es la siguiente fila de un Scenario Outline; el reintento se añadiría al resultado fallido y
+    la primera Question del reintento volvería a lanzar el fallo antiguo. discardFailedAttempt(reporter),
+    antes de reintentar:
+    * Olvida el escenario actual del contexto del reporter (getContext() es protected y el campo
+      currentScenario de paquete: se accede por reflexión, como hace ScenarioId con el PickleId).
+    * Quita del BaseStepListener el resultado fallido, como testRetried() en los reintentos de JUnit de Serenity,
+      pero exactamente el que terminó en este hilo (AttemptOutcomeListener).
+  - En paralelo (SerenityReporterParallel): los eventos de cada escenario se guardan por línea del .feature y
+    se reproducen al terminar la ejecución; el reintento sustituye a los del intento fallido y no hay nada
+    que limpiar. El resultado aún no existe cuando el reintento pasa: la etiqueta se aplica al reproducirlo.
+  - passedAfterRetries(...): etiqueta el resultado que pasa como lo hace lastTestPassedAfterRetries de Serenity
+    (paso "UNSTABLE TEST" con el historial de fallos y etiqueta "Retries: N" de tipo "unstable test").
+  - Si algo no encaja (otra versión de Serenity), se avisa una vez y el reintento sigue sin limpiar el informe.
+*/
+final class SerenityAttempts {
+
+    private static final String PARALLEL_REPORTER = "io.cucumber.core.plugin.SerenityReporterParallel";
+    // Escenarios que pasaron al reintentar con SerenityReporterParallel, por el scenarioId de su TestOutcome.
+    private static final Map<String, Consumer<TestOutcome>> PENDING_UNSTABLE = new ConcurrentHashMap<>();
+
+    private static volatile boolean warned;
+
+    private SerenityAttempts() {
+    }
+
+    // Al empezar cada intento: un resultado de otro escenario de este hilo no debe confundirse con el del intento.
+    static void startAttempt() {
+        AttemptOutcomeListener.lastFinishedInThisThread();
+    }
+
+    static void discardFailedAttempt(Object serenityReporter) {
+        try {
+            if (isParallel(serenityReporter)) {
+                return;
+            }
+            if (serenityReporter != null) {
+                Method getContext = findMethod(serenityReporter.getClass(), "getContext");
+                Object context = getContext.invoke(serenityReporter);
+                Field currentScenario = context.getClass().getDeclaredField("currentScenario");
+                currentScenario.setAccessible(true);
+                currentScenario.set(context, null);
+            }
+            TestOutcome failed = AttemptOutcomeListener.lastFinishedInThisThread();
+            StepEventBus bus = StepEventBus.getParallelEventBus();
+            if (failed != null && bus.isBaseStepListenerRegistered()) {
+                Field outcomesField = BaseStepListener.class.getDeclaredField("testOutcomes");
+                outcomesField.setAccessible(true);
+                List<?> outcomes = (List<?>) outcomesField.get(bus.getBaseStepListener());
+                // Mismo lock que BaseStepListener al añadir resultados.
+                synchronized (outcomes) {
+                    outcomes.removeIf(outcome -> outcome == failed);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            warnOnce(e);
+        }
+    }
+
+    static void passedAfterRetries(Object serenityReporter, Description scenario, int retries, List<Throwable> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        String history = failures.stream()
+                .map(failure -> failure.getClass().getSimpleName() + ": " + failure.getMessage())
+                .collect(Collectors.joining("\n"));
+        Consumer<TestOutcome> markUnstable = passed -> {
+            passed.recordStep(TestStep.forStepCalled("UNSTABLE TEST:\n" + history).withResult(TestResult.UNDEFINED));
+            passed.addTag(TestTag.withName("Retries: " + retries).andType("unstable test"));
+            passed.setFlakyTestFailureCause(TestFailureCause.from(failures.get(0)));
+        };
+        if (isParallel(serenityReporter)) {
+            PENDING_UNSTABLE.put(outcomeId(scenario), markUnstable);
+            return;
+        }
+        TestOutcome passed = AttemptOutcomeListener.lastFinishedInThisThread();
+        if (passed == null) {
+            return;
+        }
+        try {
+            markUnstable.accept(passed);
+        } catch (RuntimeException e) {
+            warnOnce(e);
+        }
+    }
+
+    // Desde AttemptOutcomeListener: SerenityReporterParallel reproduce el resultado al terminar la ejecución.
+    static void outcomeReplayed(TestOutcome outcome) {
+        if (PENDING_UNSTABLE.isEmpty() || outcome.getScenarioId() == null) {
+            return;
+        }
+        Consumer<TestOutcome> markUnstable = PENDING_UNSTABLE.remove(outcome.getScenarioId());
+        if (markUnstable != null) {
+            try {
+                markUnstable.accept(outcome);
+            } catch (RuntimeException e) {
+                warnOnce(e);
+            }
+        }
+    }
+
+    // Al terminar la ejecución: un reintento sin resultado reproducido se quedó sin etiqueta.
+    static void finished() {
+        if (!PENDING_UNSTABLE.isEmpty()) {
+            warnOnce(new IllegalStateException("sin resultado para " + String.join(", ", PENDING_UNSTABLE.keySet())));
+            PENDING_UNSTABLE.clear();
+        }
+    }
+
+    /* scenarioId del TestOutcome que escribe SerenityReporterParallel: "<fichero .feature sin extensión>:<escenario>". */
+    static String outcomeId(Description scenario) {
+        String uri = ScenarioId.of(scenario);
+        String file = uri.substring(uri.lastIndexOf('/') + 1);
+        int extension = file.indexOf(".feature");
+        return (extension < 0 ? file : file.substring(0, extension)) + ":" + scenario.getMethodName();
+    }
+
+    private static boolean isParallel(Object serenityReporter) {
+        return serenityReporter != null && PARALLEL_REPORTER.equals(serenityReporter.getClass().getName());
+    }
+
+    private static Method findMethod(Class<?> type, String name) throws NoSuchMethodException {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Method method = current.getDeclaredMethod(name);
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException e) {
+                // se busca en la superclase
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + "." + name + "()");
+    }
+
+    private static void warnOnce(Exception e) {
+        if (!warned) {
+            warned = true;
+            System.out.println("[Retry] no se pudo limpiar el intento fallido en el informe de Serenity: " + e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.saucedemo.runner;
+
+import com.saucedemo.config.TestSettings;
+import io.cucumber.core.feature.FeatureIdentifier;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.feature.FeaturePath;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.tagexpressions.Expression;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+  FeatureIndex: índice de los .feature (ficheros, escenarios, etiquetas) para no parsearlos todos al arrancar.
+
+  - Fichero: saucedemo.feature.index.file (por defecto target/cucumber-index/features.tsv; mvn clean lo borra).
+      F<TAB>file:/.../login.feature<TAB>tamaño<TAB>última modificación (ms)
+      P<TAB>línea<TAB>@etiqueta @otra<TAB>nombre del escenario         (una por escenario, tras su F)
+    Las etiquetas son las efectivas del escenario (feature, regla, ejemplos), las mismas que filtra Cucumber.
+  - Se genera al compilar (mvn test-compile / test: ejecución "feature-index" de exec-maven-plugin, con main)
+    y se reescribe en tiempo de ejecución cada vez que el runner tiene que escanear (IndexedFeatureSupplier).
+  - Al día = mismos ficheros bajo las rutas de features, con el mismo tamaño y fecha; si no, no se usa.
+    Comprobarlo solo recorre directorios y lee fechas: no abre ningún .feature.
+  - filesThatCanRun(...): los ficheros con algún escenario que pasa los filtros de etiquetas y nombre;
+    el resto no hace falta ni leerlo.
+*/
+public final class FeatureIndex {
+
+    private static final String HEADER = "# saucedemo feature index v1";
+
+    private final Map<URI, IndexedFile> files;
+
+    private FeatureIndex(Map<URI, IndexedFile> files) {
+        this.files = files;
+    }
+
+    public static Path file() {
+        return Paths.get(TestSettings.stringValue("saucedemo.feature.index.file", "target/cucumber-index/features.tsv"));
+    }
+
+    /* Build: java com.saucedemo.runner.FeatureIndex src/test/resources/features [...]
+       - Mismas rutas que features de @CucumberOptions; parsea con el mismo código que Cucumber. */
+    public static void main(String[] args) {
+        List<URI> paths = Arrays.stream(args.length == 0 ? new String[] {"src/test/resources/features"} : args)
+                .map(FeaturePath::parse)
+                .toList();
+        long started = System.nanoTime();
+        List<Feature> features = parse(paths, UUID::randomUUID);
+        write(features);
+        System.out.printf("[Startup] índice de features: %d ficheros y %d escenarios en %s (%d ms)%n",
+                features.size(), features.stream().mapToInt(feature -> feature.getPickles().size()).sum(), file(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    static List<Feature> parse(List<URI> featurePaths, Supplier<UUID> ids) {
+        return new FeaturePathFeatureSupplier(FeatureIndex.class::getClassLoader, () -> featurePaths,
+                new FeatureParser(ids)).get();
+    }
+
+    static Optional<FeatureIndex> read() {
+        return read(file());
+    }
+
+    static Optional<FeatureIndex> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                return Optional.empty();
+            }
+            Map<URI, IndexedFile> files = new LinkedHashMap<>();
+            IndexedFile current = null;
+            for (String line : lines.subList(1, lines.size())) {
+                String[] columns = line.split("\t", -1);
+                if (columns[0].equals("F") && columns.length == 4) {
+                    current = new IndexedFile(URI.create(columns[1]), Long.parseLong(columns[2]), Long.parseLong(columns[3]));
+                    files.put(current.uri, current);
+                } else if (columns[0].equals("P") && columns.length == 4 && current != null) {
+                    List<String> tags = columns[2].isEmpty() ? List.of() : List.of(columns[2].split(" "));
+                    current.scenarios.add(new IndexedScenario(tags, columns[3]));
+                } else {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new FeatureIndex(files));
+        } catch (IOException | IllegalArgumentException e) {
+            // índice ilegible o a medio escribir: se escanea como si no existiera
+            return Optional.empty();
+        }
+    }
+
+    // Escritura atómica (fichero temporal + move): varios forks pueden reescribirlo a la vez.
+    static void write(List<Feature> features) {
+        write(features, file());
+    }
+
+    static void write(List<Feature> features, Path file) {
+        StringBuilder content = new StringBuilder(HEADER).append('\n');
+        for (Feature feature : features) {
+            Path path = Paths.get(feature.getUri());
+            try {
+                content.append("F\t").append(feature.getUri()).append('\t').append(Files.size(path)).append('\t')
+                        .append(Files.getLastModifiedTime(path).toMillis()).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer " + path, e);
+            }
+            for (Pickle pickle : feature.getPickles()) {
+                content.append("P\t").append(pickle.getLocation().getLine()).append('\t')
+                        .append(String.join(" ", pickle.getTags())).append('\t')
+                        .append(pickle.getName().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ')).append('\n');
+            }
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), "features", ".tmp");
+            Files.writeString(temporary, content, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+    }
+
+    /* Los .feature bajo las rutas de features (directorios o ficheros sueltos), como los busca Cucumber.
+       - Empty si alguna ruta no es del sistema de ficheros (classpath:...): entonces no se usa el índice. */
+    static Optional<Map<URI, Path>> featureFiles(List<URI> featurePaths) {
+        Map<URI, Path> present = new LinkedHashMap<>();
+        for (URI featurePath : featurePaths) {
+            if (!"file".equals(featurePath.getScheme())) {
+                return Optional.empty();
+            }
+            Path root = Paths.get(featurePath);
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(path -> Files.isRegularFile(path) && FeatureIdentifier.isFeature(path))
+                            .forEach(path -> present.put(path.toUri(), path));
+                } catch (IOException e) {
+                    return Optional.empty();
+                }
+            } else {
+                present.put(root.toUri(), root);
+            }
+        }
+        return Optional.of(present);
+    }
+
+    /* staleReason(present, featurePaths)
+       - Empty si el índice describe los .feature que hay ahora (mismo tamaño y fecha) y ninguno de sus ficheros
+         ha desaparecido de los directorios de features; si no, el motivo (para el resumen de arranque). */
+    Optional<String> staleReason(Map<URI, Path> present, List<URI> featurePaths) {
+        for (Map.Entry<URI, Path> feature : present.entrySet()) {
+            IndexedFile indexed = files.get(feature.getKey());
+            if (indexed == null) {
+                return Optional.of("nuevo " + feature.getValue().getFileName());
+            }
+            try {
+                if (indexed.size != Files.size(feature.getValue())
+                        || indexed.lastModified != Files.getLastModifiedTime(feature.getValue()).toMillis()) {
+                    return Optional.of("cambiado " + feature.getValue().getFileName());
+                }
+            } catch (IOException e) {
+                return Optional.of("ilegible " + feature.getValue().getFileName());
+            }
+        }
+        List<Path> directories = featurePaths.stream().map(Paths::get).filter(Files::isDirectory).toList();
+        for (URI indexed : files.keySet()) {
+            Path path = Paths.get(indexed);
+            if (!present.containsKey(indexed) && directories.stream().anyMatch(path::startsWith)) {
+                return Optional.of("borrado " + path.getFileName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /* De los ficheros presentes, los que tienen algún escenario que Cucumber ejecutaría con estos filtros.
+       - Las líneas (login.feature:12) no se miran: el fichero se parsea y Cucumber filtra. */
+    List<URI> filesThatCanRun(Collection<URI> present, List<Expression> tagExpressions, List<Pattern> nameFilters) {
+        return files.values().stream()
+                .filter(file -> present.contains(file.uri))
+                .filter(file -> file.scenarios.stream().anyMatch(scenario ->
+                        tagExpressions.stream().allMatch(expression -> expression.evaluate(scenario.tags))
+                                && (nameFilters.isEmpty()
+                                    || nameFilters.stream().anyMatch(name -> name.matcher(scenario.name).find()))))
+                .map(file -> file.uri)
+                .collect(Collectors.toList());
+    }
+
+    private static final class IndexedFile {
+        private final URI uri;
+        private final long size;
+        private final long lastModified;
+        private final List<IndexedScenario> scenarios = new ArrayList<>();
+
+        private IndexedFile(URI uri, long size, long lastModified) {
+            this.uri = uri;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static final class IndexedScenario {
+        private final List<String> tags;
+        private final String name;
+
+        private IndexedScenario(List<String> tags, String name) {
+            this.tags = tags;
+            this.name = name;
+        }
+    }
+}
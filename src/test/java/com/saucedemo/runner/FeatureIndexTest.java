@@ -0,0 +1,132 @@
+package com.saucedemo.runner;
+
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeatureIndexTest {
+
+    @TempDir
+    Path root;
+
+    private Path features;
+    private Path login;
+    private Path inventory;
+    private Path indexFile;
+
+    private void writeFeatures() throws IOException {
+        features = Files.createDirectories(root.resolve("features"));
+        login = Files.writeString(features.resolve("login.feature"), String.join("\n",
+                "@login",
+                "Feature: Login",
+                "",
+                "  @smoke",
+                "  Scenario: Valid user",
+                "    Given a step",
+                "",
+                "  Scenario: Locked user",
+                "    Given a step",
+                ""));
+        inventory = Files.writeString(Files.createDirectories(features.resolve("inventory")).resolve("sort.feature"),
+                String.join("\n",
+                        "Feature: Sorting",
+                        "",
+                        "  Scenario Outline: Sort by <order>",
+                        "    Given a step",
+                        "",
+                        "    @http",
+                        "    Examples:",
+                        "      | order |",
+                        "      | name  |",
+                        ""));
+        indexFile = root.resolve("index/features.tsv");
+    }
+
+    @Test
+    void indexRoundTripsAndIsUpToDate() throws IOException {
+        FeatureIndex index = buildIndex();
+
+        assertEquals(Optional.empty(), index.staleReason(present(), List.of(features.toUri())));
+        assertTrue(Files.readString(indexFile).contains("P\t5\t@login @smoke\tValid user\n"));
+    }
+
+    @Test
+    void changedNewAndDeletedFilesMakeItStale() throws IOException {
+        FeatureIndex index = buildIndex();
+        List<URI> paths = List.of(features.toUri());
+
+        Files.writeString(login, Files.readString(login) + "\n");
+        assertEquals(Optional.of("cambiado login.feature"), index.staleReason(present(), paths));
+
+        index = buildIndex();
+        Files.setLastModifiedTime(login, FileTime.fromMillis(Files.getLastModifiedTime(login).toMillis() + 2000));
+        assertEquals(Optional.of("cambiado login.feature"), index.staleReason(present(), paths));
+
+        index = buildIndex();
+        Files.writeString(features.resolve("cart.feature"), "Feature: Cart\n");
+        assertEquals(Optional.of("nuevo cart.feature"), index.staleReason(present(), paths));
+
+        index = buildIndex();
+        Files.delete(inventory);
+        assertEquals(Optional.of("borrado sort.feature"), index.staleReason(present(), paths));
+    }
+
+    @Test
+    void unreadableOrForeignIndexIsIgnored() throws IOException {
+        writeFeatures();
+        Files.createDirectories(indexFile.getParent());
+
+        assertFalse(FeatureIndex.read(indexFile).isPresent());
+        Files.writeString(indexFile, "# saucedemo feature index v0\n");
+        assertFalse(FeatureIndex.read(indexFile).isPresent());
+        Files.writeString(indexFile, "# saucedemo feature index v1\nF\tfile:/x.feature\tmedio");
+        assertFalse(FeatureIndex.read(indexFile).isPresent());
+    }
+
+    @Test
+    void onlyFilesWithAMatchingScenarioCanRun() throws IOException {
+        FeatureIndex index = buildIndex();
+        List<URI> present = List.copyOf(present().keySet());
+
+        assertEquals(List.of(login.toUri()), index.filesThatCanRun(present, List.of(TagExpressionParser.parse("@smoke")), List.of()));
+        // Etiquetas efectivas: la de los Examples cuenta para el escenario.
+        assertEquals(List.of(inventory.toUri()), index.filesThatCanRun(present, List.of(TagExpressionParser.parse("@http")), List.of()));
+        assertEquals(List.of(login.toUri()), index.filesThatCanRun(present, List.of(), List.of(Pattern.compile("Locked"))));
+        assertEquals(List.of(), index.filesThatCanRun(present, List.of(TagExpressionParser.parse("@smoke and @http")), List.of()));
+        assertEquals(2, index.filesThatCanRun(present, List.of(), List.of()).size());
+    }
+
+    @Test
+    void nonFileFeaturePathsDisableTheIndex() {
+        assertFalse(FeatureIndex.featureFiles(List.of(URI.create("classpath:features"))).isPresent());
+    }
+
+    private FeatureIndex buildIndex() throws IOException {
+        if (features == null) {
+            writeFeatures();
+        }
+        List<Feature> parsed = FeatureIndex.parse(List.of(features.toUri()), UUID::randomUUID);
+        FeatureIndex.write(parsed, indexFile);
+        return FeatureIndex.read(indexFile).orElseThrow();
+    }
+
+    private Map<URI, Path> present() {
+        return FeatureIndex.featureFiles(List.of(features.toUri())).orElseThrow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.saucedemo.runner;
+
+import com.saucedemo.config.TestSettings;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+  ForkPartition: reparte los escenarios entre varias JVM (forks) por duración esperada y se queda con los de este fork.
+
+  - saucedemo.fork.count (por defecto 1 = sin reparto) y saucedemo.fork.number (1..count), p. ej. un job de CI por fork:
+      mvn verify -Dsaucedemo.fork.count=3 -Dsaucedemo.fork.number=2
+  - Reparto LPT (pack): escenarios del más largo al más corto, cada uno al fork con menos trabajo acumulado.
+    Determinista: todos los forks calculan el mismo reparto si leen el mismo historial (ScenarioDurations),
+    así que ningún escenario se queda sin ejecutar ni se ejecuta dos veces.
+  - saucedemo.fork.history.sha256 (obligatorio con más de un fork): SHA-256 del historial con el que deben repartir
+    todos los forks, calculado una vez antes de lanzarlos (basta un prefijo de 12 caracteres):
+      -Dsaucedemo.fork.history.sha256=$(cat .saucedemo/scenario-durations.tsv 2>/dev/null | sha256sum | cut -c1-64)
+    Un fork que lee otro historial (otra caché, o el fichero ya ampliado por un fork que terminó antes)
+    falla al arrancar en lugar de repartir distinto en silencio.
+  - Sustituye al reparto de Serenity (serenity.fork.count), que pesa los escenarios por número de líneas.
+  - Es un Filter de JUnit: se aplica al runner antes de ejecutar; las features sin escenarios en este fork desaparecen.
+*/
+final class ForkPartition extends Filter {
+
+    private static final int PIN_MIN_LENGTH = 12;
+
+    private final int forkNumber;
+    private final int forkCount;
+    private final Set<String> all;
+    private final Set<String> mine;
+    private final long mineMillis;
+    private final long totalMillis;
+    private final String history;
+
+    private ForkPartition(int forkNumber, int forkCount, List<String> scenarios, ScenarioDurations durations) {
+        this.forkNumber = forkNumber;
+        this.forkCount = forkCount;
+        this.all = new HashSet<>(scenarios);
+        List<List<String>> forks = pack(scenarios, durations, forkCount);
+        this.mine = new HashSet<>(forks.get(forkNumber - 1));
+        this.mineMillis = expectedMillis(forks.get(forkNumber - 1), durations);
+        this.totalMillis = expectedMillis(scenarios, durations);
+        this.history = durations.sha256().substring(0, PIN_MIN_LENGTH);
+    }
+
+    static ForkPartition fromSettings(Description suite, ScenarioDurations durations) {
+        int count = TestSettings.intValue("saucedemo.fork.count", 1);
+        int number = TestSettings.intValue("saucedemo.fork.number", 1);
+        if (count <= 1) {
+            return null;
+        }
+        if (number < 1 || number > count) {
+            throw new IllegalArgumentException("saucedemo.fork.number debe estar entre 1 y " + count + ": " + number);
+        }
+        checkHistory(TestSettings.stringValue("saucedemo.fork.history.sha256", ""), durations, number, count);
+        return new ForkPartition(number, count, scenarioIds(suite), durations);
+    }
+
+    static void checkHistory(String pinned, ScenarioDurations durations, int number, int count) {
+        String actual = durations.sha256();
+        if (pinned.isBlank()) {
+            throw new IllegalArgumentException("saucedemo.fork.count=" + count + " necesita saucedemo.fork.history.sha256:"
+                    + " todos los forks deben repartir con el mismo historial. El que lee este fork ("
+                    + ScenarioDurations.file() + ") es " + actual);
+        }
+        String expected = pinned.trim().toLowerCase(Locale.ROOT);
+        if (expected.length() < PIN_MIN_LENGTH || !actual.startsWith(expected)) {
+            throw new IllegalStateException("fork " + number + "/" + count + ": el historial " + ScenarioDurations.file()
+                    + " (sha256 " + actual + ") no es el fijado en saucedemo.fork.history.sha256=" + pinned
+                    + "; este fork repartiría los escenarios distinto que los demás");
+        }
+    }
+
+    // Escenarios del runner: hijos de cada feature (los pasos, si los hay, cuelgan de cada escenario).
+    static List<String> scenarioIds(Description suite) {
+        List<String> ids = new ArrayList<>();
+        suite.getChildren().forEach(feature -> feature.getChildren().forEach(scenario -> ids.add(ScenarioId.of(scenario))));
+        return ids;
+    }
+
+    // LPT: el más largo primero, al contenedor con menos carga (a igual carga, el de menos escenarios y después
+    // el de menor índice: sin historial todos pesan 0 y se reparten por número en lugar de ir todos al primero).
+    static List<List<String>> pack(List<String> scenarios, ScenarioDurations durations, int bins) {
+        List<List<String>> packed = new ArrayList<>(bins);
+        long[] load = new long[bins];
+        for (int i = 0; i < bins; i++) {
+            packed.add(new ArrayList<>());
+        }
+        scenarios.stream()
+                .sorted(Comparator.comparingLong(durations::expectedMillis).reversed().thenComparing(id -> id))
+                .forEach(scenario -> {
+                    int lightest = 0;
+                    for (int i = 1; i < bins; i++) {
+                        if (load[i] < load[lightest]
+                                || load[i] == load[lightest] && packed.get(i).size() < packed.get(lightest).size()) {
+                            lightest = i;
+                        }
+                    }
+                    packed.get(lightest).add(scenario);
+                    load[lightest] += durations.expectedMillis(scenario);
+                });
+        return packed;
+    }
+
+    static long expectedMillis(List<String> scenarios, ScenarioDurations durations) {
+        return scenarios.stream().mapToLong(durations::expectedMillis).sum();
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        String id = ScenarioId.of(description);
+        if (all.contains(id)) {
+            return mine.contains(id);
+        }
+        // Suite o feature: se ejecuta si contiene algún escenario de este fork; un paso, si lo hace su escenario.
+        return description.getChildren().isEmpty() || description.getChildren().stream().anyMatch(this::shouldRun);
+    }
+
+    @Override
+    public String describe() {
+        return "fork " + forkNumber + "/" + forkCount;
+    }
+
+    String summary() {
+        return String.format("%s: %d de %d escenarios, estimado %.1fs de %.1fs, historial %s",
+                describe(), mine.size(), all.size(), mineMillis / 1000.0, totalMillis / 1000.0, history);
+    }
+}
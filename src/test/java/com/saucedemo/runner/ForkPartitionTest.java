@@ -0,0 +1,78 @@
+package com.saucedemo.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.saucedemo.runner.ScenarioDurationsTest.durations;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ForkPartitionTest {
+
+    private static final ScenarioDurations HISTORY = durations(
+            "a.feature:3\t9000\t1",
+            "b.feature:3\t7000\t1",
+            "c.feature:3\t6000\t1",
+            "d.feature:3\t5000\t1",
+            "e.feature:3\t4000\t1",
+            "f.feature:3\t2000\t1");
+
+    @Test
+    void longestScenarioGoesToTheLightestFork() {
+        List<String> scenarios = List.of("f.feature:3", "e.feature:3", "d.feature:3", "c.feature:3", "b.feature:3", "a.feature:3");
+
+        List<List<String>> forks = ForkPartition.pack(scenarios, HISTORY, 2);
+
+        // a(9) y b(7) abren un fork cada uno; después c a la 2ª (7), d a la 1ª (9), e a la 2ª (13) y f a la 1ª (14).
+        assertEquals(List.of("a.feature:3", "d.feature:3", "f.feature:3"), forks.get(0));
+        assertEquals(List.of("b.feature:3", "c.feature:3", "e.feature:3"), forks.get(1));
+        assertEquals(16000, ForkPartition.expectedMillis(forks.get(0), HISTORY));
+        assertEquals(17000, ForkPartition.expectedMillis(forks.get(1), HISTORY));
+    }
+
+    @Test
+    void everyScenarioLandsInExactlyOneFork() {
+        List<String> scenarios = List.of("a.feature:3", "b.feature:3", "c.feature:3", "d.feature:3",
+                "e.feature:3", "f.feature:3", "g.feature:3", "h.feature:3");
+
+        List<String> packed = new ArrayList<>();
+        ForkPartition.pack(scenarios, HISTORY, 3).forEach(packed::addAll);
+
+        assertEquals(scenarios, packed.stream().sorted().toList());
+    }
+
+    @Test
+    void scenariosWithoutHistoryAreSpreadEvenly() {
+        // Sin historial todos pesan 0: se reparten por número, en orden de id y no en el de la suite.
+        ScenarioDurations none = ScenarioDurations.of(new byte[0]);
+
+        assertEquals(ForkPartition.pack(List.of("c:1", "a:1", "b:1", "d:1"), none, 2),
+                ForkPartition.pack(List.of("d:1", "b:1", "a:1", "c:1"), none, 2));
+        assertEquals(List.of(List.of("a:1", "c:1"), List.of("b:1", "d:1")),
+                ForkPartition.pack(List.of("d:1", "b:1", "a:1", "c:1"), none, 2));
+    }
+
+    @Test
+    void historyMustBePinnedWhenForking() {
+        assertThrows(IllegalArgumentException.class, () -> ForkPartition.checkHistory(" ", HISTORY, 1, 2));
+    }
+
+    @Test
+    void pinnedPrefixOfTheHistoryHashIsAccepted() {
+        String sha256 = HISTORY.sha256();
+
+        assertDoesNotThrow(() -> ForkPartition.checkHistory(sha256, HISTORY, 1, 2));
+        assertDoesNotThrow(() -> ForkPartition.checkHistory(sha256.substring(0, 12).toUpperCase() + " ", HISTORY, 2, 2));
+    }
+
+    @Test
+    void otherHistoryOrTooShortPinIsRejected() {
+        String other = ScenarioDurations.of(new byte[0]).sha256();
+
+        assertThrows(IllegalStateException.class, () -> ForkPartition.checkHistory(other, HISTORY, 1, 2));
+        assertThrows(IllegalStateException.class, () -> ForkPartition.checkHistory(HISTORY.sha256().substring(0, 8), HISTORY, 1, 2));
+    }
+}
@@ -0,0 +1,103 @@
+package com.saucedemo.runner;
+
+import com.saucedemo.config.TestSettings;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.runtime.FeatureSupplier;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+  IndexedFeatureSupplier: las features que parsea el runner al arrancar, con ayuda de FeatureIndex.
+
+  - Con el índice al día solo se parsean los .feature con algún escenario que pasa los filtros de Cucumber
+    (cucumber.filter.tags, cucumber.filter.name): con @http se lee login_http.feature y nada más.
+    Sin filtros se parsean todos, como siempre.
+  - Índice ausente o desactualizado (un .feature nuevo, cambiado o borrado): se escanea como Cucumber
+    y, si se escanearon directorios completos, se reescribe el índice para la siguiente JVM.
+  - JUnit construye el runner dos veces en la misma JVM: la segunda reutiliza las features de la primera
+    (mismas opciones = mismo resultado; las features de Cucumber son inmutables).
+  - saucedemo.feature.index=false: siempre se escanea, sin leer ni escribir el índice.
+  - SuiteDaemon ejecuta varias veces en la misma JVM: forgetParsed() entre ejecuciones, para ver los .feature editados.
+  - summary(): qué se hizo y cuánto tardó, para la línea [Startup] del runner.
+*/
+final class IndexedFeatureSupplier implements FeatureSupplier {
+
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.feature.index", true);
+    private static final Map<String, List<Feature>> PARSED = new ConcurrentHashMap<>();
+
+    private final RuntimeOptions options;
+    private final Supplier<UUID> ids;
+    private String summary = "";
+
+    IndexedFeatureSupplier(RuntimeOptions options, Supplier<UUID> ids) {
+        this.options = options;
+        this.ids = ids;
+    }
+
+    @Override
+    public List<Feature> get() {
+        long started = System.nanoTime();
+        String key = options.getFeaturePaths() + "|" + options.getTagExpressions() + "|" + options.getNameFilters();
+        List<Feature> reused = PARSED.get(key);
+        if (reused != null) {
+            summary = "reutilizadas de la construcción anterior del runner (" + reused.size() + " ficheros)";
+            return reused;
+        }
+        List<Feature> features = load();
+        PARSED.put(key, features);
+        summary += " en " + (System.nanoTime() - started) / 1_000_000 + " ms";
+        return features;
+    }
+
+    static void forgetParsed() {
+        PARSED.clear();
+    }
+
+    String summary() {
+        return summary;
+    }
+
+    private List<Feature> load() {
+        List<URI> paths = options.getFeaturePaths();
+        if (!ENABLED) {
+            List<Feature> features = FeatureIndex.parse(paths, ids);
+            summary = "índice desactivado, escaneados " + features.size() + " ficheros";
+            return features;
+        }
+        Optional<Map<URI, Path>> present = FeatureIndex.featureFiles(paths);
+        if (present.isEmpty()) {
+            List<Feature> features = FeatureIndex.parse(paths, ids);
+            summary = "rutas fuera del sistema de ficheros, escaneados " + features.size() + " ficheros";
+            return features;
+        }
+        Optional<FeatureIndex> index = FeatureIndex.read();
+        Optional<String> stale = index.isEmpty()
+                ? Optional.of("sin índice en " + FeatureIndex.file())
+                : index.get().staleReason(present.get(), paths);
+        if (stale.isPresent()) {
+            List<Feature> features = FeatureIndex.parse(paths, ids);
+            // Solo un escaneo de directorios completos describe todas las features; un subconjunto no sustituye al índice.
+            boolean rewritten = paths.stream().allMatch(path -> Files.isDirectory(Paths.get(path)));
+            if (rewritten) {
+                FeatureIndex.write(features);
+            }
+            summary = stale.get() + ", escaneados " + features.size() + " ficheros"
+                    + (rewritten ? " e índice reescrito" : "");
+            return features;
+        }
+        List<URI> selected = index.get().filesThatCanRun(present.get().keySet(),
+                options.getTagExpressions(), options.getNameFilters());
+        summary = "índice al día, parseados " + selected.size() + " de " + present.get().size() + " ficheros";
+        return selected.isEmpty() ? List.of() : FeatureIndex.parse(selected, ids);
+    }
+}
@@ -0,0 +1,108 @@
+package com.saucedemo.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  LongestFirstDispatcher: reparte los escenarios de todas las features entre N hilos, el más largo primero.
+
+  - Por qué: con un pool FIFO, si el escenario más lento (p. ej. login_retry.feature, dos logins) sale el último,
+    el resto de hilos acaba pronto y la ejecución espera a ese único escenario. Empezando por los más largos
+    (planificación LPT) los cortos rellenan los huecos al final y los hilos terminan casi a la vez.
+  - Cómo:
+    * Cola de prioridad por duración esperada (ScenarioDurations); a igual duración, orden de llegada.
+    * Los hilos no arrancan hasta que todas las features han encolado sus escenarios (featureScheduled()):
+      si empezaran con el primero que llega, ese primero saltaría la prioridad. Por seguridad, como mucho
+      se espera GATHER_TIMEOUT_MS desde el primer escenario encolado.
+*/
+final class LongestFirstDispatcher {
+
+    private static final long GATHER_TIMEOUT_MS = 1000;
+
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>();
+    private final int threads;
+    private final ThreadFactory threadFactory;
+    private final CountDownLatch featuresPending;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean starting = new AtomicBoolean();
+    private final List<Thread> workers = new ArrayList<>();
+
+    LongestFirstDispatcher(int threads, int features, ThreadFactory threadFactory) {
+        this.threads = threads;
+        this.threadFactory = threadFactory;
+        this.featuresPending = new CountDownLatch(features);
+    }
+
+    Future<?> submit(Runnable scenario, long expectedMillis) {
+        Job job = new Job(scenario, expectedMillis, sequence.getAndIncrement());
+        queue.add(job);
+        if (starting.compareAndSet(false, true)) {
+            Thread starter = new Thread(this::startWorkersWhenGathered, "scenario-dispatcher");
+            starter.setDaemon(true);
+            starter.start();
+        }
+        return job;
+    }
+
+    // Una feature ha encolado todos sus escenarios (RunnerScheduler.finished()).
+    void featureScheduled() {
+        featuresPending.countDown();
+    }
+
+    void shutdown() {
+        synchronized (workers) {
+            workers.forEach(Thread::interrupt);
+        }
+    }
+
+    private void startWorkersWhenGathered() {
+        try {
+            featuresPending.await(GATHER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (workers) {
+            for (int i = 0; i < threads; i++) {
+                Thread worker = threadFactory.newThread(this::work);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    private void work() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                queue.take().run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Job extends FutureTask<Void> implements Comparable<Job> {
+
+        private final long expectedMillis;
+        private final long order;
+
+        private Job(Runnable scenario, long expectedMillis, long order) {
+            super(scenario, null);
+            this.expectedMillis = expectedMillis;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byDuration = Long.compare(other.expectedMillis, expectedMillis);
+            return byDuration != 0 ? byDuration : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.saucedemo.runner;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.impact.ImpactSelection;
+import com.saucedemo.reports.IncrementalReport;
+import com.saucedemo.retry.ScenarioRetries;
+import com.saucedemo.timing.InteractionTimer;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.plugin.SerenityReporterParallel;
+import io.cucumber.junit.CucumberSerenityBaseRunner;
+import io.cucumber.plugin.Plugin;
+import net.serenitybdd.cucumber.CucumberWithSerenity;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Ordering;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+  ParallelCucumberWithSerenity: CucumberWithSerenity con ejecución concurrente de escenarios.
+
+  - saucedemo.parallel.threads (por defecto 1):
+    * 1  -> mismo comportamiento que CucumberWithSerenity (ejecución en serie).
+    * N  -> los escenarios de todos los .feature se reparten entre N hilos de trabajo.
+  - Cómo funciona:
+    * JUnit 4 permite sustituir el RunnerScheduler de cada ParentRunner.
+    * Nivel superior (features): un pool "cached" que solo lanza cada feature y espera a sus escenarios.
+    * Nivel feature (escenarios): N hilos compartidos por todas las features (LongestFirstDispatcher);
+      así N es el número real de escenarios (y navegadores) simultáneos.
+    * Los escenarios salen del más largo al más corto según su historial (ScenarioDurations),
+      para que ningún hilo se quede solo al final con un escenario lento.
+  - Por qué es seguro:
+    * Cucumber crea glue (LoginStepDefinitions) y runner por hilo (ThreadLocalRunnerSupplier).
+    * Con N > 1 el informe lo escribe SerenityReporterParallel en lugar del SerenityReporter de serie:
+      guarda los eventos de cada escenario en una sesión de su hilo (ScenarioContextParallel) y los
+      reproduce en el bus de la feature al terminar la ejecución, así que dos escenarios de la misma
+      feature a la vez no mezclan sus pasos. Con 1 hilo se mantiene el de serie, que entrega cada
+      resultado al terminar su escenario (lo necesitan IncrementalReport y SerenityAttempts).
+    * Actor y navegador viven en el Stage del hilo (OnStage) y el navegador sale del DriverPool.
+  - saucedemo.impact.select=true: antes de que Cucumber lea sus opciones, ImpactSelection reduce
+    la ejecución a los escenarios afectados por los cambios (ver com.saucedemo.impact).
+  - saucedemo.fork.count / saucedemo.fork.number: reparto de escenarios entre JVM por duración (ForkPartition).
+  - Reintentos y cuarentena (com.saucedemo.retry): cada escenario que falla se repite en su hilo, en serie
+    o en paralelo, y JUnit solo ve el último intento (ver ScenarioRetries).
+  - Arranque: las features salen de IndexedFeatureSupplier (índice precalculado en target/cucumber-index)
+    y al terminar el constructor se imprime [Startup] con el tiempo desde el arranque de la JVM.
+*/
+public class ParallelCucumberWithSerenity extends CucumberWithSerenity {
+
+    private static final Set<String> ANNOUNCED = ConcurrentHashMap.newKeySet();
+
+    private static final String SERIAL_REPORTER = "io.cucumber.core.plugin.SerenityReporter";
+
+    private final ScenarioRetries retries;
+    private final ScenarioDurations durations;
+    private final LongestFirstDispatcher scenarios;
+    private ForkPartition fork;
+    // Sin inicializador: lo asigna addPluginIfNotInList durante el constructor de la superclase.
+    private Plugin serenityReporter;
+    // Igual: lo asigna parseFeaturesEarly durante el constructor de la superclase.
+    private String featureSummary;
+
+    public ParallelCucumberWithSerenity(Class<?> clazz) throws InitializationError {
+        super(ImpactSelection.apply(clazz));
+        durations = ScenarioDurations.load();
+        keepThisFork(durations);
+        retries = new ScenarioRetries(serenityReporter);
+        if (!retries.quarantined().isEmpty()) {
+            announce("[Quarantine] en cuarentena (sus fallos no rompen la build): " + String.join(", ", retries.quarantined()));
+        }
+        int threads = threads();
+        if (threads <= 1) {
+            scenarios = null;
+            for (ParentRunner<?> feature : getChildren()) {
+                feature.setScheduler(new RetryingSerialScheduler(retries));
+            }
+        } else {
+            ExecutorService features = Executors.newCachedThreadPool(daemonThreads("feature-runner"));
+            scenarios = new LongestFirstDispatcher(
+                    threads, getDescription().getChildren().size(), daemonThreads("scenario-worker"));
+            setScheduler(new ConcurrentScheduler(features::submit, () -> { }, () -> {
+                features.shutdown();
+                scenarios.shutdown();
+            }));
+            printPlan(threads);
+        }
+        announce(String.format("[Startup] runner listo a los %.2fs del arranque de la JVM; features: %s",
+                ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0, featureSummary));
+    }
+
+    /* Para SuiteDaemon, antes de cada ejecución en la misma JVM: lo que aquí se recuerda "una vez por JVM"
+       pasa a ser "una vez por ejecución" (features parseadas, resúmenes ya impresos, selección por impacto)
+       y los acumuladores estáticos que se exportan al terminar cada ejecución empiezan de cero
+       (latencias de interacción, contadores del informe incremental). */
+    public static void resetBetweenRuns() {
+        ANNOUNCED.clear();
+        IndexedFeatureSupplier.forgetParsed();
+        ImpactSelection.reset();
+        InteractionTimer.resetRun();
+        IncrementalReport.resetRun();
+    }
+
+    @Override
+    protected void parseFeaturesEarly() {
+        IndexedFeatureSupplier supplier = new IndexedFeatureSupplier(currentRuntimeOptions(), getEventBus()::generateId);
+        List<Feature> features = supplier.get();
+        if (useFeatures(features)) {
+            featureSummary = supplier.summary();
+        } else {
+            super.parseFeaturesEarly();
+            featureSummary = "escaneadas por Cucumber (no se pudieron usar las del índice)";
+        }
+    }
+
+    /* El runner de Serenity guarda las features en un campo privado que lee al ejecutar (no solo getFeatures()):
+       se asigna por reflexión. Si otra versión no lo tiene, parseFeaturesEarly vuelve al escaneo de Cucumber. */
+    private boolean useFeatures(List<Feature> features) {
+        try {
+            Field field = CucumberSerenityBaseRunner.class.getDeclaredField("features");
+            field.setAccessible(true);
+            field.set(this, features);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /* CucumberSerenityRunner añade siempre el SerenityReporter de serie (obsoleto desde Serenity 4.0.50):
+       con varios hilos se cambia por SerenityReporterParallel, que no comparte estado de escenario
+       entre hilos. Se compara por nombre para no depender de la clase obsoleta. */
+    @Override
+    protected boolean addPluginIfNotInList(Plugin plugin, Class<?> pluginClass) {
+        if (SERIAL_REPORTER.equals(pluginClass.getName())) {
+            serenityReporter = threads() > 1 ? new SerenityReporterParallel() : plugin;
+            return super.addPluginIfNotInList(serenityReporter, serenityReporter.getClass());
+        }
+        return super.addPluginIfNotInList(plugin, pluginClass);
+    }
+
+    /* Con varios hilos, justo antes de lanzar la feature (ya aplicados todos los filtros):
+       sus escenarios se ordenan del más largo al más corto y cada uno se encola con la duración
+       esperada de su propia Description (ver longestFirst). */
+    @Override
+    protected void runChild(ParentRunner<?> feature, RunNotifier notifier) {
+        if (scenarios != null) {
+            List<Description> order = longestFirst(feature);
+            AtomicInteger next = new AtomicInteger();
+            feature.setScheduler(new ConcurrentScheduler(
+                    scenario -> scenarios.submit(retries.retrying(scenario), expectedMillis(order, next.getAndIncrement())),
+                    scenarios::featureScheduled, () -> { }));
+        }
+        super.runChild(feature, notifier);
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        try {
+            super.run(retries.wrap(notifier));
+        } finally {
+            retries.finished();
+        }
+    }
+
+    // saucedemo.fork.count > 1: solo los escenarios que ForkPartition asigna a este fork.
+    private void keepThisFork(ScenarioDurations durations) {
+        fork = ForkPartition.fromSettings(getDescription(), durations);
+        if (fork == null) {
+            return;
+        }
+        announce("[Scheduler] " + fork.summary());
+        try {
+            filter(fork);
+        } catch (NoTestsRemainException e) {
+            announce("[Scheduler] " + fork.describe() + ": ningún escenario asignado");
+        }
+    }
+
+    /* Ordena los escenarios de la feature con ParentRunner.order: JUnit pasa a la Ordering la Description
+       de cada escenario que queda tras los filtros (fork, -Dtest...) y planifica los escenarios exactamente
+       en el orden devuelto. La lista devuelta es por tanto la Description del i-ésimo escenario planificado. */
+    private List<Description> longestFirst(ParentRunner<?> feature) {
+        List<Description> order = new ArrayList<>();
+        try {
+            new Ordering() {
+                @Override
+                protected List<Description> orderItems(Collection<Description> scenarios) {
+                    scenarios.stream()
+                            .sorted(Comparator.comparingLong((Description scenario) -> expectedMillis(scenario)).reversed())
+                            .forEachOrdered(order::add);
+                    return order;
+                }
+            }.apply(feature);
+        } catch (InvalidOrderingException e) {
+            throw new IllegalStateException("No se pudieron ordenar los escenarios de " + feature.getDescription(), e);
+        }
+        return order;
+    }
+
+    private long expectedMillis(List<Description> order, int scheduled) {
+        return scheduled < order.size() ? expectedMillis(order.get(scheduled)) : 0;
+    }
+
+    private long expectedMillis(Description scenario) {
+        return durations.expectedMillis(ScenarioId.of(scenario));
+    }
+
+    private void printPlan(int threads) {
+        List<String> scenarios = new ArrayList<>();
+        getDescription().getChildren().forEach(feature -> feature.getChildren().stream()
+                .filter(scenario -> fork == null || fork.shouldRun(scenario))
+                .forEach(scenario -> scenarios.add(ScenarioId.of(scenario))));
+        long makespan = ForkPartition.pack(scenarios, durations, threads).stream()
+                .mapToLong(worker -> ForkPartition.expectedMillis(worker, durations)).max().orElse(0);
+        String longest = scenarios.stream().max(Comparator.comparingLong(durations::expectedMillis)).orElse("-");
+        announce(String.format("[Scheduler] el más largo primero en %d hilos: %d escenarios, estimado %.1fs de trabajo"
+                        + " y %.1fs de ejecución, más largo %s (%.1fs), historial de %d escenarios",
+                threads, scenarios.size(), ForkPartition.expectedMillis(scenarios, durations) / 1000.0,
+                makespan / 1000.0, longest, durations.expectedMillis(longest) / 1000.0, durations.knownScenarios()));
+    }
+
+    private static int threads() {
+        return TestSettings.intValue("saucedemo.parallel.threads", 1);
+    }
+
+    // JUnit puede construir el runner más de una vez en la misma JVM: cada resumen se imprime una sola vez.
+    private static void announce(String message) {
+        if (ANNOUNCED.add(message)) {
+            System.out.println(message);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // En serie: cada escenario se ejecuta (y se reintenta) en el momento, como el scheduler por defecto de JUnit.
+    private static final class RetryingSerialScheduler implements RunnerScheduler {
+
+        private final ScenarioRetries retries;
+
+        private RetryingSerialScheduler(ScenarioRetries retries) {
+            this.retries = retries;
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            retries.retrying(childStatement).run();
+        }
+
+        @Override
+        public void finished() {
+        }
+    }
+
+    /* ConcurrentScheduler
+       - schedule(): envía cada hijo (feature o escenario) a su pool.
+       - finished(): JUnit lo llama al acabar de planificar; avisa (onScheduled) y espera a que terminen todos los hijos.
+       - Los fallos de los escenarios se notifican por RunNotifier, no por el Future.
+    */
+    private static final class ConcurrentScheduler implements RunnerScheduler {
+
+        private final Function<Runnable, Future<?>> submit;
+        private final Runnable onScheduled;
+        private final Runnable onFinished;
+        private final List<Future<?>> pending = new ArrayList<>();
+
+        private ConcurrentScheduler(Function<Runnable, Future<?>> submit, Runnable onScheduled, Runnable onFinished) {
+            this.submit = submit;
+            this.onScheduled = onScheduled;
+            this.onFinished = onFinished;
+        }
+
+        @Override
+        public synchronized void schedule(Runnable childStatement) {
+            pending.add(submit.apply(childStatement));
+        }
+
+        @Override
+        public void finished() {
+            onScheduled.run();
+            try {
+                for (Future<?> child : snapshot()) {
+                    child.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Fallo inesperado ejecutando escenarios en paralelo", e.getCause());
+            } finally {
+                onFinished.run();
+            }
+        }
+
+        private synchronized List<Future<?>> snapshot() {
+            return new ArrayList<>(pending);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.saucedemo.runner;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  ScenarioDurationPlugin: plugin de Cucumber que añade al historial (ScenarioDurations) lo que ha tardado
+  cada escenario de esta ejecución.
+
+  - Solo escenarios que pasaron: uno que falla a mitad dura menos de lo normal y falsearía la estimación.
+  - Duración = la del TestCase de Cucumber (hooks incluidos: abrir navegador, login...), que es lo que
+    ocupa a un hilo o a un fork.
+  - Se registra en RunCucumberTest: plugin = { ..., "com.saucedemo.runner.ScenarioDurationPlugin" }.
+*/
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        if (event.getResult().getStatus() == Status.PASSED) {
+            durations.put(ScenarioId.of(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine()),
+                    event.getResult().getDuration().toMillis());
+        }
+    }
+
+    private void export() {
+        if (durations.isEmpty()) {
+            return;
+        }
+        ScenarioDurations.append(durations);
+        System.out.println("[ScenarioDurations] " + durations.size() + " duraciones añadidas al historial ("
+                + ScenarioDurations.file() + ")");
+    }
+}
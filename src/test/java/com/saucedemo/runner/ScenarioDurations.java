@@ -0,0 +1,184 @@
+package com.saucedemo.runner;
+
+import com.saucedemo.config.TestSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/*
+  ScenarioDurations: historial de duraciones por escenario, para planificar las siguientes ejecuciones.
+
+  - Fichero: saucedemo.durations.file (por defecto .saucedemo/scenario-durations.tsv en la raíz del proyecto,
+    fuera de target/ para que sobreviva a mvn clean). Una línea por escenario que pasó y ejecución:
+      src/test/resources/features/login_retry.feature:10<TAB>3120<TAB>1760682000000
+  - Al terminar cada ejecución se AÑADEN las líneas nuevas (ScenarioDurationPlugin); con un lock sobre el fichero,
+    para que varias ejecuciones (forks) puedan escribir a la vez.
+  - Duración esperada = mediana de las últimas saucedemo.durations.window ejecuciones (por defecto 5):
+    un escenario lento una vez (GC, red) no descoloca la planificación.
+  - Escenarios sin historial: la mediana de los conocidos (0 si no hay ninguno).
+  - El fichero se compacta solo (últimas N por escenario) cuando crece más de 4 veces lo necesario.
+  - Forks (ForkPartition): todos los forks de una misma ejecución deben leer el mismo historial,
+    p. ej. jobs de CI en paralelo que restauran el mismo fichero de caché; sus ficheros se unen después con sort -u.
+    sha256() es el del fichero tal como se leyó, para que ForkPartition compruebe que es el fijado.
+*/
+public final class ScenarioDurations {
+
+    private static final int WINDOW = TestSettings.intValue("saucedemo.durations.window", 5);
+
+    private final Map<String, Deque<Long>> recent;
+    private final Map<String, Long> expected = new HashMap<>();
+    private final long unknownMillis;
+    private final String sha256;
+
+    private ScenarioDurations(Map<String, Deque<Long>> recent, String sha256) {
+        this.recent = recent;
+        this.sha256 = sha256;
+        recent.forEach((scenario, durations) -> expected.put(scenario, median(durations)));
+        this.unknownMillis = expected.isEmpty() ? 0 : median(expected.values());
+    }
+
+    public static Path file() {
+        return Paths.get(TestSettings.stringValue("saucedemo.durations.file", ".saucedemo/scenario-durations.tsv"));
+    }
+
+    public static ScenarioDurations load() {
+        Path file = file();
+        if (!Files.isRegularFile(file)) {
+            return of(new byte[0]);
+        }
+        try {
+            return of(Files.readAllBytes(file));
+        } catch (IOException e) {
+            System.out.println("[ScenarioDurations] no se pudo leer " + file + ": " + e.getMessage());
+            return of(new byte[0]);
+        }
+    }
+
+    // Historial a partir del contenido del fichero (sin fichero: vacío).
+    static ScenarioDurations of(byte[] content) {
+        List<String> lines = new String(content, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        return new ScenarioDurations(parse(lines), sha256(content));
+    }
+
+    public long expectedMillis(String scenario) {
+        return expected.getOrDefault(scenario, unknownMillis);
+    }
+
+    public int knownScenarios() {
+        return recent.size();
+    }
+
+    // SHA-256 (hexadecimal) del fichero leído; sin fichero, el de un contenido vacío (como sha256sum < /dev/null).
+    String sha256() {
+        return sha256;
+    }
+
+    /* append(durations)
+       - Bajo lock exclusivo: lee lo que haya, añade las líneas nuevas y, si el fichero ha crecido demasiado,
+         lo reescribe con solo las últimas WINDOW duraciones de cada escenario. */
+    static void append(Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String lines = durations.entrySet().stream()
+                .map(entry -> entry.getKey() + "\t" + entry.getValue() + "\t" + now + "\n")
+                .collect(Collectors.joining());
+        Path file = file();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                    // lee el fichero completo
+                }
+                String content = new String(existing.array(), StandardCharsets.UTF_8) + lines;
+                Map<String, Deque<Long>> all = parse(content.lines().collect(Collectors.toList()));
+                long lineCount = content.lines().count();
+                if (lineCount > 4L * WINDOW * Math.max(1, all.size())) {
+                    channel.truncate(0);
+                    channel.write(ByteBuffer.wrap(compacted(all, now).getBytes(StandardCharsets.UTF_8)), 0);
+                } else {
+                    channel.write(ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8)), channel.size());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+    }
+
+    // Las últimas WINDOW duraciones de cada escenario, por fecha (columna 3) y no por posición:
+    // unir los ficheros de varios forks (sort -u) no cambia el resultado.
+    private static Map<String, Deque<Long>> parse(List<String> lines) {
+        Map<String, TreeMap<Long, Long>> byTime = new LinkedHashMap<>();
+        long position = 0;
+        for (String line : lines) {
+            String[] columns = line.split("\t");
+            position++;
+            if (columns.length < 3) {
+                continue;
+            }
+            try {
+                long millis = Long.parseLong(columns[1]);
+                // Misma fecha (misma ejecución): desempata la posición en el fichero.
+                long order = Long.parseLong(columns[2]) * 1_000_000 + position % 1_000_000;
+                byTime.computeIfAbsent(columns[0], key -> new TreeMap<>()).put(order, millis);
+            } catch (NumberFormatException e) {
+                // línea corrupta (escritura interrumpida): se ignora
+            }
+        }
+        Map<String, Deque<Long>> recent = new LinkedHashMap<>();
+        byTime.forEach((scenario, durations) -> {
+            Deque<Long> last = new ArrayDeque<>(durations.values());
+            while (last.size() > WINDOW) {
+                last.removeFirst();
+            }
+            recent.put(scenario, last);
+        });
+        return recent;
+    }
+
+    private static String compacted(Map<String, Deque<Long>> all, long now) {
+        StringBuilder content = new StringBuilder();
+        all.forEach((scenario, durations) -> durations.forEach(millis ->
+                content.append(scenario).append('\t').append(millis).append('\t').append(now).append('\n')));
+        return content.toString();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static long median(Collection<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
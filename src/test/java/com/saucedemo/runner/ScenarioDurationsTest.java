@@ -0,0 +1,78 @@
+package com.saucedemo.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScenarioDurationsTest {
+
+    private static final String EMPTY_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    @Test
+    void expectedIsTheMedianOfTheLastFiveRunsByDate() {
+        // Desordenado a propósito (como tras sort -u): la 100 es la más antigua y queda fuera de la ventana.
+        ScenarioDurations durations = durations(
+                "a.feature:3\t900\t7",
+                "a.feature:3\t100\t1",
+                "a.feature:3\t300\t3",
+                "a.feature:3\t500\t5",
+                "a.feature:3\t400\t4",
+                "a.feature:3\t200\t2");
+
+        // Ventana: 200, 300, 400, 500, 900.
+        assertEquals(400, durations.expectedMillis("a.feature:3"));
+    }
+
+    @Test
+    void evenWindowAveragesTheTwoMiddleValues() {
+        ScenarioDurations durations = durations(
+                "a.feature:3\t100\t1",
+                "a.feature:3\t300\t2");
+
+        assertEquals(200, durations.expectedMillis("a.feature:3"));
+    }
+
+    @Test
+    void unknownScenarioGetsTheMedianOfTheKnownOnes() {
+        ScenarioDurations durations = durations(
+                "a.feature:3\t100\t1",
+                "b.feature:3\t700\t1",
+                "c.feature:3\t300\t1");
+
+        assertEquals(3, durations.knownScenarios());
+        assertEquals(300, durations.expectedMillis("nuevo.feature:9"));
+    }
+
+    @Test
+    void corruptLinesAreIgnored() {
+        ScenarioDurations durations = durations(
+                "a.feature:3\t100\t1",
+                "a.feature:3\t10",
+                "a.feature:3\tNaN\t2",
+                "a.feature:3\t300\t3");
+
+        assertEquals(200, durations.expectedMillis("a.feature:3"));
+    }
+
+    @Test
+    void emptyHistoryExpectsZeroAndHashesLikeAnEmptyFile() {
+        ScenarioDurations durations = ScenarioDurations.of(new byte[0]);
+
+        assertEquals(0, durations.knownScenarios());
+        assertEquals(0, durations.expectedMillis("a.feature:3"));
+        assertEquals(EMPTY_SHA256, durations.sha256());
+    }
+
+    @Test
+    void sha256IsThatOfTheBytesRead() {
+        // printf 'a.feature:3\t100\t1\n' | sha256sum
+        assertEquals("3d1f713f12039f96321a165b2292680352c0544017714e79d9a7665a9e402268",
+                durations("a.feature:3\t100\t1").sha256());
+    }
+
+    static ScenarioDurations durations(String... lines) {
+        return ScenarioDurations.of((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
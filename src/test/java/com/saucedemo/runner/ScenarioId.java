@@ -0,0 +1,54 @@
+package com.saucedemo.runner;
+
+import org.junit.runner.Description;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+  ScenarioId: identificador estable de un escenario, "<ruta del .feature relativa al proyecto>:<línea>".
+
+  - Es el formato que acepta cucumber.features para ejecutar un escenario concreto
+    (src/test/resources/features/login.feature:10) y la clave del índice de impacto y del historial de duraciones.
+  - Desde Cucumber (plugins): of(testCase.getUri(), testCase.getLocation().getLine()).
+  - Desde JUnit (runner): la Description de cada escenario lleva como id único el PickleId de Cucumber
+    ("file:/.../login.feature:10"), que no tiene getter público: se lee por reflexión, igual que hace
+    Serenity con las features (FeatureRunnerExtractors). Si no se puede, se usa el nombre visible.
+*/
+public final class ScenarioId {
+
+    private static final Path PROJECT = Paths.get("").toAbsolutePath();
+    private static final Field UNIQUE_ID = uniqueIdField();
+
+    private ScenarioId() {
+    }
+
+    public static String of(URI uri, int line) {
+        String path = "file".equals(uri.getScheme())
+                ? PROJECT.relativize(Paths.get(uri)).toString().replace('\\', '/')
+                : uri.getSchemeSpecificPart();
+        return path + ":" + line;
+    }
+
+    public static String of(Description scenario) {
+        try {
+            String pickleId = String.valueOf(UNIQUE_ID.get(scenario));
+            int colon = pickleId.lastIndexOf(':');
+            return of(URI.create(pickleId.substring(0, colon)), Integer.parseInt(pickleId.substring(colon + 1)));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return scenario.getDisplayName();
+        }
+    }
+
+    private static Field uniqueIdField() {
+        try {
+            Field field = Description.class.getDeclaredField("fUniqueId");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("JUnit sin Description.fUniqueId", e);
+        }
+    }
+}
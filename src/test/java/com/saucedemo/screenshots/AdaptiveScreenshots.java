@@ -0,0 +1,90 @@
+package com.saucedemo.screenshots;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.telemetry.ScenarioTelemetry;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/*
+  AdaptiveScreenshots: política de capturas "adaptive".
+
+  - Problema: con serenity.take.screenshots=FOR_EACH_ACTION cada Enter/Click escribe un PNG en disco,
+    y en una ejecución en verde casi ninguno se mira.
+  - Política adaptive (saucedemo.screenshots.mode=adaptive):
+    * Serenity solo captura en fallos (serenity.take.screenshots=FOR_FAILURES).
+    * Tras cada paso se guarda una captura en un ScreenshotRingBuffer en memoria (últimas K).
+    * Si el escenario falla (un paso lanza excepción o una Question como LoginErrorIsVisible no da
+      la respuesta esperada en actor.should(seeThat(...))) las K capturas se escriben en disco,
+      en segundo plano (ScreenshotWriter): el escenario no espera al disco.
+    * Si pasa, se descartan: cero escrituras en disco.
+  - Cada hilo tiene su propio buffer (ThreadLocal), compatible con la ejecución en paralelo.
+  - Configuración:
+    * saucedemo.screenshots.mode: adaptive (por defecto) | serenity (solo la política de Serenity)
+    * saucedemo.screenshots.buffer.size: K, frames que se conservan (por defecto 5)
+*/
+public final class AdaptiveScreenshots {
+
+    private static final boolean ENABLED =
+            "adaptive".equalsIgnoreCase(TestSettings.stringValue("saucedemo.screenshots.mode", "adaptive"));
+    private static final int BUFFER_SIZE = TestSettings.intValue("saucedemo.screenshots.buffer.size", 5);
+    private static final Path OUTPUT_DIRECTORY = Paths.get(
+            TestSettings.stringValue("serenity.outputDirectory", "target/site/serenity"), "adaptive-screenshots");
+
+    private static final ThreadLocal<ScreenshotRingBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> new ScreenshotRingBuffer(BUFFER_SIZE));
+
+    private AdaptiveScreenshots() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void startScenario() {
+        BUFFER.get().clear();
+    }
+
+    /* Captura en memoria. Un navegador caído no debe romper el escenario por una captura:
+       en ese caso simplemente no hay frame. */
+    public static void capture(WebDriver driver, String label) {
+        if (!ENABLED || !(driver instanceof TakesScreenshot)) {
+            return;
+        }
+        try {
+            // BASE64 y no BYTES: la decodificación también sale del hilo del escenario.
+            String base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            ScenarioTelemetry.recordScreenshot(base64.length() * 3L / 4);
+            BUFFER.get().add(label, base64);
+        } catch (WebDriverException e) {
+            // Sin captura para este paso.
+        }
+    }
+
+    /* Encola los frames del buffer para escribirlos en disco y lo vacía.
+       Devuelve el directorio donde aparecerán (los ficheros llevan el hash, que se calcula al escribir). */
+    public static Path flush(String scenarioId) {
+        ScreenshotRingBuffer buffer = BUFFER.get();
+        Path directory = OUTPUT_DIRECTORY.resolve(scenarioId.replaceAll("[^A-Za-z0-9._-]", "_"));
+        int index = 1;
+        for (ScreenshotRingBuffer.Frame frame : buffer.frames()) {
+            ScreenshotWriter.shared().submit(directory,
+                    String.format("%02d-%s", index++, frame.getLabel()), frame.getBase64Png());
+        }
+        buffer.clear();
+        return directory;
+    }
+
+    public static List<ScreenshotRingBuffer.Frame> bufferedFrames() {
+        return BUFFER.get().frames();
+    }
+
+    public static void discard() {
+        BUFFER.get().clear();
+    }
+}
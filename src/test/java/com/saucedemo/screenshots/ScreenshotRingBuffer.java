@@ -0,0 +1,87 @@
+package com.saucedemo.screenshots;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/*
+  ScreenshotRingBuffer: últimas K capturas de un escenario, solo en memoria.
+
+  - add(): guarda el frame; si el buffer está lleno descarta el más antiguo.
+  - Cada frame es el PNG en base64 tal como lo devuelve chromedriver: decodificarlo y calcular su hash
+    lo hace ScreenshotWriter fuera del hilo del escenario, y solo si se escribe.
+  - Frames idénticos a uno que ya está en el buffer no se guardan: en pasos que no cambian la pantalla
+    no se acumulan copias. Se comparan por SHA-256 del base64 (32 bytes por frame), no por el texto entero:
+    un frame nuevo se lee una vez para el digest y no una vez por cada frame del buffer.
+  - No es thread-safe a propósito: cada hilo de ejecución tiene su propio buffer (ver AdaptiveScreenshots),
+    y también su propio MessageDigest.
+*/
+public class ScreenshotRingBuffer {
+
+    private final int capacity;
+    private final Deque<Frame> frames;
+    private final MessageDigest sha256;
+    private int skippedDuplicates;
+
+    public ScreenshotRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad del buffer de capturas debe ser >= 1 (valor: " + capacity + ")");
+        }
+        this.capacity = capacity;
+        this.frames = new ArrayDeque<>(capacity);
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /* Devuelve false si el frame era un duplicado y no se ha guardado. */
+    public boolean add(String label, String base64Png) {
+        byte[] digest = sha256.digest(base64Png.getBytes(StandardCharsets.US_ASCII));
+        for (Frame frame : frames) {
+            if (Arrays.equals(frame.digest, digest)) {
+                skippedDuplicates++;
+                return false;
+            }
+        }
+        if (frames.size() == capacity) {
+            frames.removeFirst();
+        }
+        frames.addLast(new Frame(label, base64Png, digest));
+        return true;
+    }
+
+    public List<Frame> frames() {
+        return new ArrayList<>(frames);
+    }
+
+    public int skippedDuplicates() {
+        return skippedDuplicates;
+    }
+
+    public void clear() {
+        frames.clear();
+        skippedDuplicates = 0;
+    }
+
+    public static final class Frame {
+        private final String label;
+        private final String base64Png;
+        private final byte[] digest;
+
+        private Frame(String label, String base64Png, byte[] digest) {
+            this.label = label;
+            this.base64Png = base64Png;
+            this.digest = digest;
+        }
+
+        public String getLabel() { return label; }
+        public String getBase64Png() { return base64Png; }
+    }
+}
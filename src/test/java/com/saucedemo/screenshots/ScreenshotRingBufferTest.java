@@ -0,0 +1,53 @@
+package com.saucedemo.screenshots;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScreenshotRingBufferTest {
+
+    @Test
+    void identicalFrameIsSkipped() {
+        ScreenshotRingBuffer buffer = new ScreenshotRingBuffer(3);
+
+        assertTrue(buffer.add("step-01", "iVBORw0KGgoAAA"));
+        assertFalse(buffer.add("step-02", new String("iVBORw0KGgoAAA")));
+        assertTrue(buffer.add("step-03", "iVBORw0KGgoAAB"));
+
+        assertEquals(List.of("step-01", "step-03"), labels(buffer));
+        assertEquals(1, buffer.skippedDuplicates());
+    }
+
+    @Test
+    void oldestFrameIsDroppedWhenFull() {
+        ScreenshotRingBuffer buffer = new ScreenshotRingBuffer(2);
+        buffer.add("step-01", "a");
+        buffer.add("step-02", "b");
+        buffer.add("step-03", "c");
+
+        assertEquals(List.of("step-02", "step-03"), labels(buffer));
+        // El frame expulsado ya no cuenta como duplicado.
+        assertTrue(buffer.add("step-04", "a"));
+    }
+
+    @Test
+    void clearForgetsFramesAndCounters() {
+        ScreenshotRingBuffer buffer = new ScreenshotRingBuffer(2);
+        buffer.add("step-01", "a");
+        buffer.add("step-02", "a");
+
+        buffer.clear();
+
+        assertEquals(List.of(), labels(buffer));
+        assertEquals(0, buffer.skippedDuplicates());
+        assertTrue(buffer.add("step-03", "a"));
+    }
+
+    private static List<String> labels(ScreenshotRingBuffer buffer) {
+        return buffer.frames().stream().map(ScreenshotRingBuffer.Frame::getLabel).toList();
+    }
+}
@@ -0,0 +1,173 @@
+package com.saucedemo.screenshots;
+
+import com.saucedemo.config.TestSettings;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  ScreenshotWriter: escritura de capturas fuera del hilo del escenario.
+
+  - El hilo del escenario solo entrega la captura tal como la devuelve chromedriver (PNG en base64);
+    un pool de hilos la decodifica, la reduce si hace falta, calcula su SHA-256 (nombre del fichero) y la escribe.
+  - Cola acotada (saucedemo.screenshots.queue.size, por defecto 32) y saucedemo.screenshots.writer.threads hilos
+    (por defecto 2). Con la cola llena, la captura la escribe el propio hilo del escenario (backpressure):
+    si el disco no da abasto, la memoria no crece sin límite y los escenarios van más despacio, pero no se pierde nada.
+  - saucedemo.screenshots.max.width: si es > 0, las capturas más anchas se reducen a ese ancho antes de escribirse.
+  - drain(): espera a que todo lo encolado esté en disco. Se llama al terminar la ejecución (IncrementalReport)
+    y en un shutdown hook, así el goal aggregate de Serenity, que va después, encuentra todas las capturas.
+  - Un fallo de escritura no rompe ningún escenario: se cuenta y sale en el resumen "[Screenshots] ...".
+*/
+public final class ScreenshotWriter {
+
+    private static final ScreenshotWriter SHARED = new ScreenshotWriter(
+            TestSettings.intValue("saucedemo.screenshots.writer.threads", 2),
+            TestSettings.intValue("saucedemo.screenshots.queue.size", 32),
+            TestSettings.intValue("saucedemo.screenshots.max.width", 0));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            SHARED.drain();
+            if (SHARED.submitted.sum() > 0) {
+                System.out.println("[Screenshots] " + SHARED);
+            }
+        }, "screenshot-writer-drain"));
+    }
+
+    private final ThreadPoolExecutor workers;
+    private final int maxWidth;
+    private final Object idle = new Object();
+    private int pending;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder writtenBytes = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder workerNanos = new LongAdder();
+    private final LongAccumulator maxQueued = new LongAccumulator(Math::max, 0);
+
+    private ScreenshotWriter(int threads, int queueSize, int maxWidth) {
+        this.maxWidth = maxWidth;
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    callerRuns.increment();
+                    task.run();
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    public static ScreenshotWriter shared() {
+        return SHARED;
+    }
+
+    /* Encola la captura para escribirla en directory como "<prefix>-<hash>.png". */
+    public void submit(Path directory, String prefix, String base64Png) {
+        synchronized (idle) {
+            pending++;
+        }
+        submitted.increment();
+        workers.execute(() -> {
+            try {
+                write(directory, prefix, base64Png);
+            } finally {
+                synchronized (idle) {
+                    if (--pending == 0) {
+                        idle.notifyAll();
+                    }
+                }
+            }
+        });
+        maxQueued.accumulate(workers.getQueue().size());
+    }
+
+    /* Bloquea hasta que no quede ninguna captura pendiente. */
+    public void drain() {
+        synchronized (idle) {
+            while (pending > 0) {
+                try {
+                    idle.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(Path directory, String prefix, String base64Png) {
+        long started = System.nanoTime();
+        try {
+            byte[] png = shrink(Base64.getMimeDecoder().decode(base64Png));
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+            Files.createDirectories(directory);
+            Path file = directory.resolve(prefix + "-" + hash.substring(0, 12) + ".png");
+            // Temporal + move: quien lea el directorio (informe incremental) nunca ve un PNG a medias.
+            Path temporary = Files.createTempFile(directory, prefix, ".tmp");
+            Files.write(temporary, png);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written.increment();
+            writtenBytes.add(png.length);
+        } catch (IOException | IllegalArgumentException | NoSuchAlgorithmException e) {
+            failed.increment();
+            System.out.println("[Screenshots] no se pudo guardar " + directory.resolve(prefix) + ": " + e);
+        } finally {
+            workerNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private byte[] shrink(byte[] png) throws IOException {
+        if (maxWidth <= 0) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null || image.getWidth() <= maxWidth) {
+            return png;
+        }
+        int height = Math.max(1, image.getHeight() * maxWidth / image.getWidth());
+        BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, maxWidth, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        ImageIO.write(scaled, "png", out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        long count = Math.max(1, written.sum() + failed.sum());
+        return String.format(Locale.ROOT,
+                "%d capturas escritas (%.2f MB), %d fallidas; %.1f ms por captura en segundo plano;"
+                        + " cola máx %d, %d escritas en el hilo del escenario por cola llena",
+                written.sum(), writtenBytes.sum() / 1048576.0, failed.sum(),
+                workerNanos.sum() / 1_000_000.0 / count, maxQueued.get(), callerRuns.sum());
+    }
+}
@@ -0,0 +1,57 @@
+package com.saucedemo.session;
+
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.model.User;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  SessionCache: sesiones autenticadas por User (username + password), compartidas en la JVM.
+
+  - Tras un login real por UI se guarda un SessionSnapshot; los escenarios siguientes del mismo
+    usuario lo inyectan en su navegador en lugar de repetir Enter + Enter + Click.
+  - Expulsión:
+    * por TTL (saucedemo.session.cache.ttl.ms, por defecto 5 minutos) o caducidad de las cookies;
+    * invalidate(user) cuando el servidor rechaza la sesión inyectada.
+  - ConcurrentHashMap: seguro con escenarios en paralelo.
+*/
+public class SessionCache {
+
+    private static final SessionCache SHARED =
+            new SessionCache(TestSettings.millisValue("saucedemo.session.cache.ttl.ms", 5 * 60 * 1000));
+
+    private final Duration timeToLive;
+    private final Map<User, SessionSnapshot> sessions = new ConcurrentHashMap<>();
+
+    public SessionCache(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public static SessionCache shared() {
+        return SHARED;
+    }
+
+    public Duration timeToLive() {
+        return timeToLive;
+    }
+
+    public Optional<SessionSnapshot> sessionFor(User user) {
+        SessionSnapshot session = sessions.get(user);
+        if (session != null && session.isExpired()) {
+            sessions.remove(user, session);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session);
+    }
+
+    public void remember(User user, SessionSnapshot session) {
+        sessions.put(user, session);
+    }
+
+    public void invalidate(User user) {
+        sessions.remove(user);
+    }
+}
@@ -0,0 +1,83 @@
+package com.saucedemo.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+  SessionSnapshot: estado de una sesión autenticada (cookies + localStorage + sessionStorage).
+
+  - capture(): se toma justo después de un login real por UI, ya en /inventory.html.
+  - restoreInto(): inyecta ese estado en otro navegador sin pasar por el formulario de login.
+  - En SauceDemo la sesión es la cookie "session-username" y el carrito vive en localStorage.
+*/
+public class SessionSnapshot {
+
+    private static final String READ_STORAGE =
+            "var read = function (storage) {"
+            + "  var values = {};"
+            + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); values[key] = storage.getItem(key); }"
+            + "  return values;"
+            + "};"
+            + "return [read(window.localStorage), read(window.sessionStorage)];";
+
+    private static final String WRITE_STORAGE =
+            "var write = function (storage, values) { for (var key in values) { storage.setItem(key, values[key]); } };"
+            + "write(window.localStorage, arguments[0]);"
+            + "write(window.sessionStorage, arguments[1]);";
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant expiresAt;
+
+    private SessionSnapshot(Set<Cookie> cookies, Map<String, String> localStorage,
+                            Map<String, String> sessionStorage, Instant expiresAt) {
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+        this.expiresAt = expiresAt;
+    }
+
+    /* La entrada caduca con el TTL de la caché o con la primera cookie que caduque, lo que ocurra antes. */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver, Duration timeToLive) {
+        Set<Cookie> cookies = Set.copyOf(driver.manage().getCookies());
+        List<Map<String, Object>> storages = (List<Map<String, Object>>)
+                ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        Instant expiresAt = Instant.now().plus(timeToLive);
+        for (Cookie cookie : cookies) {
+            Date expiry = cookie.getExpiry();
+            if (expiry != null && expiry.toInstant().isBefore(expiresAt)) {
+                expiresAt = expiry.toInstant();
+            }
+        }
+        return new SessionSnapshot(cookies, asStrings(storages.get(0)), asStrings(storages.get(1)), expiresAt);
+    }
+
+    /* El navegador debe estar ya en una página del mismo origen: las cookies y el storage son por dominio. */
+    public void restoreInto(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, localStorage, sessionStorage);
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    private static Map<String, String> asStrings(Map<String, Object> values) {
+        Map<String, String> strings = new HashMap<>();
+        values.forEach((key, value) -> strings.put(key, String.valueOf(value)));
+        return strings;
+    }
+}
@@ -0,0 +1,28 @@
+package com.saucedemo.standin;
+
+/*
+  Producto del catálogo que sirve el stand-in local de SauceDemo.
+  Mismo formato que la web real: nombre, descripción y precio en dólares.
+*/
+public class Product {
+    private final int id;
+    private final String name;
+    private final String description;
+    private final String price;
+
+    public Product(int id, String name, String description, String price) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getPrice() { return price; }
+
+    public String getSlug() {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+}
@@ -0,0 +1,257 @@
+package com.saucedemo.standin;
+
+import com.saucedemo.config.TestSettings;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/*
+  SauceDemoStandIn: copia local y sin red de las páginas de login e inventario de SauceDemo.
+
+  - Servidor HTTP embebido del JDK (com.sun.net.httpserver): sin dependencias nuevas.
+  - Se arranca una única vez por JVM, al pedir su URL por primera vez (ver TargetApplication).
+  - Reproduce lo que usan nuestros Targets y Questions:
+    * user-name, password, login-button
+    * [data-test='error'] con los mismos mensajes que la web real (incluido locked_out_user)
+    * inventory_container, .inventory_list y .inventory_item
+    * cookie "session-username", como la web real, para acceder a /inventory.html
+    * /static/css/main.css cacheable (max-age y ETag), para que el CachingProxy tenga algo que cachear sin red
+  - Configuración:
+    * saucedemo.standin.port (0 = puerto libre elegido por el sistema)
+    * saucedemo.standin.inventory.size (por defecto 6, el catálogo real)
+*/
+public final class SauceDemoStandIn {
+
+    static final String PASSWORD = "secret_sauce";
+    static final String LOCKED_OUT_USER = "locked_out_user";
+    static final Set<String> USERS = Set.of(
+            "standard_user", LOCKED_OUT_USER, "problem_user", "performance_glitch_user", "error_user", "visual_user");
+    static final String SESSION_COOKIE = "session-username";
+
+    private static final String LOGIN_TEMPLATE = resource("standin/login.html");
+    private static final String INVENTORY_TEMPLATE = resource("standin/inventory.html");
+    private static final byte[] STYLESHEET = resource("standin/main.css").getBytes(StandardCharsets.UTF_8);
+    // Como un asset versionado de la web real: cacheable una hora y con ETag para revalidar (ver CachingProxy).
+    private static final String STYLESHEET_ETAG = "\"main-css-" + Integer.toHexString(Arrays.hashCode(STYLESHEET)) + "\"";
+
+    private final HttpServer server;
+    private final byte[] inventoryPage;
+
+    private SauceDemoStandIn(int port, List<Product> catalog) throws IOException {
+        this.inventoryPage = renderInventory(catalog).getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "saucedemo-standin");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        this.server.createContext("/", this::handle);
+        startAsDaemon(server);
+    }
+
+    /* El hilo "dispatcher" del HttpServer hereda el carácter daemon del hilo que llama a start():
+       se arranca desde un hilo daemon para que el servidor nunca impida que la JVM termine. */
+    private static void startAsDaemon(HttpServer server) {
+        Thread starter = new Thread(server::start, "saucedemo-standin-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido arrancando el stand-in de SauceDemo", e);
+        }
+    }
+
+    /* Holder: la JVM garantiza que el servidor se crea una sola vez y de forma thread-safe,
+       aunque varios escenarios en paralelo pidan la URL a la vez. */
+    private static final class Holder {
+        private static final SauceDemoStandIn INSTANCE = start();
+
+        private static SauceDemoStandIn start() {
+            try {
+                SauceDemoStandIn standIn = new SauceDemoStandIn(
+                        TestSettings.intValue("saucedemo.standin.port", 0),
+                        StandInCatalog.ofSize(TestSettings.intValue("saucedemo.standin.inventory.size", 6)));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> standIn.server.stop(0), "saucedemo-standin-stop"));
+                return standIn;
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo arrancar el stand-in de SauceDemo", e);
+            }
+        }
+    }
+
+    public static String url() {
+        return "http://localhost:" + Holder.INSTANCE.server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/") && exchange.getRequestMethod().equals("POST")) {
+                login(exchange);
+            } else if (path.equals("/")) {
+                String query = exchange.getRequestURI().getRawQuery();
+                String error = query != null && query.contains("from=inventory")
+                        ? "Epic sadface: You can only access '/inventory.html' when you are logged in."
+                        : null;
+                send(exchange, 200, "text/html", loginPage("", error));
+            } else if (path.equals("/inventory.html")) {
+                inventory(exchange);
+            } else if (path.equals("/static/css/main.css")) {
+                stylesheet(exchange);
+            } else {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /* POST / : mismas validaciones y mensajes que la web real.
+       Login correcto -> cookie de sesión + redirección a /inventory.html. */
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String username = form.getOrDefault("user-name", "");
+        String password = form.getOrDefault("password", "");
+        String error = loginError(username, password);
+        if (error != null) {
+            send(exchange, 200, "text/html", loginPage(username, error));
+            return;
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + username + "; Path=/; Max-Age=600");
+        redirect(exchange, "/inventory.html");
+    }
+
+    private static void stylesheet(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+        exchange.getResponseHeaders().add("ETag", STYLESHEET_ETAG);
+        if (STYLESHEET_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, "text/css", STYLESHEET);
+    }
+
+    static String loginError(String username, String password) {
+        if (username.isEmpty()) {
+            return "Epic sadface: Username is required";
+        }
+        if (password.isEmpty()) {
+            return "Epic sadface: Password is required";
+        }
+        if (!USERS.contains(username) || !PASSWORD.equals(password)) {
+            return "Epic sadface: Username and password do not match any user in this service";
+        }
+        if (LOCKED_OUT_USER.equals(username)) {
+            return "Epic sadface: Sorry, this user has been locked out.";
+        }
+        return null;
+    }
+
+    private void inventory(HttpExchange exchange) throws IOException {
+        String user = sessionUser(exchange.getRequestHeaders().getFirst("Cookie"));
+        if (user == null || !USERS.contains(user) || LOCKED_OUT_USER.equals(user)) {
+            redirect(exchange, "/?from=inventory");
+            return;
+        }
+        send(exchange, 200, "text/html", inventoryPage);
+    }
+
+    private static String sessionUser(String cookieHeader) {
+        if (cookieHeader == null) {
+            return null;
+        }
+        for (String cookie : cookieHeader.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private static byte[] loginPage(String username, String error) {
+        String errorBlock = error == null ? ""
+                : "<h3 data-test=\"error\"><button class=\"error-button\" data-test=\"error-button\">x</button>"
+                + escape(error) + "</h3>";
+        return LOGIN_TEMPLATE
+                .replace("{{username}}", escape(username))
+                .replace("{{errorClass}}", error == null ? "" : " error")
+                .replace("{{error}}", errorBlock)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String renderInventory(List<Product> catalog) {
+        StringBuilder items = new StringBuilder(catalog.size() * 700);
+        for (Product product : catalog) {
+            items.append("<div class=\"inventory_item\" data-test=\"inventory-item\">")
+                    .append("<div class=\"inventory_item_description\" data-test=\"inventory-item-description\">")
+                    .append("<div class=\"inventory_item_label\">")
+                    .append("<a href=\"#\" id=\"item_").append(product.getId()).append("_title_link\">")
+                    .append("<div class=\"inventory_item_name\" data-test=\"inventory-item-name\">")
+                    .append(escape(product.getName())).append("</div></a>")
+                    .append("<div class=\"inventory_item_desc\" data-test=\"inventory-item-desc\">")
+                    .append(escape(product.getDescription())).append("</div></div>")
+                    .append("<div class=\"pricebar\">")
+                    .append("<div class=\"inventory_item_price\" data-test=\"inventory-item-price\">$")
+                    .append(product.getPrice()).append("</div>")
+                    .append("<button class=\"btn btn_primary btn_small btn_inventory\" id=\"add-to-cart-")
+                    .append(product.getSlug()).append("\">Add to cart</button>")
+                    .append("</div></div></div>\n");
+        }
+        return INVENTORY_TEMPLATE.replace("{{items}}", items);
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            if (keyValue.length == 2) {
+                form.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(303, -1);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = SauceDemoStandIn.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Recurso no encontrado en el classpath: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.saucedemo.standin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/*
+  StandInCatalog: inventario que muestra el stand-in.
+
+  - Con el tamaño por defecto (6) son exactamente los productos de www.saucedemo.com.
+  - Con saucedemo.standin.inventory.size mayor se añaden productos sintéticos,
+    útil para medir Questions sobre inventarios grandes.
+  - Siempre en el orden por defecto de la web real, "Name (A to Z)" (ver InventoryOrder).
+*/
+final class StandInCatalog {
+
+    private static final List<Product> SAUCEDEMO_PRODUCTS = List.of(
+            new Product(4, "Sauce Labs Backpack",
+                    "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.",
+                    "29.99"),
+            new Product(0, "Sauce Labs Bike Light",
+                    "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.",
+                    "9.99"),
+            new Product(1, "Sauce Labs Bolt T-Shirt",
+                    "Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.",
+                    "15.99"),
+            new Product(5, "Sauce Labs Fleece Jacket",
+                    "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.",
+                    "49.99"),
+            new Product(2, "Sauce Labs Onesie",
+                    "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel.",
+                    "7.99"),
+            new Product(3, "Test.allTheThings() T-Shirt (Red)",
+                    "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.",
+                    "15.99"));
+
+    private StandInCatalog() {
+    }
+
+    static List<Product> ofSize(int size) {
+        if (size <= SAUCEDEMO_PRODUCTS.size()) {
+            return SAUCEDEMO_PRODUCTS.subList(0, Math.max(0, size));
+        }
+        List<Product> products = new ArrayList<>(SAUCEDEMO_PRODUCTS);
+        for (int id = SAUCEDEMO_PRODUCTS.size(); id < size; id++) {
+            products.add(new Product(id, "Sauce Labs Item " + id,
+                    "Synthetic stand-in product number " + id + ".",
+                    String.format(Locale.ROOT, "%d.99", 5 + id % 95)));
+        }
+        products.sort(Comparator.comparing(Product::getName));
+        return Collections.unmodifiableList(products);
+    }
+}
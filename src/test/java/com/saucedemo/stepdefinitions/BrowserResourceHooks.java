@@ -0,0 +1,63 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.drivers.BrowserProfile;
+import com.saucedemo.drivers.BrowserResources;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import net.serenitybdd.core.Serenity;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.actors.OnStage;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+
+/*
+  Hooks de medición de memoria y CPU del navegador por escenario (ver BrowserResources).
+
+  - order = 20000:
+    * @Before: Cucumber ejecuta primero los de menor order; el actor ya tiene su navegador del pool (LoginStepDefinitions).
+    * @After: se ejecutan primero los de mayor order; se mide antes de que el navegador vuelva al pool.
+  - El escenario muestra en el informe de Serenity la sección "Browser resources";
+    el resumen de toda la ejecución se imprime al cerrar la JVM.
+*/
+public class BrowserResourceHooks {
+
+    private static final int AROUND_THE_BROWSER = 20000;
+
+    private WebDriver driver;
+    private BrowserResources.Sample start;
+
+    @Before(order = AROUND_THE_BROWSER)
+    public void sampleAtStart() {
+        driver = currentDriver();
+        start = driver == null ? null : BrowserResources.sample(driver).orElse(null);
+    }
+
+    @After(order = AROUND_THE_BROWSER)
+    public void reportScenarioResources() {
+        if (start == null) {
+            return;
+        }
+        Optional<BrowserResources.Sample> end = BrowserResources.sample(driver);
+        if (end.isEmpty()) {
+            return;
+        }
+        long cpuNanos = end.get().cpuNanosSince(start);
+        long memoryBytes = end.get().memoryBytes();
+        BrowserResources.runMetrics().recordScenario(cpuNanos, memoryBytes);
+        Serenity.recordReportData()
+                .withTitle("Browser resources")
+                .andContents(String.format("profile=%s processes=%d cpu=%.1fms memory=%s",
+                        BrowserProfile.current(), end.get().processes(), cpuNanos / 1_000_000.0,
+                        memoryBytes < 0 ? "n/a" : String.format("%.1fMB", memoryBytes / (1024.0 * 1024.0))));
+    }
+
+    private static WebDriver currentDriver() {
+        if (!OnStage.theStageIsSet()) {
+            return null;
+        }
+        Actor actor = OnStage.theActorInTheSpotlight();
+        return actor.abilityTo(BrowseTheWeb.class) == null ? null : BrowseTheWeb.as(actor).getDriver();
+    }
+}
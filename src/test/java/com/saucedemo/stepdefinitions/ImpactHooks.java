@@ -0,0 +1,18 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.impact.ImpactRecorder;
+import io.cucumber.java.Before;
+
+/*
+  Hook del análisis de impacto (ver ImpactRecorder).
+
+  - @Before: suscribe el grabador a los eventos del actor del nuevo escenario para apuntar
+    las Tasks y Questions que ejecuta (Serenity limpia los suscriptores entre escenarios).
+*/
+public class ImpactHooks {
+
+    @Before
+    public void recordImpact() {
+        ImpactRecorder.subscribe();
+    }
+}
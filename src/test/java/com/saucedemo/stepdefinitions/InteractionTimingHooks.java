@@ -0,0 +1,32 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.timing.InteractionLatencyReport;
+import com.saucedemo.timing.InteractionTimer;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import net.serenitybdd.core.Serenity;
+
+/*
+  Hooks de la medición de tiempos por interacción (ver InteractionTimer).
+
+  - @Before: empieza a medir en el hilo del escenario.
+  - @After: añade al informe de Serenity del escenario la sección "Interaction latencies"
+    (p50/p95/p99 de cada Enter, Click, resolución de Target y Question del escenario).
+*/
+public class InteractionTimingHooks {
+
+    @Before
+    public void startTiming() {
+        InteractionTimer.startScenario();
+    }
+
+    @After
+    public void reportScenarioLatencies() {
+        if (!InteractionTimer.isEnabled() || InteractionTimer.scenarioLatencies().isEmpty()) {
+            return;
+        }
+        Serenity.recordReportData()
+                .withTitle("Interaction latencies")
+                .andContents(InteractionLatencyReport.toTable(InteractionTimer.scenarioLatencies().snapshot()));
+    }
+}
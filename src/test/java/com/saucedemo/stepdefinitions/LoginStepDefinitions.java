@@ -1,87 +1,88 @@
 package com.saucedemo.stepdefinitions;
 
+import com.saucedemo.actors.HttpCast;
+import com.saucedemo.actors.PooledBrowserCast;
+import com.saucedemo.interactions.ClickOn;
+import com.saucedemo.interactions.EnterText;
 import com.saucedemo.model.User;
+import com.saucedemo.questions.InventoryItems;
+import com.saucedemo.questions.InventoryOrder;
 import com.saucedemo.questions.InventoryPageIsVisible;
 import com.saucedemo.questions.ProductsListIsVisible;
 import com.saucedemo.questions.LoginErrorIsVisible;
 import com.saucedemo.tasks.Login;
+import com.saucedemo.tasks.OpenTheApplication;
+import com.saucedemo.userinterfaces.LoginPage;
+import com.saucedemo.userinterfaces.Locators;
 import io.cucumber.java.Before;
 import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.*;
 import net.serenitybdd.screenplay.Actor;
-import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
-import net.serenitybdd.screenplay.actions.Enter;
-import net.serenitybdd.screenplay.actions.Click;
+import net.serenitybdd.screenplay.actors.OnStage;
 import net.serenitybdd.screenplay.targets.Target;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.By;
 
 import static net.serenitybdd.screenplay.GivenWhenThen.seeThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 public class LoginStepDefinitions {
 
     // Actor: representación del usuario que interactúa con la aplicación.
     // En Screenplay todas las acciones se realizan "como" un Actor.
+    // El Actor (y su WebDriver, vía la Ability BrowseTheWeb) vive en el Stage de OnStage, que es
+    // propio de cada hilo: con ejecución paralela cada escenario tiene su actor y su navegador.
     private Actor actor;
 
-    // WebDriver controlado por la Ability BrowseTheWeb que se le otorgará al Actor.
-    private WebDriver driver;
-
     // Targets centralizan selectores:
     // - static: comparten un único objeto por clase (no hace falta recrearlos por instancia)
     // - final implícito al no reasignarlos: mantienen inmutabilidad del selector
-    private static final Target USERNAME = Target.the("username field").located(By.id("user-name"));
-    private static final Target PASSWORD = Target.the("password field").located(By.id("password"));
-    private static final Target LOGIN_BUTTON = Target.the("login button").located(By.id("login-button"));
+    // - Alias de LoginPage: el localizador se declara una sola vez, en el registro central (Locators)
+    private static final Target USERNAME = LoginPage.USERNAME_FIELD;
+    private static final Target PASSWORD = LoginPage.PASSWORD_FIELD;
+    private static final Target LOGIN_BUTTON = LoginPage.LOGIN_BUTTON;
+
+    // Escenarios etiquetados con @http: el actor navega con peticiones HTTP, sin navegador (ver BrowseOverHttp).
+    private static final String HTTP_TAG = "@http";
 
     // Hook @Before: configuración del entorno de ejecución para cada escenario.
-    // - Se usa WebDriverManager para evitar manejar chromedriver manualmente.
-    // - Se crea un Actor y se le da la Ability BrowseTheWeb.with(driver).
+    // - PooledBrowserCast pide el navegador al DriverPool: normalmente ya está arrancado y limpio.
+    // - Al llamar al actor por su nombre, el Cast le da la Ability BrowseTheWeb.with(driver).
+    // - Con @http, HttpCast le da BrowseOverHttp: los mismos Steps, Tasks y Questions, sin navegador.
     @Before
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        // options.addArguments("--headless=new"); // descomenta para headless
-        this.driver = new ChromeDriver(options);
+    public void setUp(Scenario scenario) {
+        OnStage.setTheStage(scenario.getSourceTagNames().contains(HTTP_TAG) ? new HttpCast() : new PooledBrowserCast());
 
         // Crear el actor con un nombre legible en los informes
-        this.actor = Actor.named("usuario");
-
-        // Dar la Ability para que el Actor pueda "navegar por la web"
-        // BrowseTheWeb.with(driver) encapsula el WebDriver para uso por Screenplay.
-        this.actor.can(BrowseTheWeb.with(driver));
+        this.actor = OnStage.theActorCalled("usuario");
     }
 
     // Hook @After: limpiar recursos tras cada escenario.
-    // Importante cerrar el driver para no dejar procesos abiertos.
+    // drawTheCurtain() despide a los actores: su navegador vuelve al pool (que lo limpia o lo cierra);
+    // el pool cierra todos al terminar la JVM.
     @After
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        OnStage.drawTheCurtain();
     }
 
-    // Step: abrir la página - aquí usamos driver directamente porque es una acción de setup simple.
-    // En Screenplay lo ideal sería encapsular esto en una Task (ej: OpenTheApplication), pero
-    // en ejemplos se permite una llamada directa al driver en un Background.
+    // Step: abrir la página encapsulado en la Task OpenTheApplication.
+    // La URL sale de la configuración (saucedemo.base.url): web pública o stand-in local sin red.
     @Given("que el usuario abre la página de SauceDemo")
     public void que_el_usuario_abre_la_pagina_de_saucedemo() {
-        driver.get("https://www.saucedemo.com/");
+        actor.attemptsTo(
+            OpenTheApplication.onTheLoginPage()
+        );
     }
 
     // Step combinado (compatibilidad con features antiguos).
-    // Usamos Interactions (Enter) para que cada interacción sea registrada y genere capturas
-    // cuando serenity.take.screenshots=FOR_EACH_ACTION.
+    // Usamos Interactions (EnterText: Enter de Serenity con navegador) para que cada interacción sea registrada
+    // y genere capturas cuando serenity.take.screenshots=FOR_EACH_ACTION.
     @When("ingresa su usuario {string} y contraseña {string}")
     public void ingresa_su_usuario_y_contraseña_combinado(String username, String password) {
         actor.attemptsTo(
-            Enter.theValue(username).into(USERNAME),
-            Enter.theValue(password).into(PASSWORD)
+            EnterText.theValue(username).into(USERNAME),
+            EnterText.theValue(password).into(PASSWORD)
         );
     }
 
@@ -90,7 +91,7 @@ public class LoginStepDefinitions {
     @When("ingresa su usuario {string}")
     public void ingresa_su_usuario(String username) {
         actor.attemptsTo(
-            Enter.theValue(username).into(USERNAME)
+            EnterText.theValue(username).into(USERNAME)
         );
     }
 
@@ -98,7 +99,7 @@ public class LoginStepDefinitions {
     @When("ingresa su contraseña {string}")
     public void ingresa_su_contraseña(String password) {
         actor.attemptsTo(
-            Enter.theValue(password).into(PASSWORD)
+            EnterText.theValue(password).into(PASSWORD)
         );
     }
 
@@ -106,7 +107,7 @@ public class LoginStepDefinitions {
     @When("presiona el botón de login")
     public void presiona_el_boton_de_login() {
         actor.attemptsTo(
-            Click.on(LOGIN_BUTTON)
+            ClickOn.the(LOGIN_BUTTON)
         );
     }
 
@@ -123,15 +124,26 @@ public class LoginStepDefinitions {
         actor.should(seeThat(ProductsListIsVisible.areVisible(), is(true)));
     }
 
+    // Contenido del inventario: cada Question lee todos los productos en una sola llamada (ver InventoryItems).
+    // El orden se escribe como en el desplegable de la web: "Name (A to Z)", "Price (low to high)"...
+    @Then("los productos deberían estar ordenados por {string}")
+    public void los_productos_deberian_estar_ordenados_por(String order) {
+        actor.should(
+            seeThat(InventoryItems.count(), greaterThan(0)),
+            seeThat(InventoryItems.areSortedBy(InventoryOrder.withLabel(order)), is(true))
+        );
+    }
+
     // Ejemplo: intentar login usando Interactions directas (no Task) para demostrar la diferencia.
     // Aquí mostramos cómo hacer pequeñas Interactions inline.
     @When("intenta iniciar sesión con usuario {string} y contraseña {string}")
     public void intenta_iniciar_sesion_con_usuario_y_contraseña(String username, String password) {
-        // Usamos Target.localizados inline para evidenciar que Targets pueden estar en Tasks/Questions o inline.
+        // Usamos Targets localizados inline para evidenciar que Targets pueden estar en Tasks/Questions o inline.
+        // Locators.target(...) interna la instancia: devuelve los mismos objetos que LoginPage, no crea Targets nuevos.
         actor.attemptsTo(
-            Enter.theValue(username).into(Target.the("username field").located(By.id("user-name"))),
-            Enter.theValue(password).into(Target.the("password field").located(By.id("password"))),
-            Click.on(Target.the("login button").located(By.id("login-button")))
+            EnterText.theValue(username).into(Locators.target("username field", By.id("user-name"))),
+            EnterText.theValue(password).into(Locators.target("password field", By.id("password"))),
+            ClickOn.the(Locators.target("login button", By.id("login-button")))
         );
     }
 
@@ -152,4 +164,13 @@ public class LoginStepDefinitions {
             Login.with(new User(username, password))
         );
     }
+
+    // Precondición para escenarios que no prueban el login: reutiliza la sesión en caché del usuario
+    // (cookies + storage de un login anterior) y solo hace el login por UI si no hay sesión válida.
+    @Given("que el usuario {string} con contraseña {string} ha iniciado sesión")
+    public void que_el_usuario_ha_iniciado_sesion(String username, String password) {
+        actor.attemptsTo(
+            Login.viaCachedSession(new User(username, password))
+        );
+    }
 }
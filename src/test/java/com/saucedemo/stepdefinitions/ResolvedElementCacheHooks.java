@@ -0,0 +1,18 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.userinterfaces.ResolvedElementCache;
+import io.cucumber.java.Before;
+
+/*
+  Hook de la caché de elementos resueltos (ver ResolvedElementCache).
+
+  - @Before: vacía la caché del hilo y la suscribe a los eventos del actor del nuevo escenario
+    (Serenity limpia los suscriptores del bus de eventos entre escenarios).
+*/
+public class ResolvedElementCacheHooks {
+
+    @Before
+    public void startElementCache() {
+        ResolvedElementCache.startScenario();
+    }
+}
@@ -0,0 +1,57 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.screenshots.AdaptiveScreenshots;
+import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.actors.OnStage;
+
+import java.nio.file.Path;
+
+/*
+  Hooks de la política de capturas adaptive (ver AdaptiveScreenshots).
+
+  - @AfterStep: captura en memoria el estado de la pantalla tras cada paso (también tras el que falla).
+  - @After: si el escenario ha fallado, encola las capturas para escribirlas en disco en segundo plano
+    y adjunta al escenario un enlace (text/uri-list) a su directorio; si ha pasado, las descarta sin tocar el disco.
+    El hilo del escenario no decodifica ninguna captura: eso lo hace ScreenshotWriter.
+  - El actor se obtiene del Stage del hilo (OnStage), el mismo que usan los Steps.
+*/
+public class ScreenshotHooks {
+
+    private int step;
+
+    @Before
+    public void startBuffer() {
+        AdaptiveScreenshots.startScenario();
+    }
+
+    @AfterStep
+    public void captureIntoBuffer() {
+        step++;
+        if (!AdaptiveScreenshots.isEnabled() || !OnStage.theStageIsSet()) {
+            return;
+        }
+        Actor actor = OnStage.theActorInTheSpotlight();
+        if (actor.abilityTo(BrowseTheWeb.class) != null) {
+            AdaptiveScreenshots.capture(BrowseTheWeb.as(actor).getDriver(), String.format("step-%02d", step));
+        }
+    }
+
+    @After
+    public void flushOnFailure(Scenario scenario) {
+        if (!scenario.isFailed()) {
+            AdaptiveScreenshots.discard();
+            return;
+        }
+        int frames = AdaptiveScreenshots.bufferedFrames().size();
+        Path directory = AdaptiveScreenshots.flush(scenario.getName() + "-" + scenario.getId());
+        if (frames > 0) {
+            scenario.attach(directory.toAbsolutePath().toUri().toString(), "text/uri-list", "Capturas (" + frames + ")");
+            scenario.log("Capturas (" + frames + "): " + directory);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.runner.ScenarioId;
+import com.saucedemo.telemetry.ScenarioTelemetry;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+/*
+  Hooks que abren y cierran la muestra de ScenarioTelemetry de cada escenario.
+
+  - order = 0:
+    * @Before: el primero de todos; la muestra ya está abierta cuando el actor pide su navegador al pool.
+    * @After: el último de todos; incluye la devolución del navegador al pool y su limpieza.
+  - La muestra queda a la espera de ScenarioTelemetryPlugin, que añade la duración y la escribe al terminar.
+*/
+public class TelemetryHooks {
+
+    private static final int OUTERMOST = 0;
+
+    @Before(order = OUTERMOST)
+    public void startSample() {
+        ScenarioTelemetry.start();
+    }
+
+    @After(order = OUTERMOST)
+    public void finishSample(Scenario scenario) {
+        ScenarioTelemetry.finish(ScenarioId.of(scenario.getUri(), scenario.getLine()));
+    }
+}
@@ -1,12 +1,14 @@
 package com.saucedemo.tasks;
 
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.interactions.ClickOn;
+import com.saucedemo.interactions.EnterText;
+import com.saucedemo.interactions.FillForm;
 import com.saucedemo.model.User;
+import com.saucedemo.userinterfaces.LoginPage;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Task;
-import net.serenitybdd.screenplay.actions.Enter;
-import net.serenitybdd.screenplay.actions.Click;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.By;
 
 /*
   Task Login: encapsula la secuencia de acciones para hacer login.
@@ -34,6 +36,18 @@ public class Login implements Task {
     */
     private final User user;
 
+    /* -------------------------------------------------------------
+       Modo batched (saucedemo.login.batched)
+       -------------------------------------------------------------
+       - false (por defecto): Enter + Enter + Click, tres comandos WebDriver como un usuario real.
+       - true: FillForm rellena ambos campos y pulsa el botón en una sola llamada al navegador;
+         el informe muestra un solo paso que nombra los dos campos y el botón.
+       - Login.inOneRoundTrip(user) fuerza el modo batched para una Task concreta.
+    */
+    private static final boolean BATCHED_BY_DEFAULT = TestSettings.booleanValue("saucedemo.login.batched", false);
+
+    private final boolean batched;
+
     /* -------------------------------------------------------------
        Por qué los Target son private static final
        -------------------------------------------------------------
@@ -42,10 +56,11 @@ public class Login implements Task {
        - final: el Target no debe cambiar en tiempo de ejecución.
        - private: mantener encapsulado el detalle técnico de localización.
        - Beneficio: si cambia el id/css sólo se modifica aquí.
+       - Son alias de LoginPage: el localizador se declara una sola vez, en el registro central (Locators).
     */
-    private static final Target USERNAME = Target.the("username field").located(By.id("user-name"));
-    private static final Target PASSWORD = Target.the("password field").located(By.id("password"));
-    private static final Target LOGIN_BUTTON = Target.the("login button").located(By.id("login-button"));
+    private static final Target USERNAME = LoginPage.USERNAME_FIELD;
+    private static final Target PASSWORD = LoginPage.PASSWORD_FIELD;
+    private static final Target LOGIN_BUTTON = LoginPage.LOGIN_BUTTON;
 
     /* -------------------------------------------------------------
        Constructor
@@ -54,7 +69,12 @@ public class Login implements Task {
        - Se asigna al campo final para mantener inmutabilidad.
     */
     public Login(User user) {
+        this(user, BATCHED_BY_DEFAULT);
+    }
+
+    private Login(User user, boolean batched) {
         this.user = user;
+        this.batched = batched;
     }
 
     /* -------------------------------------------------------------
@@ -70,6 +90,29 @@ public class Login implements Task {
         return new Login(user);
     }
 
+    /* -------------------------------------------------------------
+       Variante batched: inOneRoundTrip(user)
+       -------------------------------------------------------------
+       - Mismo login, pero los dos campos y el click van en un único executeScript (ver FillForm).
+       - Útil con grids remotos, donde cada comando WebDriver cuesta decenas de ms.
+    */
+    public static Login inOneRoundTrip(User user) {
+        return new Login(user, true);
+    }
+
+    /* -------------------------------------------------------------
+       Variante con caché de sesión: viaCachedSession(user)
+       -------------------------------------------------------------
+       - Para escenarios que necesitan un usuario logado pero no prueban el login.
+       - Reutiliza la sesión (cookies + storage) de un login anterior del mismo User;
+         si no hay sesión válida, hace este mismo login por UI y guarda la sesión resultante.
+       - Ejemplo de uso:
+           actor.attemptsTo(Login.viaCachedSession(User.standardUser()));
+    */
+    public static LoginWithCachedSession viaCachedSession(User user) {
+        return new LoginWithCachedSession(user);
+    }
+
     /* -------------------------------------------------------------
        performAs: por qué se llama así y por qué se sobrescribe
        -------------------------------------------------------------
@@ -87,6 +130,14 @@ public class Login implements Task {
           - Por qué no usamos simplemente Actor actor:
             * Se sigue la firma de la interfaz Task<T> para máxima compatibilidad con el framework.
         */
+        if (batched) {
+            actor.attemptsTo(
+                FillForm.with(USERNAME, user.getUsername())
+                        .and(PASSWORD, user.getPassword())
+                        .thenClick(LOGIN_BUTTON)
+            );
+            return;
+        }
 
         /*
           actor.attemptsTo(...)
@@ -98,25 +149,28 @@ public class Login implements Task {
         */
         actor.attemptsTo(
             /*
-              Enter.theValue(...).into(TARGET)
+              EnterText.theValue(...).into(TARGET)
               - Interaction que introduce texto en un campo.
+              - Con navegador delega en Enter de Serenity; sin navegador (@http) escribe en el formulario
+                descargado. La misma Task sirve en los dos modos.
               - Cada Interaction genera un step separado en los reports cuando
                 serenity.take.screenshots=FOR_EACH_ACTION / FOR_EACH_STEP.
             */
-            Enter.theValue(user.getUsername()).into(USERNAME),
+            EnterText.theValue(user.getUsername()).into(USERNAME),
 
             /*
-              Enter para la contraseña.
+              EnterText para la contraseña.
               - Es otra Interaction separada: produce su propia línea en el reporte y su captura.
             */
-            Enter.theValue(user.getPassword()).into(PASSWORD),
+            EnterText.theValue(user.getPassword()).into(PASSWORD),
 
             /*
-              Click.on(LOGIN_BUTTON)
-              - Interaction que hace click en el elemento.
+              ClickOn.the(LOGIN_BUTTON)
+              - Interaction que hace click en el elemento (Click de Serenity con navegador,
+                envío del formulario sin él).
               - También se registra en el reporte.
             */
-            Click.on(LOGIN_BUTTON)
+            ClickOn.the(LOGIN_BUTTON)
         );
     }
 }
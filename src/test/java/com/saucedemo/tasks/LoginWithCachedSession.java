@@ -0,0 +1,70 @@
+package com.saucedemo.tasks;
+
+import com.saucedemo.config.TargetApplication;
+import com.saucedemo.http.BrowseOverHttp;
+import com.saucedemo.model.User;
+import com.saucedemo.session.SessionCache;
+import com.saucedemo.session.SessionSnapshot;
+import net.serenitybdd.annotations.Step;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+
+/*
+  Task LoginWithCachedSession: login reutilizando una sesión ya autenticada del mismo User.
+
+  - Uso (escenarios que necesitan estar logados pero no prueban el login):
+      actor.attemptsTo(Login.viaCachedSession(user));
+  - Acierto en SessionCache: se inyectan cookies y storage y se abre /inventory.html directamente.
+  - Fallo, entrada caducada o sesión rechazada por el servidor (redirige fuera del inventario):
+    se invalida la entrada y se hace el login normal por UI (Login.with), guardando la nueva sesión.
+  - Sin navegador (BrowseOverHttp) el login cuesta un POST de milisegundos: se hace siempre con Login.with.
+*/
+public class LoginWithCachedSession implements Task {
+
+    private static final String INVENTORY_PAGE = "inventory.html";
+
+    private final User user;
+
+    public LoginWithCachedSession(User user) {
+        this.user = user;
+    }
+
+    @Override
+    @Step("{0} inicia sesión como #user reutilizando la sesión en caché si existe")
+    public <T extends Actor> void performAs(T actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            actor.attemptsTo(Login.with(user));
+            return;
+        }
+        WebDriver driver = BrowseTheWeb.as(actor).getDriver();
+        SessionCache cache = SessionCache.shared();
+
+        Optional<SessionSnapshot> cached = cache.sessionFor(user);
+        if (cached.isPresent()) {
+            // Cookies y storage son por origen: primero hay que estar en una página de la aplicación.
+            if (!driver.getCurrentUrl().startsWith(TargetApplication.baseUrl())) {
+                driver.get(TargetApplication.baseUrl());
+            }
+            cached.get().restoreInto(driver);
+            driver.get(TargetApplication.pageUrl(INVENTORY_PAGE));
+            if (isOnInventory(driver)) {
+                return;
+            }
+            cache.invalidate(user);
+        }
+
+        actor.attemptsTo(Login.with(user));
+        if (isOnInventory(driver)) {
+            cache.remember(user, SessionSnapshot.capture(driver, cache.timeToLive()));
+        }
+    }
+
+    private static boolean isOnInventory(WebDriver driver) {
+        String currentUrl = driver.getCurrentUrl();
+        return currentUrl != null && currentUrl.contains("/" + INVENTORY_PAGE);
+    }
+}
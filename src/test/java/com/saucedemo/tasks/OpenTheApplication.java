@@ -0,0 +1,36 @@
+package com.saucedemo.tasks;
+
+import com.saucedemo.config.TargetApplication;
+import com.saucedemo.http.BrowseOverHttp;
+import net.serenitybdd.annotations.Step;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.actions.Open;
+
+/*
+  Task OpenTheApplication: abre la página de login de SauceDemo.
+
+  - La URL no está fija en el código: la decide TargetApplication según la configuración
+    (web pública, stand-in local o cualquier otra URL).
+  - Sin navegador (BrowseOverHttp) descarga la página de TargetApplication.httpBaseUrl().
+  - Uso:
+      actor.attemptsTo(OpenTheApplication.onTheLoginPage());
+*/
+public class OpenTheApplication implements Task {
+
+    public static OpenTheApplication onTheLoginPage() {
+        return new OpenTheApplication();
+    }
+
+    @Override
+    @Step("{0} abre la página de login de SauceDemo")
+    public <T extends Actor> void performAs(T actor) {
+        if (BrowseOverHttp.isAvailableTo(actor)) {
+            BrowseOverHttp.as(actor).open(TargetApplication.httpBaseUrl());
+            return;
+        }
+        actor.attemptsTo(
+            Open.url(TargetApplication.baseUrl())
+        );
+    }
+}
@@ -0,0 +1,212 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.config.TestSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/*
+  PerfGate: compara el p95 reciente de cada escenario con la línea base y hace fallar el build si empeora.
+
+  - mvn -Pperf-gate verify: ejecuta la suite (que añade sus muestras a TelemetrySeries) y después este main.
+  - Línea base: saucedemo.telemetry.baseline (por defecto .saucedemo/telemetry-baseline.tsv), el p95 de las
+    últimas saucedemo.telemetry.baseline.window muestras (20) de cada escenario y métrica:
+      # saucedemo telemetry baseline v1<TAB>created=<epoch ms>
+      src/test/resources/features/login.feature:10<TAB>duration_ms<TAB>3120<TAB>20
+    Si no existe, se crea con lo que haya en la serie y el gate pasa. Se rehace a propósito con
+    -Dsaucedemo.telemetry.baseline.update=true (tras aceptar un cambio que cuesta más, o en una máquina nueva).
+    Apuntarla a un fichero versionado permite compartirla, siempre que se genere en la misma clase de máquina.
+  - Valor actual: p95 de las muestras posteriores a la línea base, como mucho las últimas saucedemo.telemetry.gate.window (10).
+  - Regresión: actual > base * (1 + saucedemo.telemetry.gate.threshold) (0.20) y además actual - base > ruido
+    de la métrica (TelemetryMetric): así un escenario de 20 ms no falla por pasar a 30.
+  - Métricas vigiladas: saucedemo.telemetry.gate.metrics (duration,load,commands,alloc); las demás solo se registran.
+  - p95 por rango (nearest-rank): con pocas muestras es el máximo, y una sola ejecución lenta ya cuenta.
+*/
+public final class PerfGate {
+
+    private static final String BASELINE_HEADER = "# saucedemo telemetry baseline v1";
+    private static final double PERCENTILE = 0.95;
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path seriesFile = TelemetrySeries.file();
+        Path baselineFile = Paths.get(TestSettings.stringValue("saucedemo.telemetry.baseline",
+                ".saucedemo/telemetry-baseline.tsv"));
+        Map<String, List<TelemetrySeries.Row>> series = TelemetrySeries.read(seriesFile);
+        if (series.isEmpty()) {
+            System.out.println("[PerfGate] sin muestras en " + seriesFile + " (saucedemo.telemetry=false?): no hay nada que comparar");
+            return;
+        }
+        boolean update = TestSettings.booleanValue("saucedemo.telemetry.baseline.update", false);
+        Optional<Baseline> baseline = Baseline.read(baselineFile);
+        if (baseline.isEmpty()) {
+            Baseline.of(series).write(baselineFile);
+            System.out.println("[PerfGate] línea base creada con " + series.size() + " escenarios: " + baselineFile);
+            return;
+        }
+        List<String> regressions = compare(baseline.get(), series);
+        if (update) {
+            Baseline.of(series).write(baselineFile);
+            System.out.println("[PerfGate] línea base actualizada (" + series.size() + " escenarios): " + baselineFile);
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " regresiones de rendimiento respecto a " + baselineFile
+                    + " (aceptarlas: -Dsaucedemo.telemetry.baseline.update=true)");
+        }
+    }
+
+    /* Imprime la comparación y devuelve las regresiones ("escenario métrica"). */
+    private static List<String> compare(Baseline baseline, Map<String, List<TelemetrySeries.Row>> series) {
+        double threshold = Double.parseDouble(TestSettings.stringValue("saucedemo.telemetry.gate.threshold", "0.20"));
+        int window = TestSettings.intValue("saucedemo.telemetry.gate.window", 10);
+        List<TelemetryMetric> gated = gatedMetrics();
+        List<String> regressions = new ArrayList<>();
+        int compared = 0;
+        int withoutSamples = 0;
+        for (Map.Entry<String, List<TelemetrySeries.Row>> scenario : series.entrySet()) {
+            List<TelemetrySeries.Row> recent = scenario.getValue().stream()
+                    .filter(row -> row.time > baseline.created)
+                    .collect(Collectors.toList());
+            recent = recent.subList(Math.max(0, recent.size() - window), recent.size());
+            if (recent.isEmpty() || !baseline.covers(scenario.getKey())) {
+                withoutSamples += recent.isEmpty() ? 1 : 0;
+                continue;
+            }
+            compared++;
+            for (TelemetryMetric metric : gated) {
+                Optional<Long> base = baseline.p95(scenario.getKey(), metric);
+                if (base.isEmpty()) {
+                    continue;
+                }
+                long current = p95(recent, metric);
+                if (isRegression(base.get(), current, threshold, metric)) {
+                    regressions.add(scenario.getKey() + " " + metric.column());
+                    System.out.println(String.format(Locale.ROOT, "[PerfGate] REGRESIÓN %-50s %-16s %10s -> %10s (%+.0f%%, %d muestras)",
+                            scenario.getKey(), metric.column(), metric.format(base.get()), metric.format(current),
+                            base.get() == 0 ? 100.0 : 100.0 * (current - base.get()) / base.get(), recent.size()));
+                }
+            }
+        }
+        long unknown = series.keySet().stream().filter(scenario -> !baseline.covers(scenario)).count();
+        System.out.println(String.format(Locale.ROOT,
+                "[PerfGate] %d escenarios comparados (%s, umbral +%.0f%%): %d regresiones; %d sin muestras nuevas, %d sin línea base",
+                compared, gated.stream().map(TelemetryMetric::column).collect(Collectors.joining(",")), threshold * 100,
+                regressions.size(), withoutSamples, unknown));
+        return regressions;
+    }
+
+    private static List<TelemetryMetric> gatedMetrics() {
+        return Arrays.stream(TestSettings.stringValue("saucedemo.telemetry.gate.metrics", "duration,load,commands,alloc").split(","))
+                .filter(name -> !name.isBlank())
+                .map(name -> TelemetryMetric.named(name).orElseThrow(() -> new IllegalArgumentException(
+                        "saucedemo.telemetry.gate.metrics: métrica desconocida '" + name.trim() + "'")))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    // Peor en más del umbral relativo y, además, en más del ruido absoluto de la métrica.
+    static boolean isRegression(long base, long current, double threshold, TelemetryMetric metric) {
+        return current > base * (1 + threshold) && current - base > metric.noise();
+    }
+
+    static long p95(List<TelemetrySeries.Row> rows, TelemetryMetric metric) {
+        long[] values = rows.stream().mapToLong(row -> row.get(metric)).sorted().toArray();
+        return values[(int) Math.ceil(PERCENTILE * values.length) - 1];
+    }
+
+    /* Baseline: p95 por escenario y métrica en el momento en que se creó. */
+    static final class Baseline {
+        private final long created;
+        private final Map<String, Map<TelemetryMetric, Long>> values;
+        private final Map<String, Integer> samples;
+
+        private Baseline(long created, Map<String, Map<TelemetryMetric, Long>> values, Map<String, Integer> samples) {
+            this.created = created;
+            this.values = values;
+            this.samples = samples;
+        }
+
+        static Baseline of(Map<String, List<TelemetrySeries.Row>> series) {
+            int window = TestSettings.intValue("saucedemo.telemetry.baseline.window", 20);
+            Map<String, Map<TelemetryMetric, Long>> values = new HashMap<>();
+            Map<String, Integer> samples = new HashMap<>();
+            long created = 0;
+            for (Map.Entry<String, List<TelemetrySeries.Row>> scenario : series.entrySet()) {
+                List<TelemetrySeries.Row> rows = scenario.getValue();
+                List<TelemetrySeries.Row> last = rows.subList(Math.max(0, rows.size() - window), rows.size());
+                Map<TelemetryMetric, Long> p95 = new HashMap<>();
+                for (TelemetryMetric metric : TelemetryMetric.values()) {
+                    p95.put(metric, PerfGate.p95(last, metric));
+                }
+                values.put(scenario.getKey(), p95);
+                samples.put(scenario.getKey(), last.size());
+                created = Math.max(created, rows.get(rows.size() - 1).time);
+            }
+            return new Baseline(created, values, samples);
+        }
+
+        static Optional<Baseline> read(Path file) throws IOException {
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            long created = 0;
+            Map<String, Map<TelemetryMetric, Long>> values = new HashMap<>();
+            Map<String, Integer> samples = new HashMap<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (line.startsWith(BASELINE_HEADER) && fields.length > 1 && fields[1].startsWith("created=")) {
+                    created = Long.parseLong(fields[1].substring("created=".length()));
+                    continue;
+                }
+                if (line.startsWith("#") || fields.length < 4) {
+                    continue;
+                }
+                Optional<TelemetryMetric> metric = TelemetryMetric.named(fields[1]);
+                if (metric.isPresent()) {
+                    values.computeIfAbsent(fields[0], key -> new HashMap<>()).put(metric.get(), Long.parseLong(fields[2]));
+                    samples.put(fields[0], Integer.parseInt(fields[3]));
+                }
+            }
+            return Optional.of(new Baseline(created, values, samples));
+        }
+
+        boolean covers(String scenario) {
+            return values.containsKey(scenario);
+        }
+
+        Optional<Long> p95(String scenario, TelemetryMetric metric) {
+            return Optional.ofNullable(values.getOrDefault(scenario, Map.of()).get(metric));
+        }
+
+        void write(Path file) {
+            StringBuilder content = new StringBuilder(BASELINE_HEADER).append("\tcreated=").append(created).append('\n');
+            values.keySet().stream().sorted().forEach(scenario -> {
+                for (TelemetryMetric metric : TelemetryMetric.values()) {
+                    content.append(scenario).append('\t').append(metric.column()).append('\t')
+                            .append(values.get(scenario).get(metric)).append('\t').append(samples.get(scenario)).append('\n');
+                }
+            });
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, content, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir " + file, e);
+            }
+        }
+    }
+}
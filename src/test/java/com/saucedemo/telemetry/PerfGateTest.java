@@ -0,0 +1,103 @@
+package com.saucedemo.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfGateTest {
+
+    private static final String LOGIN = "src/test/resources/features/login.feature:10";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void p95IsTheNearestRankValue() {
+        // 20 muestras: rango ceil(0.95 * 20) = 19.
+        assertEquals(1900, PerfGate.p95(durations(LongStream.rangeClosed(1, 20).map(i -> i * 100).toArray()),
+                TelemetryMetric.DURATION));
+        // Con pocas muestras es el máximo: una ejecución lenta ya cuenta.
+        assertEquals(5000, PerfGate.p95(durations(1000, 5000, 1200), TelemetryMetric.DURATION));
+        assertEquals(700, PerfGate.p95(durations(700), TelemetryMetric.DURATION));
+    }
+
+    @Test
+    void regressionNeedsBothThePercentageAndTheNoise() {
+        assertTrue(PerfGate.isRegression(3000, 3700, 0.20, TelemetryMetric.DURATION));
+        assertFalse(PerfGate.isRegression(3000, 3600, 0.20, TelemetryMetric.DURATION));
+        // +50% pero solo 10 ms: por debajo del ruido de la duración (100 ms).
+        assertFalse(PerfGate.isRegression(20, 30, 0.20, TelemetryMetric.DURATION));
+        assertTrue(PerfGate.isRegression(0, 5, 0.20, TelemetryMetric.COMMANDS));
+    }
+
+    @Test
+    void baselineUsesTheLastTwentySamples() {
+        // 25 muestras: las 5 primeras (lentas) quedan fuera de la ventana.
+        List<TelemetrySeries.Row> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(row(i, i < 5 ? 9000 : 1000 + i));
+        }
+
+        PerfGate.Baseline baseline = PerfGate.Baseline.of(Map.of(LOGIN, rows));
+
+        assertTrue(baseline.covers(LOGIN));
+        assertFalse(baseline.covers("otro.feature:3"));
+        assertEquals(Optional.of(1023L), baseline.p95(LOGIN, TelemetryMetric.DURATION));
+        assertEquals(Optional.of(0L), baseline.p95(LOGIN, TelemetryMetric.GC));
+        assertEquals(Optional.empty(), baseline.p95("otro.feature:3", TelemetryMetric.DURATION));
+    }
+
+    @Test
+    void baselineRoundTripsThroughItsFile() throws IOException {
+        Path file = directory.resolve("baseline/telemetry-baseline.tsv");
+        PerfGate.Baseline.of(Map.of(LOGIN, List.of(row(1000, 3000), row(2000, 3200)))).write(file);
+
+        PerfGate.Baseline read = PerfGate.Baseline.read(file).orElseThrow();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("# saucedemo telemetry baseline v1\tcreated=2000", lines.get(0));
+        assertTrue(lines.contains(LOGIN + "\tduration_ms\t3200\t2"));
+        assertEquals(Optional.of(3200L), read.p95(LOGIN, TelemetryMetric.DURATION));
+        assertTrue(read.covers(LOGIN));
+    }
+
+    @Test
+    void missingBaselineIsEmptyAndUnknownMetricsAreSkipped() throws IOException {
+        assertFalse(PerfGate.Baseline.read(directory.resolve("missing.tsv")).isPresent());
+
+        Path file = Files.writeString(directory.resolve("old.tsv"), String.join("\n",
+                "# saucedemo telemetry baseline v1\tcreated=5",
+                LOGIN + "\tduration_ms\t3000\t20",
+                LOGIN + "\tretired_metric\t7\t20",
+                "corrupta",
+                ""));
+        PerfGate.Baseline baseline = PerfGate.Baseline.read(file).orElseThrow();
+
+        assertEquals(Optional.of(3000L), baseline.p95(LOGIN, TelemetryMetric.DURATION));
+        assertEquals(Optional.empty(), baseline.p95(LOGIN, TelemetryMetric.LOAD));
+    }
+
+    private static List<TelemetrySeries.Row> durations(long... millis) {
+        List<TelemetrySeries.Row> rows = new ArrayList<>();
+        for (int i = 0; i < millis.length; i++) {
+            rows.add(row(i, millis[i]));
+        }
+        return rows;
+    }
+
+    private static TelemetrySeries.Row row(long time, long durationMillis) {
+        return new TelemetrySeries.Row(time, LOGIN, Map.of(TelemetryMetric.DURATION, durationMillis));
+    }
+}
@@ -0,0 +1,130 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.config.TestSettings;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  ScenarioTelemetry: métricas de recursos de cada escenario, recogidas mientras se ejecuta.
+
+  - Qué se mide (ver TelemetryMetric) y quién lo registra:
+    * acquire: espera en DriverPool.acquire() (HoldAPooledBrowser), incluido el arranque de Chrome en un miss.
+    * navigations / ttfb / load: Navigation Timing del navegador tras cada driver.get (ChromeDriverFactory).
+    * commands: comandos WebDriver enviados a chromedriver, también los de la limpieza del pool al devolverlo.
+    * screenshot_bytes: capturas tomadas por AdaptiveScreenshots.
+    * alloc_bytes: memoria reservada por el hilo del escenario (ThreadMXBean de HotSpot).
+    * gc_ms: tiempo de GC de toda la JVM durante el escenario; en paralelo incluye el de los escenarios simultáneos.
+    * duration_ms: lo añade ScenarioTelemetryPlugin con la duración que mide Cucumber.
+  - La muestra es del hilo (ThreadLocal), como el Stage de Screenplay: cada escenario paralelo tiene la suya.
+    TelemetryHooks la abre antes que cualquier otro @Before y la cierra después de todos los @After.
+  - saucedemo.telemetry=false: no se mide nada (ni Navigation Timing, que cuesta un executeScript por navegación).
+*/
+public final class ScenarioTelemetry {
+
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.telemetry", true);
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Sample> FINISHED = new ConcurrentHashMap<>();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private ScenarioTelemetry() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void start() {
+        if (ENABLED) {
+            CURRENT.set(new Sample());
+        }
+    }
+
+    /* Cierra la muestra del hilo; ScenarioTelemetryPlugin la recoge con take() al terminar el escenario. */
+    public static void finish(String scenarioId) {
+        Sample sample = CURRENT.get();
+        if (sample != null) {
+            CURRENT.remove();
+            sample.close();
+            FINISHED.put(scenarioId, sample);
+        }
+    }
+
+    static Optional<Sample> take(String scenarioId) {
+        return Optional.ofNullable(FINISHED.remove(scenarioId));
+    }
+
+    public static void recordDriverAcquire(long nanos) {
+        add(TelemetryMetric.ACQUIRE, nanos / 1_000_000);
+    }
+
+    public static void recordCommand() {
+        add(TelemetryMetric.COMMANDS, 1);
+    }
+
+    public static void recordNavigation(long ttfbMillis, long loadMillis) {
+        add(TelemetryMetric.NAVIGATIONS, 1);
+        add(TelemetryMetric.TTFB, ttfbMillis);
+        add(TelemetryMetric.LOAD, loadMillis);
+    }
+
+    public static void recordScreenshot(long bytes) {
+        add(TelemetryMetric.SCREENSHOT_BYTES, bytes);
+    }
+
+    // Fuera de un escenario (arranque del daemon, benchmarks) no hay muestra y no se registra nada.
+    private static void add(TelemetryMetric metric, long value) {
+        Sample sample = CURRENT.get();
+        if (sample != null) {
+            sample.add(metric, value);
+        }
+    }
+
+    private static long gcMillis() {
+        return COLLECTORS.stream().mapToLong(collector -> Math.max(0, collector.getCollectionTime())).sum();
+    }
+
+    // -1 si la JVM no mide la memoria reservada por hilo: la columna queda a 0 y no cuenta como regresión.
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /* Sample: valores de un escenario. Solo la toca su hilo hasta close(); después, solo el plugin. */
+    static final class Sample {
+        private final Map<TelemetryMetric, Long> values = new EnumMap<>(TelemetryMetric.class);
+        private final long allocatedAtStart = allocatedBytes();
+        private final long gcAtStart = gcMillis();
+
+        private Sample() {
+            for (TelemetryMetric metric : TelemetryMetric.values()) {
+                values.put(metric, 0L);
+            }
+        }
+
+        private void add(TelemetryMetric metric, long value) {
+            values.merge(metric, value, Long::sum);
+        }
+
+        private void close() {
+            long allocated = allocatedBytes();
+            values.put(TelemetryMetric.ALLOCATED_BYTES, allocatedAtStart < 0 ? 0 : allocated - allocatedAtStart);
+            values.put(TelemetryMetric.GC, gcMillis() - gcAtStart);
+        }
+
+        void set(TelemetryMetric metric, long value) {
+            values.put(metric, value);
+        }
+
+        long get(TelemetryMetric metric) {
+            return values.get(metric);
+        }
+    }
+}
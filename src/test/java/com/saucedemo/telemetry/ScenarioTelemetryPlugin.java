@@ -0,0 +1,51 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.runner.ScenarioId;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+  ScenarioTelemetryPlugin: plugin de Cucumber que completa cada muestra de ScenarioTelemetry con la duración
+  del escenario y las añade a la serie temporal (TelemetrySeries) al terminar la ejecución.
+
+  - Solo escenarios que pasaron, como ScenarioDurationPlugin: uno que falla a mitad gasta menos y
+    escondería una regresión (o inventaría una mejora).
+  - Una escritura por ejecución, no por escenario: el lock del fichero se toma una vez.
+  - Se registra en RunCucumberTest: plugin = { ..., "com.saucedemo.telemetry.ScenarioTelemetryPlugin" }.
+*/
+public class ScenarioTelemetryPlugin implements ConcurrentEventListener {
+
+    private final List<TelemetrySeries.Row> rows = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        String scenarioId = ScenarioId.of(event.getTestCase().getUri(), event.getTestCase().getLocation().getLine());
+        ScenarioTelemetry.take(scenarioId).ifPresent(sample -> {
+            if (event.getResult().getStatus() == Status.PASSED) {
+                sample.set(TelemetryMetric.DURATION, event.getResult().getDuration().toMillis());
+                rows.add(TelemetrySeries.row(event.getInstant().toEpochMilli(), scenarioId, sample));
+            }
+        });
+    }
+
+    private void export() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        TelemetrySeries.append(rows);
+        System.out.println("[Telemetry] " + rows.size() + " muestras añadidas a la serie (" + TelemetrySeries.file()
+                + "); comparar con la línea base: mvn -Pperf-gate verify");
+        rows.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.saucedemo.telemetry;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/*
+  TelemetryMetric: las columnas de cada muestra de ScenarioTelemetry, en el orden del fichero (TelemetrySeries).
+
+  - noise: diferencia absoluta por debajo de la cual PerfGate no considera regresión aunque el porcentaje
+    la supere (pasar de 20 a 30 ms es un +50% que no significa nada).
+  - Las de tiempo de la página (ttfb, load) suman todas las navegaciones (driver.get) del escenario.
+*/
+public enum TelemetryMetric {
+
+    DURATION("duration_ms", "ms", 100),
+    ACQUIRE("acquire_ms", "ms", 50),
+    NAVIGATIONS("navigations", "", 1),
+    TTFB("ttfb_ms", "ms", 50),
+    LOAD("load_ms", "ms", 100),
+    COMMANDS("commands", "", 3),
+    SCREENSHOT_BYTES("screenshot_bytes", "B", 256 * 1024),
+    ALLOCATED_BYTES("alloc_bytes", "B", 32L * 1024 * 1024),
+    GC("gc_ms", "ms", 20);
+
+    private final String column;
+    private final String unit;
+    private final long noise;
+
+    TelemetryMetric(String column, String unit, long noise) {
+        this.column = column;
+        this.unit = unit;
+        this.noise = noise;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    long noise() {
+        return noise;
+    }
+
+    // Por nombre de columna o de constante: "load_ms", "load" o "LOAD".
+    static Optional<TelemetryMetric> named(String name) {
+        String wanted = name.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(metric -> metric.column.equals(wanted) || metric.name().toLowerCase(Locale.ROOT).equals(wanted)
+                        || metric.column.startsWith(wanted + "_"))
+                .findFirst();
+    }
+
+    String format(double value) {
+        if (unit.equals("B")) {
+            return String.format(Locale.ROOT, "%.1fMB", value / (1024 * 1024));
+        }
+        return String.format(Locale.ROOT, "%.0f%s", value, unit);
+    }
+}
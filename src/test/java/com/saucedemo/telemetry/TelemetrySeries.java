@@ -0,0 +1,169 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.config.TestSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+  TelemetrySeries: serie temporal local con una línea por escenario ejecutado (ScenarioTelemetry).
+
+  - Fichero: saucedemo.telemetry.file (por defecto .saucedemo/telemetry.tsv, fuera de target/ como el historial
+    de duraciones). Texto con tabuladores, una cabecera con los nombres de columna y números enteros:
+      # saucedemo telemetry v1<TAB>time<TAB>scenario<TAB>duration_ms<TAB>acquire_ms<TAB>...
+      1760682000000<TAB>src/test/resources/features/login.feature:10<TAB>3120<TAB>12<TAB>...
+    Unos 150 bytes por escenario: miles de ejecuciones caben en unos MB y se leen con awk o una hoja de cálculo.
+  - Las columnas se leen por nombre de la cabecera: añadir una métrica no invalida el historial (vale 0 en las antiguas).
+  - Escrituras bajo lock del fichero (varios forks a la vez), como ScenarioDurations.
+  - Se compacta solo: se conservan las últimas saucedemo.telemetry.keep muestras por escenario (por defecto 200).
+*/
+public final class TelemetrySeries {
+
+    static final String HEADER_PREFIX = "# saucedemo telemetry v1";
+    private static final int KEEP = TestSettings.intValue("saucedemo.telemetry.keep", 200);
+
+    private TelemetrySeries() {
+    }
+
+    public static Path file() {
+        return Paths.get(TestSettings.stringValue("saucedemo.telemetry.file", ".saucedemo/telemetry.tsv"));
+    }
+
+    static String header() {
+        StringBuilder header = new StringBuilder(HEADER_PREFIX).append("\ttime\tscenario");
+        for (TelemetryMetric metric : TelemetryMetric.values()) {
+            header.append('\t').append(metric.column());
+        }
+        return header.append('\n').toString();
+    }
+
+    /* Row: una muestra leída del fichero. */
+    static final class Row {
+        final long time;
+        final String scenario;
+        private final Map<TelemetryMetric, Long> values;
+
+        Row(long time, String scenario, Map<TelemetryMetric, Long> values) {
+            this.time = time;
+            this.scenario = scenario;
+            this.values = values;
+        }
+
+        long get(TelemetryMetric metric) {
+            return values.getOrDefault(metric, 0L);
+        }
+
+        String toLine() {
+            StringBuilder line = new StringBuilder().append(time).append('\t').append(scenario);
+            for (TelemetryMetric metric : TelemetryMetric.values()) {
+                line.append('\t').append(get(metric));
+            }
+            return line.append('\n').toString();
+        }
+    }
+
+    static Row row(long time, String scenario, ScenarioTelemetry.Sample sample) {
+        Map<TelemetryMetric, Long> values = new EnumMap<>(TelemetryMetric.class);
+        for (TelemetryMetric metric : TelemetryMetric.values()) {
+            values.put(metric, sample.get(metric));
+        }
+        return new Row(time, scenario, values);
+    }
+
+    /* Muestras por escenario, de la más antigua a la más reciente. */
+    static Map<String, List<Row>> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+        return byScenario(parse(Files.readAllLines(file, StandardCharsets.UTF_8)));
+    }
+
+    static void append(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Path file = file();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                    // lee el fichero completo
+                }
+                List<String> lines = new String(existing.array(), StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+                List<Row> all = parse(lines);
+                all.addAll(rows);
+                Map<String, List<Row>> byScenario = byScenario(all);
+                boolean compact = lines.isEmpty() || !lines.get(0).equals(header().trim())
+                        || all.size() > 2L * KEEP * Math.max(1, byScenario.size());
+                if (compact) {
+                    // Reescritura completa: cabecera actual y últimas KEEP muestras de cada escenario.
+                    StringBuilder content = new StringBuilder(header());
+                    byScenario.values().stream()
+                            .flatMap(samples -> samples.subList(Math.max(0, samples.size() - KEEP), samples.size()).stream())
+                            .sorted(Comparator.comparingLong(row -> row.time))
+                            .forEach(row -> content.append(row.toLine()));
+                    channel.truncate(0);
+                    channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)), 0);
+                } else {
+                    String appended = rows.stream().map(Row::toLine).collect(Collectors.joining());
+                    channel.write(ByteBuffer.wrap(appended.getBytes(StandardCharsets.UTF_8)), channel.size());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + file, e);
+        }
+    }
+
+    private static List<Row> parse(List<String> lines) {
+        List<Row> rows = new ArrayList<>();
+        Map<TelemetryMetric, Integer> columns = new EnumMap<>(TelemetryMetric.class);
+        for (String line : lines) {
+            String[] fields = line.split("\t");
+            if (line.startsWith(HEADER_PREFIX)) {
+                columns.clear();
+                for (int i = 3; i < fields.length; i++) {
+                    int index = i - 1;
+                    TelemetryMetric.named(fields[i]).ifPresent(metric -> columns.put(metric, index));
+                }
+                continue;
+            }
+            if (line.startsWith("#") || fields.length < 3 || columns.isEmpty()) {
+                continue;
+            }
+            try {
+                Map<TelemetryMetric, Long> values = new EnumMap<>(TelemetryMetric.class);
+                columns.forEach((metric, index) -> values.put(metric, index < fields.length ? Long.parseLong(fields[index]) : 0));
+                rows.add(new Row(Long.parseLong(fields[0]), fields[1], values));
+            } catch (NumberFormatException e) {
+                // línea corrupta (escritura interrumpida): se ignora
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, List<Row>> byScenario(List<Row> rows) {
+        Map<String, List<Row>> byScenario = new LinkedHashMap<>();
+        rows.stream()
+                .sorted(Comparator.comparingLong(row -> row.time))
+                .forEach(row -> byScenario.computeIfAbsent(row.scenario, key -> new ArrayList<>()).add(row));
+        return byScenario;
+    }
+}
@@ -0,0 +1,62 @@
+package com.saucedemo.timing;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+  InteractionLatencies: un histograma HdrHistogram por etiqueta de interacción
+  (ej: "EnterValueIntoTarget [username field]").
+
+  - Valores en nanosegundos, 3 dígitos significativos, rango auto-ajustable.
+  - forRun(): compartido por todos los hilos (ConcurrentHistogram: escritura sin bloqueos).
+  - forScenario(): confinado al hilo del escenario (Histogram simple, más barato).
+  - record() no reserva memoria una vez creado el histograma de la etiqueta.
+*/
+public final class InteractionLatencies {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> byTag = new ConcurrentHashMap<>();
+    private final Supplier<Histogram> newHistogram;
+
+    private InteractionLatencies(Supplier<Histogram> newHistogram) {
+        this.newHistogram = newHistogram;
+    }
+
+    static InteractionLatencies forRun() {
+        return new InteractionLatencies(() -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+    }
+
+    static InteractionLatencies forScenario() {
+        return new InteractionLatencies(() -> new Histogram(SIGNIFICANT_DIGITS));
+    }
+
+    void record(String tag, long nanos) {
+        Histogram histogram = byTag.get(tag);
+        if (histogram == null) {
+            histogram = byTag.computeIfAbsent(tag, ignored -> newHistogram.get());
+        }
+        histogram.recordValue(Math.max(0, nanos));
+    }
+
+    void clear() {
+        byTag.clear();
+    }
+
+    public boolean isEmpty() {
+        return byTag.isEmpty();
+    }
+
+    // Copia ordenada por etiqueta: se puede leer mientras otros hilos siguen registrando.
+    public Map<String, Histogram> snapshot() {
+        Map<String, Histogram> copy = new TreeMap<>();
+        byTag.forEach((tag, histogram) -> copy.put(tag, histogram.copy()));
+        return Collections.unmodifiableMap(copy);
+    }
+}
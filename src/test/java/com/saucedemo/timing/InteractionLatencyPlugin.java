@@ -0,0 +1,57 @@
+package com.saucedemo.timing;
+
+import com.saucedemo.config.TestSettings;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/*
+  InteractionLatencyPlugin: plugin de Cucumber que, al terminar la ejecución,
+  exporta los tiempos de todas las interacciones (InteractionTimer.runLatencies()).
+
+  - Ficheros, junto al informe de Serenity (<serenity.outputDirectory>):
+    * interaction-latencies.json: una fila por interacción y Target.
+    * interaction-latencies.html: p50/p95/p99 de toda la ejecución por tipo de interacción y el detalle.
+      El informe agregado de Serenity no admite secciones propias a nivel de ejecución (solo por escenario,
+      con recordReportData): la página se abre aparte, desde la misma carpeta que index.html.
+  - También imprime en consola la tabla por tipo, como las métricas del DriverPool.
+  - Se registra en RunCucumberTest: plugin = { ..., "com.saucedemo.timing.InteractionLatencyPlugin" }.
+*/
+public class InteractionLatencyPlugin implements ConcurrentEventListener {
+
+    static final String FILE_NAME = "interaction-latencies.json";
+    static final String PAGE_NAME = "interaction-latencies.html";
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void export() {
+        Map<String, Histogram> latencies = InteractionTimer.runLatencies().snapshot();
+        if (latencies.isEmpty()) {
+            return;
+        }
+        Path directory = Paths.get(TestSettings.stringValue("serenity.outputDirectory", "target/site/serenity"));
+        Path file = directory.resolve(FILE_NAME);
+        Path page = directory.resolve(PAGE_NAME);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, InteractionLatencyReport.toJson(latencies), StandardCharsets.UTF_8);
+            Files.writeString(page, InteractionLatencyReport.toHtml(latencies), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en " + directory, e);
+        }
+        System.out.println("[InteractionTimer] latencias por tipo de interacción (detalle en " + page + " y " + file + ")");
+        System.out.print(InteractionLatencyReport.toTable(InteractionLatencyReport.byType(latencies)));
+    }
+}
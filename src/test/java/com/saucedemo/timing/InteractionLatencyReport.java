@@ -0,0 +1,129 @@
+package com.saucedemo.timing;
+
+import com.google.gson.GsonBuilder;
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+  InteractionLatencyReport: convierte los histogramas en JSON, en una tabla de texto o en una página HTML.
+
+  - Tiempos en milisegundos (3 decimales): count, total, mean, p50, p95, p99, max.
+  - Orden: por tiempo total descendente, para ver primero las interacciones que dominan el escenario.
+  - byType(): une los histogramas de un mismo tipo ("ClickOnTarget [login button]" y
+    "ClickOnTarget [add to cart]" -> "ClickOnTarget"); los percentiles salen de la unión, no de promediar.
+*/
+public final class InteractionLatencyReport {
+
+    private InteractionLatencyReport() {
+    }
+
+    public static String toJson(Map<String, Histogram> latencies) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("unit", "ms");
+        List<Map<String, Object>> interactions = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : sortedByTotalTime(latencies)) {
+            Histogram histogram = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("interaction", entry.getKey());
+            row.put("count", histogram.getTotalCount());
+            row.put("total", millis(totalNanos(histogram)));
+            row.put("mean", millis(histogram.getMean()));
+            row.put("p50", millis(histogram.getValueAtPercentile(50)));
+            row.put("p95", millis(histogram.getValueAtPercentile(95)));
+            row.put("p99", millis(histogram.getValueAtPercentile(99)));
+            row.put("max", millis(histogram.getMaxValue()));
+            interactions.add(row);
+        }
+        report.put("interactions", interactions);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    public static String toTable(Map<String, Histogram> latencies) {
+        StringBuilder table = new StringBuilder(String.format("%-55s %7s %10s %9s %9s %9s %9s%n",
+                "interaction", "count", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Histogram> entry : sortedByTotalTime(latencies)) {
+            Histogram histogram = entry.getValue();
+            table.append(String.format("%-55s %7d %10.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    entry.getKey(), histogram.getTotalCount(), millis(totalNanos(histogram)),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue())));
+        }
+        return table.toString();
+    }
+
+    // Tipo de una etiqueta de InteractionTags: lo que va antes de " [target]".
+    public static Map<String, Histogram> byType(Map<String, Histogram> latencies) {
+        Map<String, Histogram> byType = new TreeMap<>();
+        latencies.forEach((tag, histogram) -> {
+            int target = tag.indexOf(" [");
+            String type = target < 0 ? tag : tag.substring(0, target);
+            Histogram merged = byType.get(type);
+            if (merged == null) {
+                byType.put(type, histogram.copy());
+            } else {
+                merged.add(histogram);
+            }
+        });
+        return byType;
+    }
+
+    /* Página para abrir junto al informe de Serenity: una tabla por tipo de interacción y otra con el detalle. */
+    public static String toHtml(Map<String, Histogram> latencies) {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<title>Interaction latencies</title>\n<style>\n")
+                .append("body { font-family: sans-serif; margin: 2em; }\n")
+                .append("table { border-collapse: collapse; margin-bottom: 2em; }\n")
+                .append("th, td { border: 1px solid #ccc; padding: 4px 10px; }\n")
+                .append("td.number { text-align: right; font-family: monospace; }\n")
+                .append("</style>\n</head>\n<body>\n<h1>Interaction latencies</h1>\n")
+                .append("<p>Generated ").append(Instant.now()).append(". Times in ms, sorted by total time.</p>\n");
+        htmlTable(html, "By interaction type", "type", byType(latencies));
+        htmlTable(html, "By interaction", "interaction", latencies);
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    private static void htmlTable(StringBuilder html, String title, String firstColumn, Map<String, Histogram> latencies) {
+        html.append("<h2>").append(title).append("</h2>\n<table>\n<tr><th>").append(firstColumn)
+                .append("</th><th>count</th><th>total</th><th>p50</th><th>p95</th><th>p99</th><th>max</th></tr>\n");
+        for (Map.Entry<String, Histogram> entry : sortedByTotalTime(latencies)) {
+            Histogram histogram = entry.getValue();
+            html.append("<tr><td>").append(escape(entry.getKey())).append("</td>")
+                    .append(String.format(Locale.ROOT, "<td class=\"number\">%d</td>", histogram.getTotalCount()));
+            for (double nanos : new double[] {totalNanos(histogram), histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(95), histogram.getValueAtPercentile(99), histogram.getMaxValue()}) {
+                html.append(String.format(Locale.ROOT, "<td class=\"number\">%.3f</td>", millis(nanos)));
+            }
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static List<Map.Entry<String, Histogram>> sortedByTotalTime(Map<String, Histogram> latencies) {
+        List<Map.Entry<String, Histogram>> entries = new ArrayList<>(latencies.entrySet());
+        entries.sort(Comparator.comparingDouble((Map.Entry<String, Histogram> entry) -> totalNanos(entry.getValue()))
+                .reversed());
+        return entries;
+    }
+
+    private static double totalNanos(Histogram histogram) {
+        return histogram.getMean() * histogram.getTotalCount();
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
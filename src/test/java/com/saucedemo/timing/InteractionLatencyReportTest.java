@@ -0,0 +1,51 @@
+package com.saucedemo.timing;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionLatencyReportTest {
+
+    @Test
+    void byTypeMergesTheHistogramsOfEveryTarget() {
+        Map<String, Histogram> latencies = Map.of(
+                "ClickOnTarget [login button]", histogram(1_000_000, 2_000_000),
+                "ClickOnTarget [add to cart]", histogram(50_000_000),
+                "Question", histogram(3_000_000));
+
+        Map<String, Histogram> byType = InteractionLatencyReport.byType(latencies);
+
+        assertEquals(List.of("ClickOnTarget", "Question"), List.copyOf(byType.keySet()));
+        Histogram clicks = byType.get("ClickOnTarget");
+        assertEquals(3, clicks.getTotalCount());
+        // Percentiles de la unión: el p99 es el click lento, no una media de los dos histogramas.
+        assertTrue(clicks.valuesAreEquivalent(50_000_000, clicks.getValueAtPercentile(99)));
+        // Los histogramas de entrada no cambian.
+        assertEquals(2, latencies.get("ClickOnTarget [login button]").getTotalCount());
+    }
+
+    @Test
+    void htmlHasATableByTypeAndEscapesTargetNames() {
+        String html = InteractionLatencyReport.toHtml(Map.of(
+                "ClickOnTarget [<b>\"buy\" & go</b>]", histogram(1_000_000)));
+
+        assertTrue(html.contains("<h2>By interaction type</h2>"));
+        assertTrue(html.contains("<tr><td>ClickOnTarget</td><td class=\"number\">1</td>"));
+        assertTrue(html.contains("ClickOnTarget [&lt;b&gt;&quot;buy&quot; &amp; go&lt;/b&gt;]"));
+        assertFalse(html.contains("<b>\"buy\""));
+    }
+
+    private static Histogram histogram(long... nanos) {
+        Histogram histogram = new Histogram(3);
+        for (long value : nanos) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+}
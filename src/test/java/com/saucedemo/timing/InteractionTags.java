@@ -0,0 +1,96 @@
+package com.saucedemo.timing;
+
+import net.serenitybdd.screenplay.targets.Target;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  InteractionTags: nombre con el que se agrupan los tiempos de una Interaction, Task o Question.
+
+  - Formato: nombre de la clase + nombre del Target, si lo tiene: "ClickOnTarget [login button]".
+  - Serenity instrumenta las Interactions con ByteBuddy (subclases "Xxx$ByteBuddy$..."):
+    se usa el nombre de la clase original.
+  - El Target se lee del primer campo de instancia de tipo Target (ej: EnterValueIntoTarget.target).
+  - Todo lo que usa reflexión se calcula una vez por clase (ClassValue) y las etiquetas una vez
+    por nombre de Target: en régimen estable of() no reserva memoria.
+*/
+final class InteractionTags {
+
+    private static final ClassValue<Tagger> TAGGERS = new ClassValue<>() {
+        @Override
+        protected Tagger computeValue(Class<?> type) {
+            return new Tagger(labelOf(type), targetFieldOf(type));
+        }
+    };
+
+    private InteractionTags() {
+    }
+
+    static String of(Object subject) {
+        return TAGGERS.get(subject.getClass()).tagFor(subject);
+    }
+
+    static String label(String kind, String targetName) {
+        return kind + " [" + targetName + "]";
+    }
+
+    private static String labelOf(Class<?> type) {
+        while (type.getName().contains("$ByteBuddy$") && type.getSuperclass() != null) {
+            type = type.getSuperclass();
+        }
+        if (type.isHidden() || type.isAnonymousClass()) {
+            // Lambdas (Question.about(...)) y clases anónimas: se etiquetan por su interfaz.
+            Class<?>[] interfaces = type.getInterfaces();
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSuperclass().getSimpleName();
+        }
+        return type.getSimpleName();
+    }
+
+    private static Field targetFieldOf(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && Target.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        return field;
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class Tagger {
+        private final String label;
+        private final Field targetField;
+        private final Map<String, String> tagsByTargetName = new ConcurrentHashMap<>();
+
+        private Tagger(String label, Field targetField) {
+            this.label = label;
+            this.targetField = targetField;
+        }
+
+        private String tagFor(Object subject) {
+            if (targetField == null) {
+                return label;
+            }
+            Object target;
+            try {
+                target = targetField.get(subject);
+            } catch (IllegalAccessException e) {
+                return label;
+            }
+            if (target == null) {
+                return label;
+            }
+            String targetName = ((Target) target).getName();
+            String tag = tagsByTargetName.get(targetName);
+            return tag != null ? tag : tagsByTargetName.computeIfAbsent(targetName, name -> label(label, name));
+        }
+    }
+}
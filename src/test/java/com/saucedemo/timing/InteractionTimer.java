@@ -0,0 +1,167 @@
+package com.saucedemo.timing;
+
+import com.google.common.eventbus.Subscribe;
+import com.saucedemo.config.TestSettings;
+import net.serenitybdd.core.eventbus.Broadcaster;
+import net.serenitybdd.screenplay.events.ActorAsksQuestion;
+import net.serenitybdd.screenplay.events.ActorBeginsConsequenceCheckEvent;
+import net.serenitybdd.screenplay.events.ActorBeginsPerformanceEvent;
+import net.serenitybdd.screenplay.events.ActorEndsConsequenceCheckEvent;
+import net.serenitybdd.screenplay.events.ActorEndsPerformanceEvent;
+import net.serenitybdd.screenplay.events.ActorPerforms;
+
+import java.util.Arrays;
+
+/*
+  InteractionTimer: tiempo de pared de cada Interaction, Task y Question que ejecuta un actor.
+
+  - No hay que tocar Tasks ni Steps: escucha los eventos que Serenity ya publica en su Broadcaster
+    (un EventBus por hilo) alrededor de attemptsTo(...) y should(seeThat(...)):
+    * ActorBeginsPerformanceEvent / ActorBeginsConsequenceCheckEvent: empieza un attemptsTo / should.
+    * ActorPerforms(performable) / ActorAsksQuestion(question): empieza el siguiente paso; cierra el anterior.
+    * ActorEnds...Event: termina el attemptsTo / should; cierra el último paso.
+  - Los attemptsTo anidados (una Task que ejecuta Interactions) se apilan: la Task mide su duración
+    completa y cada Interaction la suya.
+  - La resolución de Targets la mide TimedTarget y llega por record().
+  - Cada medida va a dos InteractionLatencies: la del escenario (sección del informe)
+    y la de toda la ejecución (interaction-latencies.json, ver InteractionLatencyPlugin).
+  - Coste por evento: dos System.nanoTime(), arrays preasignados por hilo y un recordValue();
+    sin reservas de memoria en régimen estable (ver InteractionTimingBenchmark en benchmarks/).
+  - saucedemo.timing.enabled=false desactiva la suscripción.
+*/
+public final class InteractionTimer {
+
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.timing.enabled", true);
+    private static final InteractionTimer SUBSCRIBER = new InteractionTimer();
+    private static final InteractionLatencies RUN = InteractionLatencies.forRun();
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    private InteractionTimer() {
+    }
+
+    /* startScenario()
+       - Llamar en el @Before: vacía la pila y los tiempos del escenario de este hilo
+         y suscribe el timer al EventBus del hilo (Serenity lo recrea entre tests).
+       - Registrar dos veces el mismo suscriptor no duplica eventos.
+    */
+    public static void startScenario() {
+        ThreadState state = STATE.get();
+        state.reset();
+        state.scenario.clear();
+        if (ENABLED) {
+            Broadcaster.getEventBus().register(SUBSCRIBER);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static InteractionLatencies scenarioLatencies() {
+        return STATE.get().scenario;
+    }
+
+    public static InteractionLatencies runLatencies() {
+        return RUN;
+    }
+
+    // SuiteDaemon, entre ejecuciones en la misma JVM: interaction-latencies.json solo debe contar la ejecución actual.
+    public static void resetRun() {
+        RUN.clear();
+    }
+
+    public static void record(String tag, long nanos) {
+        if (ENABLED) {
+            STATE.get().record(tag, nanos);
+        }
+    }
+
+    // Punto de entrada para medir sin pasar por el EventBus (benchmarks).
+    public static InteractionTimer subscriber() {
+        return SUBSCRIBER;
+    }
+
+    @Subscribe
+    public void beginPerformance(ActorBeginsPerformanceEvent event) {
+        STATE.get().push();
+    }
+
+    @Subscribe
+    public void beginConsequenceCheck(ActorBeginsConsequenceCheckEvent event) {
+        STATE.get().push();
+    }
+
+    @Subscribe
+    public void performs(ActorPerforms event) {
+        STATE.get().open(InteractionTags.of(event.getPerformable()), System.nanoTime());
+    }
+
+    @Subscribe
+    public void asksQuestion(ActorAsksQuestion event) {
+        STATE.get().open(InteractionTags.of(event.getQuestion()), System.nanoTime());
+    }
+
+    @Subscribe
+    public void endPerformance(ActorEndsPerformanceEvent event) {
+        STATE.get().pop(System.nanoTime());
+    }
+
+    @Subscribe
+    public void endConsequenceCheck(ActorEndsConsequenceCheckEvent event) {
+        STATE.get().pop(System.nanoTime());
+    }
+
+    /* Pila de pasos abiertos del hilo: un nivel por attemptsTo/should en curso,
+       con como mucho un paso abierto por nivel. */
+    private static final class ThreadState {
+        private final InteractionLatencies scenario = InteractionLatencies.forScenario();
+        private String[] openTags = new String[8];
+        private long[] startNanos = new long[8];
+        private int depth = -1;
+
+        private void push() {
+            depth++;
+            if (depth == openTags.length) {
+                openTags = Arrays.copyOf(openTags, depth * 2);
+                startNanos = Arrays.copyOf(startNanos, depth * 2);
+            }
+            openTags[depth] = null;
+        }
+
+        private void open(String tag, long now) {
+            if (depth < 0) {
+                push();
+            }
+            close(now);
+            openTags[depth] = tag;
+            startNanos[depth] = now;
+        }
+
+        private void pop(long now) {
+            if (depth < 0) {
+                return;
+            }
+            close(now);
+            depth--;
+        }
+
+        private void close(long now) {
+            String tag = openTags[depth];
+            if (tag != null) {
+                record(tag, now - startNanos[depth]);
+                openTags[depth] = null;
+            }
+        }
+
+        private void record(String tag, long nanos) {
+            scenario.record(tag, nanos);
+            RUN.record(tag, nanos);
+        }
+
+        // Un paso que lanza excepción puede dejar niveles sin cerrar: cada escenario empieza de cero.
+        private void reset() {
+            Arrays.fill(openTags, null);
+            depth = -1;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.saucedemo.timing;
+
+import net.serenitybdd.core.pages.ListOfWebElementFacades;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.targets.ByTarget;
+import org.openqa.selenium.By;
+
+import java.util.Optional;
+
+/*
+  TimedTarget: Target (By) que mide lo que tarda su resolución.
+
+  - Uso igual que Target.the(...).located(...):
+      TimedTarget.named("username field").located(By.id("user-name"))
+  - resolveFor(actor): Serenity devuelve un WebElementFacade perezoso; la búsqueda en el DOM ocurre
+    al usarlo, así que su coste queda dentro del Enter/Click/Question que lo usa.
+  - resolveAllFor(actor): busca todos los elementos en el momento; incluye la ida y vuelta al navegador.
+  - Etiquetas: "Target.resolveFor [username field]" y "Target.resolveAllFor [product items]".
+*/
+public class TimedTarget extends ByTarget {
+
+    private final String resolveTag;
+    private final String resolveAllTag;
+
+    public TimedTarget(String name, By locator) {
+        super(name, locator, Optional.empty());
+        this.resolveTag = InteractionTags.label("Target.resolveFor", name);
+        this.resolveAllTag = InteractionTags.label("Target.resolveAllFor", name);
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    @Override
+    public WebElementFacade resolveFor(Actor actor) {
+        long start = System.nanoTime();
+        try {
+            return super.resolveFor(actor);
+        } finally {
+            InteractionTimer.record(resolveTag, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public ListOfWebElementFacades resolveAllFor(Actor actor) {
+        long start = System.nanoTime();
+        try {
+            return super.resolveAllFor(actor);
+        } finally {
+            InteractionTimer.record(resolveAllTag, System.nanoTime() - start);
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public TimedTarget located(By locator) {
+            return new TimedTarget(name, locator);
+        }
+    }
+}
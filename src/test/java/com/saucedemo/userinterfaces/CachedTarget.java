@@ -0,0 +1,59 @@
+package com.saucedemo.userinterfaces;
+
+import com.saucedemo.impact.ImpactRecorder;
+import com.saucedemo.timing.TimedTarget;
+import net.serenitybdd.core.pages.ListOfWebElementFacades;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/*
+  CachedTarget: Target del registro (Locators) que reutiliza lo ya resuelto en la página actual.
+
+  - El WebElementFacade de Serenity guarda el elemento encontrado tras la primera búsqueda:
+    devolver el mismo facade mientras no haya navegación evita repetir findElement.
+  - ResolvedElementCache decide cuándo la página ha cambiado y vacía la caché.
+  - Sin caché activa en el hilo (fuera de un escenario) se comporta como un TimedTarget normal.
+  - declaredAt(): fichero y línea donde se declaró (lo usa el análisis de impacto, ver ImpactRecorder).
+*/
+public class CachedTarget extends TimedTarget {
+
+    private final String declaredAt;
+
+    CachedTarget(String name, By locator, String declaredAt) {
+        super(name, locator);
+        this.declaredAt = declaredAt;
+    }
+
+    public String declaredAt() {
+        return declaredAt;
+    }
+
+    @Override
+    public WebElementFacade resolveFor(Actor actor) {
+        ImpactRecorder.touched(this);
+        WebDriver driver = BrowseTheWeb.as(actor).getDriver();
+        WebElementFacade cached = ResolvedElementCache.element(driver, this);
+        if (cached != null) {
+            return cached;
+        }
+        WebElementFacade resolved = super.resolveFor(actor);
+        ResolvedElementCache.remember(driver, this, resolved);
+        return resolved;
+    }
+
+    @Override
+    public ListOfWebElementFacades resolveAllFor(Actor actor) {
+        ImpactRecorder.touched(this);
+        WebDriver driver = BrowseTheWeb.as(actor).getDriver();
+        ListOfWebElementFacades cached = ResolvedElementCache.elements(driver, this);
+        if (cached != null) {
+            return cached;
+        }
+        ListOfWebElementFacades resolved = super.resolveAllFor(actor);
+        ResolvedElementCache.remember(driver, this, resolved);
+        return resolved;
+    }
+}
@@ -3,9 +3,24 @@ package com.saucedemo.userinterfaces;
 import net.serenitybdd.screenplay.targets.Target;
 import org.openqa.selenium.By;
 
+/*
+  InventoryPage: Targets de la pantalla de inventario (ver LoginPage y Locators).
+
+  - INVENTORY_CONTAINER: #inventory_container, el contenedor de la página (lo que comprueba InventoryPageIsVisible).
+  - INVENTORY_LIST: .inventory_list, la lista de productos dentro del contenedor.
+  - INVENTORY_ITEMS: cada producto de la lista.
+  - ITEM_NAME / ITEM_PRICE: nombre y precio ("$29.99") DENTRO de un producto; se buscan relativos a cada
+    INVENTORY_ITEMS (ver InventoryItems), no en toda la página.
+*/
 public class InventoryPage {
-    public static final Target INVENTORY_CONTAINER = Target.the("contenedor principal del inventario")
-            .located(By.xpath("//div[@class='inventory_list']"));
-    public static final Target INVENTORY_ITEMS = Target.the("productos listados en el inventario")
-            .located(By.xpath("//div[@class='inventory_item']"));
+
+    public static final Target INVENTORY_CONTAINER = Locators.target("inventory container", By.id("inventory_container"));
+
+    public static final Target INVENTORY_LIST = Locators.target("inventory list", By.cssSelector(".inventory_list"));
+
+    public static final Target INVENTORY_ITEMS = Locators.target("product items", By.cssSelector(".inventory_item"));
+
+    public static final Target ITEM_NAME = Locators.target("product name", By.cssSelector(".inventory_item_name"));
+
+    public static final Target ITEM_PRICE = Locators.target("product price", By.cssSelector(".inventory_item_price"));
 }
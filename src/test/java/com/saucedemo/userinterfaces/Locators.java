@@ -0,0 +1,93 @@
+package com.saucedemo.userinterfaces;
+
+import com.saucedemo.impact.ImpactRecorder;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.By;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+  Locators: registro central de Targets.
+
+  - target(nombre, By): única forma de crear Targets en el proyecto (UI maps, Tasks, Steps).
+    * Normaliza el localizador a la estrategia equivalente más rápida: id, luego CSS y por último XPath.
+        //input[@id='user-name']          -> By.id("user-name")
+        //div[@class='inventory_list']     -> By.cssSelector("div[class='inventory_list']")
+        #login-button                      -> By.id("login-button")
+    * Interna los Targets: mismo nombre + mismo localizador normalizado = misma instancia,
+      aunque se pida desde un Step en cada ejecución.
+    * Devuelve CachedTarget: reutiliza el elemento resuelto mientras no cambie la página
+      (ver ResolvedElementCache) y mide su resolución (TimedTarget).
+    * Apunta dónde se declaró (src/test/java/.../LoginPage.java#31): el análisis de impacto
+      relaciona así una línea cambiada con los escenarios que usan ese Target.
+  - Las pantallas (LoginPage, InventoryPage) declaran aquí sus Targets; el resto del código los referencia.
+*/
+public final class Locators {
+
+    private static final Pattern XPATH_BY_ID =
+            Pattern.compile("^//(?:\\*|[a-zA-Z][\\w-]*)\\[@id=(['\"])([^'\"]+)\\1]$");
+    private static final Pattern XPATH_BY_ATTRIBUTE =
+            Pattern.compile("^//(\\*|[a-zA-Z][\\w-]*)\\[@([a-zA-Z][\\w-]*)=(['\"])([^'\"]*)\\3]$");
+    private static final Pattern CSS_BY_ID = Pattern.compile("^#([a-zA-Z][\\w-]*)$");
+
+    private static final Map<String, CachedTarget> TARGETS = new ConcurrentHashMap<>();
+
+    private Locators() {
+    }
+
+    public static Target target(String name, By locator) {
+        By normalized = normalize(locator);
+        return TARGETS.computeIfAbsent(name + " | " + normalized,
+                key -> new CachedTarget(name, normalized, declarationSite()));
+    }
+
+    public static Collection<? extends Target> registered() {
+        return Collections.unmodifiableCollection(TARGETS.values());
+    }
+
+    // Primer frame del proyecto fuera de Locators (el computeIfAbsent de por medio es del JDK):
+    // el campo static de la pantalla o el Step que pidió el Target.
+    private static String declarationSite() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != Locators.class
+                        && frame.getClassName().startsWith("com.saucedemo."))
+                .findFirst()
+                .map(frame -> ImpactRecorder.sourceFileOf(frame.getClassName()) + "#" + frame.getLineNumber())
+                .orElse(null));
+    }
+
+    /* normalize(By)
+       - Solo reescribe formas que son exactamente equivalentes; cualquier otra se deja como está.
+       - //tag[@id='x'] pasa a By.id: el id es único en la página, el nombre de etiqueta no aporta nada.
+    */
+    static By normalize(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return locator;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value()).trim();
+        if ("xpath".equals(parameters.using())) {
+            Matcher byId = XPATH_BY_ID.matcher(value);
+            if (byId.matches()) {
+                return By.id(byId.group(2));
+            }
+            Matcher byAttribute = XPATH_BY_ATTRIBUTE.matcher(value);
+            if (byAttribute.matches()) {
+                String tag = "*".equals(byAttribute.group(1)) ? "" : byAttribute.group(1);
+                return By.cssSelector(tag + "[" + byAttribute.group(2) + "='" + byAttribute.group(4) + "']");
+            }
+        }
+        if ("css selector".equals(parameters.using())) {
+            Matcher byId = CSS_BY_ID.matcher(value);
+            if (byId.matches()) {
+                return By.id(byId.group(1));
+            }
+        }
+        return locator;
+    }
+}
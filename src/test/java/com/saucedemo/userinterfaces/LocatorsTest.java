@@ -0,0 +1,55 @@
+package com.saucedemo.userinterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LocatorsTest {
+
+    @Test
+    void xpathByIdBecomesId() {
+        assertEquals(By.id("user-name"), Locators.normalize(By.xpath("//input[@id='user-name']")));
+        assertEquals(By.id("login-button"), Locators.normalize(By.xpath("//*[@id=\"login-button\"]")));
+    }
+
+    @Test
+    void xpathBySingleAttributeBecomesCss() {
+        assertEquals(By.cssSelector("div[class='inventory_list']"),
+                Locators.normalize(By.xpath("//div[@class='inventory_list']")));
+        assertEquals(By.cssSelector("[data-test='error']"), Locators.normalize(By.xpath("//*[@data-test='error']")));
+    }
+
+    @Test
+    void cssIdBecomesId() {
+        assertEquals(By.id("login-button"), Locators.normalize(By.cssSelector(" #login-button ")));
+    }
+
+    @Test
+    void anythingNotExactlyEquivalentIsLeftAlone() {
+        By[] untouched = {
+                // Descendiente en cualquier nivel, posición, texto, mezcla de comillas, varias condiciones.
+                By.xpath("//div//input[@id='user-name']"),
+                By.xpath("(//div[@class='inventory_item'])[2]"),
+                By.xpath("//button[text()='Login']"),
+                By.xpath("//input[@id='user-name\"]"),
+                By.xpath("//input[@id='a' and @name='b']"),
+                By.cssSelector("#login-button.primary"),
+                By.cssSelector("div #login-button"),
+                By.name("user-name"),
+        };
+        for (By locator : untouched) {
+            assertSame(locator, Locators.normalize(locator), locator::toString);
+        }
+    }
+
+    @Test
+    void equivalentLocatorsShareOneTarget() {
+        assertSame(Locators.target("test field", By.xpath("//input[@id='locators-test']")),
+                Locators.target("test field", By.cssSelector("#locators-test")));
+        assertNotSame(Locators.target("test field", By.id("locators-test")),
+                Locators.target("other field", By.id("locators-test")));
+    }
+}
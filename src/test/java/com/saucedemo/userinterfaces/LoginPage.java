@@ -9,31 +9,36 @@ import org.openqa.selenium.By;
   - En Screenplay esta clase actúa como "UI map": Tasks/Interactions/Questions referencian
     estos Targets en lugar de usar By.* dispersos por el código.
   - Beneficio: una única fuente de verdad para localizadores facilita mantenimiento.
+  - Los Targets se crean con Locators.target(...): registro central que normaliza el localizador,
+    interna la instancia y cachea el elemento resuelto mientras no cambie la página.
 */
-
 public class LoginPage {
 
     /* USERNAME_FIELD
        - public: permite uso directo desde Tasks/Interactions en tests (ej: Enter.theValue(...).into(LoginPage.USERNAME_FIELD)).
        - static final: el Target es inmutable y compartido por todas las instancias; no hay necesidad de crearlo cada vez.
-       - Se usa XPath aquí porque es explícito; si es posible prefiera By.id o selectores CSS por simplicidad y rendimiento.
+       - By.id: la estrategia más rápida (antes XPath //input[@id='user-name'], equivalente pero más lento).
        - Nombre claro y descriptivo para mejorar la lectura de Tasks.
     */
-    public static final Target USERNAME_FIELD = Target.the("campo de usuario")
-            .located(By.xpath("//input[@id='user-name']"));
+    public static final Target USERNAME_FIELD = Locators.target("username field", By.id("user-name"));
 
     /* PASSWORD_FIELD
        - Misma razón que USERNAME_FIELD: centralizar el localizador y hacerlo reutilizable.
        - Mantener consistencia en la forma de localizar (id, css, xpath) facilita refactorizaciones.
     */
-    public static final Target PASSWORD_FIELD = Target.the("campo de contraseña")
-            .located(By.xpath("//input[@id='password']"));
+    public static final Target PASSWORD_FIELD = Locators.target("password field", By.id("password"));
 
     /* LOGIN_BUTTON
        - Target para el botón de login.
        - Las Tasks usarán este Target para Click.on(LoginPage.LOGIN_BUTTON).
        - Comentario: si el proyecto crece, agrupa estos Targets en clases por pantalla/área para claridad.
     */
-    public static final Target LOGIN_BUTTON = Target.the("botón de login")
-            .located(By.xpath("//input[@id='login-button']"));
+    public static final Target LOGIN_BUTTON = Locators.target("login button", By.id("login-button"));
+
+    /* ERROR_MESSAGE
+       - Mensaje de error del login (ej: usuario bloqueado).
+       - .error-message-container existe siempre (vacío); solo lleva la clase "error" cuando hay mensaje.
+    */
+    public static final Target ERROR_MESSAGE = Locators.target("login error message",
+            By.cssSelector("[data-test='error'], .error-message-container.error"));
 }
@@ -0,0 +1,115 @@
+package com.saucedemo.userinterfaces;
+
+import com.google.common.eventbus.Subscribe;
+import com.saucedemo.config.TestSettings;
+import com.saucedemo.interactions.EnterText;
+import net.serenitybdd.core.eventbus.Broadcaster;
+import net.serenitybdd.core.pages.ListOfWebElementFacades;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.screenplay.actions.EnterValue;
+import net.serenitybdd.screenplay.events.ActorEndsPerformanceEvent;
+import net.serenitybdd.screenplay.events.ActorPerforms;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.WebDriver;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/*
+  ResolvedElementCache: elementos ya resueltos por cada CachedTarget, válidos hasta la siguiente carga de página.
+
+  - Una caché por hilo (cada escenario en paralelo tiene su actor y su navegador).
+  - Cuándo se vacía (lo único que puede cambiar de página es lo que hace el actor):
+    * Al empezar cualquier performable que no sea escribir en un campo (Click, Open, Tasks...).
+    * Al terminar el attemptsTo que lo contenía: lo resuelto durante un Click (el propio botón)
+      pertenece a la página anterior a la navegación.
+    * Al cambiar de navegador y al empezar cada escenario.
+    * Escribir (EnterValue, EnterText) no navega: mientras solo se escriba, los campos se reutilizan.
+  - Solo se activa en hilos que llaman a startScenario() (hook @Before): sin eventos no se podría
+    detectar la navegación y la caché devolvería elementos obsoletos.
+  - saucedemo.locators.cache=false la desactiva.
+*/
+public final class ResolvedElementCache {
+
+    private static final boolean ENABLED = TestSettings.booleanValue("saucedemo.locators.cache", true);
+    private static final ResolvedElementCache SUBSCRIBER = new ResolvedElementCache();
+    private static final ThreadLocal<PageState> STATE = ThreadLocal.withInitial(PageState::new);
+
+    private ResolvedElementCache() {
+    }
+
+    public static void startScenario() {
+        PageState state = STATE.get();
+        state.clear();
+        state.driver = null;
+        state.active = ENABLED;
+        if (ENABLED) {
+            Broadcaster.getEventBus().register(SUBSCRIBER);
+        }
+    }
+
+    static WebElementFacade element(WebDriver driver, Target target) {
+        Object cached = STATE.get().lookup(driver, target);
+        return cached instanceof WebElementFacade ? (WebElementFacade) cached : null;
+    }
+
+    static ListOfWebElementFacades elements(WebDriver driver, Target target) {
+        Object cached = STATE.get().lookup(driver, target);
+        return cached instanceof ListOfWebElementFacades ? (ListOfWebElementFacades) cached : null;
+    }
+
+    static void remember(WebDriver driver, Target target, Object resolved) {
+        // Una lista vacía puede ser una página a medio pintar: no se guarda.
+        if (resolved instanceof ListOfWebElementFacades && ((ListOfWebElementFacades) resolved).isEmpty()) {
+            return;
+        }
+        STATE.get().store(driver, target, resolved);
+    }
+
+    @Subscribe
+    public void performs(ActorPerforms event) {
+        PageState state = STATE.get();
+        if (state.mayHaveNavigated) {
+            state.clear();
+        }
+        if (!(event.getPerformable() instanceof EnterValue || event.getPerformable() instanceof EnterText)) {
+            state.clear();
+            state.mayHaveNavigated = true;
+        }
+    }
+
+    @Subscribe
+    public void endPerformance(ActorEndsPerformanceEvent event) {
+        PageState state = STATE.get();
+        if (state.mayHaveNavigated) {
+            state.clear();
+        }
+    }
+
+    private static final class PageState {
+        private final Map<Target, Object> resolved = new IdentityHashMap<>();
+        private WebDriver driver;
+        private boolean active;
+        private boolean mayHaveNavigated;
+
+        private Object lookup(WebDriver currentDriver, Target target) {
+            return active && currentDriver == driver ? resolved.get(target) : null;
+        }
+
+        private void store(WebDriver currentDriver, Target target, Object element) {
+            if (!active) {
+                return;
+            }
+            if (currentDriver != driver) {
+                resolved.clear();
+                driver = currentDriver;
+            }
+            resolved.put(target, element);
+        }
+
+        private void clear() {
+            resolved.clear();
+            mayHaveNavigated = false;
+        }
+    }
+}
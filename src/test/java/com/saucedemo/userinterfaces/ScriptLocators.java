@@ -0,0 +1,73 @@
+package com.saucedemo.userinterfaces;
+
+import com.saucedemo.impact.ImpactRecorder;
+import net.serenitybdd.screenplay.targets.HasByLocator;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.By;
+
+/*
+  ScriptLocators: localizar Targets desde JavaScript (executeScript) con los mismos selectores que usa Selenium.
+
+  - argumentsFor(target): [estrategia, selector] para pasar como argumentos del script.
+    * XPath se queda en XPath; el resto se traduce a CSS
+      (By.id -> #id, By.className -> .clase, By.name -> [name="..."], By.tagName -> etiqueta).
+  - FIND_FUNCTION: función JS find(estrategia, selector) que devuelve los elementos encontrados,
+    para concatenar al principio de cualquier script que la necesite.
+  - Lo usan las piezas que hacen varias comprobaciones o acciones en una sola ida y vuelta al navegador
+    (ElementVisibility, FillForm).
+*/
+public final class ScriptLocators {
+
+    public static final String FIND_FUNCTION =
+            "function find(using, value) {"
+            + "  if (using === 'xpath') {"
+            + "    var r = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var all = []; for (var i = 0; i < r.snapshotLength; i++) { all.push(r.snapshotItem(i)); } return all;"
+            + "  }"
+            + "  return document.querySelectorAll(value);"
+            + "}";
+
+    private ScriptLocators() {
+    }
+
+    public static Object[] argumentsFor(Target target) {
+        // Los scripts no pasan por resolveFor: el uso del Target se apunta aquí para el análisis de impacto.
+        ImpactRecorder.touched(target);
+        if (target instanceof HasByLocator) {
+            By locator = ((HasByLocator) target).getLocator();
+            if (locator instanceof By.Remotable) {
+                By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+                String value = String.valueOf(parameters.value());
+                switch (parameters.using()) {
+                    case "xpath":
+                        return new Object[] {"xpath", value};
+                    case "id":
+                        return new Object[] {"css selector", "#" + cssEscape(value)};
+                    case "class name":
+                        return new Object[] {"css selector", "." + cssEscape(value)};
+                    case "name":
+                        return new Object[] {"css selector", "[name=\"" + value.replace("\"", "\\\"") + "\"]"};
+                    case "tag name":
+                    case "css selector":
+                        return new Object[] {"css selector", value};
+                    default:
+                        break;
+                }
+            }
+        }
+        String selector = target.getCssOrXPathSelector();
+        boolean xpath = selector.startsWith("/") || selector.startsWith("(");
+        return new Object[] {xpath ? "xpath" : "css selector", selector};
+    }
+
+    private static String cssEscape(String identifier) {
+        StringBuilder escaped = new StringBuilder(identifier.length());
+        for (char c : identifier.toCharArray()) {
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
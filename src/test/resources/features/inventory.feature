@@ -0,0 +1,18 @@
+Feature: Inventario de SauceDemo con sesión iniciada
+
+  Como usuario estándar con sesión iniciada
+  Quiero consultar el inventario sin repetir el formulario de login en cada escenario
+  Para que los escenarios que no prueban el login sean más rápidos
+
+  Background:
+    Given que el usuario abre la página de SauceDemo
+    And que el usuario "standard_user" con contraseña "secret_sauce" ha iniciado sesión
+
+  Scenario: La página de inventario se muestra con la sesión reutilizada
+    Then debería ver la página de inventario
+
+  Scenario: Los productos se listan con la sesión reutilizada
+    Then los productos deberían estar visibles en la lista
+
+  Scenario: El inventario se muestra en el orden por defecto
+    Then los productos deberían estar ordenados por "Name (A to Z)"
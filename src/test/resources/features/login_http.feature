@@ -0,0 +1,23 @@
+@http
+Feature: Login de usuario sin navegador
+
+  Como equipo de QA
+  Quiero comprobar por HTTP lo que solo depende de las respuestas del servidor
+  Para que esos escenarios tarden milisegundos en lugar de arrancar un navegador
+
+  Background:
+    Given que el usuario abre la página de SauceDemo
+
+  Scenario: Ingreso exitoso con credenciales válidas, sin navegador
+    When ingresa su usuario "standard_user"
+    And ingresa su contraseña "secret_sauce"
+    And presiona el botón de login
+    Then debería ver la página de inventario
+    And los productos deberían estar visibles en la lista
+    And los productos deberían estar ordenados por "Name (A to Z)"
+
+  Scenario: Usuario bloqueado ve el error y reintenta con la Task Login, sin navegador
+    When intenta iniciar sesión con usuario "locked_out_user" y contraseña "secret_sauce"
+    Then debería ver mensaje de error de login
+    When intenta iniciar sesión con usuario "standard_user" y contraseña "secret_sauce" usando la tarea de Login
+    Then debería ver la página de inventario